@@ -1,23 +1,48 @@
 package discordgateway.audionode.config;
 
+import discordgateway.playback.application.AudioNodeAdmissionPolicy;
+import discordgateway.playback.application.GuildCommandExecutor;
 import discordgateway.playback.application.MusicWorkerService;
+import discordgateway.audionode.recovery.PlaybackCheckpointService;
 import discordgateway.audionode.recovery.PlaybackRecoveryService;
 import discordgateway.playback.application.VoiceSessionLifecycleService;
 import discordgateway.common.command.DiscordReferenceResolver;
+import discordgateway.audionode.lifecycle.IdlePlayerEvictionService;
 import discordgateway.audionode.lifecycle.VoiceChannelIdleDisconnectService;
 import discordgateway.audionode.lifecycle.VoiceChannelIdleListener;
 import discordgateway.common.bootstrap.AppProperties;
 import discordgateway.common.bootstrap.MessagingProperties;
 import discordgateway.common.bootstrap.OperationsProperties;
+import discordgateway.common.bootstrap.ReadyFileLifecycle;
+import discordgateway.audionode.handoff.AudioNodeDrainEndpoint;
+import discordgateway.audionode.handoff.AudioNodeDrainService;
+import discordgateway.audionode.handoff.GuildHandoffListener;
+import discordgateway.audionode.handoff.GuildHandoffService;
 import discordgateway.audionode.recovery.PlaybackRecoveryReadyListener;
+import discordgateway.audionode.routing.AudioNodeMembership;
+import discordgateway.playback.domain.AudioNodeRegistry;
 import discordgateway.playback.domain.GuildStateRepository;
-import discordgateway.playback.domain.PlayerStateRepository;
 import discordgateway.playback.domain.ProcessedCommandRepository;
 import discordgateway.playback.domain.QueueRepository;
 import discordgateway.infra.audio.PlaybackGateway;
 import discordgateway.infra.audio.VoiceGateway;
+import discordgateway.infra.messaging.rabbit.GuildCommandRouter;
 import discordgateway.infra.messaging.rabbit.RabbitMusicCommandListener;
 import discordgateway.infra.messaging.rabbit.RabbitMusicCommandResultPublisher;
+import discordgateway.infra.redis.RedisGuildRecoveryRepository;
+import discordgateway.infra.redis.RedisPlaybackCheckpointRepository;
+import discordgateway.infra.redis.RedisSupport;
+import discordgateway.playback.audio.PlayerManager;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,50 +50,308 @@ import org.springframework.context.annotation.Configuration;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 @Configuration(proxyBeanMethods = false)
 public class AudioNodeComponentConfiguration {
 
+    private static final int NODE_QUEUE_EXPIRES_MS = 3_600_000;
+
+    @Bean
+    public Queue audioNodeCommandQueue(
+            AppProperties appProperties,
+            MessagingProperties messagingProperties
+    ) {
+        // expired messages go back to the shared queue instead of dying with the queue when the node is gone;
+        // failed commands are sent to the DLQ explicitly by RabbitMusicCommandListener
+        return QueueBuilder.durable(messagingProperties.commandNodeQueue(appProperties.getNodeName()))
+                .deadLetterExchange(messagingProperties.getCommandExchange())
+                .deadLetterRoutingKey(messagingProperties.getCommandRoutingKey())
+                .ttl((int) Math.min(NODE_QUEUE_EXPIRES_MS / 2, messagingProperties.getCommandNodeMessageTtlMs()))
+                .expires(NODE_QUEUE_EXPIRES_MS)
+                .build();
+    }
+
+    @Bean
+    public Declarables audioNodeCommandDeclarables(
+            Queue audioNodeCommandQueue,
+            AppProperties appProperties,
+            MessagingProperties messagingProperties
+    ) {
+        return new Declarables(
+                audioNodeCommandQueue,
+                BindingBuilder.bind(audioNodeCommandQueue)
+                        .to(new DirectExchange(messagingProperties.getCommandExchange(), true, false))
+                        .with(messagingProperties.commandNodeRoutingKey(appProperties.getNodeName()))
+        );
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public ScheduledExecutorService audioNodeHeartbeatScheduler() {
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "audio-node-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public AudioNodeMembership audioNodeMembership(
+            AppProperties appProperties,
+            AudioNodeRegistry audioNodeRegistry,
+            MessagingProperties messagingProperties,
+            RabbitTemplate rabbitTemplate,
+            RabbitListenerEndpointRegistry rabbitListenerEndpointRegistry,
+            ScheduledExecutorService audioNodeHeartbeatScheduler
+    ) {
+        return new AudioNodeMembership(
+                appProperties.getNodeName(),
+                audioNodeRegistry,
+                messagingProperties,
+                rabbitTemplate,
+                rabbitListenerEndpointRegistry,
+                audioNodeHeartbeatScheduler
+        );
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public GuildCommandExecutor guildCommandExecutor() {
+        return new GuildCommandExecutor();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public AudioNodeAdmissionPolicy audioNodeAdmissionPolicy(
+            PlayerManager playerManager,
+            PlaybackMetricsRecorder playbackMetricsRecorder,
+            AppProperties appProperties
+    ) {
+        return new AudioNodeAdmissionPolicy(
+                playerManager,
+                playbackMetricsRecorder,
+                appProperties.getMaxActivePlayers(),
+                appProperties.getAdmissionMaxReroutes()
+        );
+    }
+
     @Bean
     @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
     public RabbitMusicCommandListener rabbitMusicCommandListener(
             MusicWorkerService musicWorkerService,
+            GuildCommandExecutor guildCommandExecutor,
+            GuildCommandRouter guildCommandRouter,
+            RabbitTemplate rabbitTemplate,
             ProcessedCommandRepository processedCommandRepository,
             MessagingProperties messagingProperties,
             RabbitMusicCommandResultPublisher rabbitMusicCommandResultPublisher,
+            AudioNodeAdmissionPolicy audioNodeAdmissionPolicy,
             AppProperties appProperties
     ) {
         return new RabbitMusicCommandListener(
                 musicWorkerService,
+                guildCommandExecutor,
+                guildCommandRouter,
+                rabbitTemplate,
                 processedCommandRepository,
                 messagingProperties,
                 rabbitMusicCommandResultPublisher,
+                audioNodeAdmissionPolicy,
                 appProperties
         );
     }
 
+    @Bean
+    public Queue audioNodeHandoffQueue(MessagingProperties messagingProperties) {
+        return QueueBuilder.durable(messagingProperties.getHandoffQueue())
+                .ttl((int) Math.min(Integer.MAX_VALUE, messagingProperties.getHandoffReplyTimeoutMs()))
+                .build();
+    }
+
+    @Bean
+    public Declarables audioNodeHandoffDeclarables(
+            Queue audioNodeHandoffQueue,
+            MessagingProperties messagingProperties
+    ) {
+        return new Declarables(
+                audioNodeHandoffQueue,
+                BindingBuilder.bind(audioNodeHandoffQueue)
+                        .to(new DirectExchange(messagingProperties.getCommandExchange(), true, false))
+                        .with(messagingProperties.getHandoffRoutingKey())
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public GuildHandoffService guildHandoffService(
+            AppProperties appProperties,
+            PlayerManager playerManager,
+            VoiceGateway voiceGateway,
+            DiscordReferenceResolver discordReferenceResolver,
+            ConnectionFactory connectionFactory,
+            Jackson2JsonMessageConverter rabbitMessageConverter,
+            MessagingProperties messagingProperties,
+            PlaybackMetricsRecorder playbackMetricsRecorder
+    ) {
+        // not a bean: a second RabbitTemplate would switch off the auto-configured one
+        RabbitTemplate handoffRabbitTemplate = new RabbitTemplate(connectionFactory);
+        handoffRabbitTemplate.setMessageConverter(rabbitMessageConverter);
+        handoffRabbitTemplate.setReplyTimeout(messagingProperties.getHandoffReplyTimeoutMs());
+        return new GuildHandoffService(
+                appProperties.getNodeName(),
+                playerManager,
+                voiceGateway,
+                discordReferenceResolver,
+                handoffRabbitTemplate,
+                messagingProperties,
+                playbackMetricsRecorder
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public GuildHandoffListener guildHandoffListener(
+            AppProperties appProperties,
+            PlayerManager playerManager,
+            VoiceGateway voiceGateway,
+            DiscordReferenceResolver discordReferenceResolver,
+            AudioNodeMembership audioNodeMembership,
+            PlaybackMetricsRecorder playbackMetricsRecorder
+    ) {
+        return new GuildHandoffListener(
+                appProperties.getNodeName(),
+                playerManager,
+                voiceGateway,
+                discordReferenceResolver,
+                audioNodeMembership,
+                playbackMetricsRecorder
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public AudioNodeDrainService audioNodeDrainService(
+            AppProperties appProperties,
+            AudioNodeMembership audioNodeMembership,
+            GuildHandoffService guildHandoffService,
+            PlaybackCheckpointService playbackCheckpointService,
+            PlayerManager playerManager,
+            RabbitListenerEndpointRegistry rabbitListenerEndpointRegistry
+    ) {
+        return new AudioNodeDrainService(
+                appProperties.getNodeName(),
+                audioNodeMembership,
+                guildHandoffService,
+                playbackCheckpointService,
+                playerManager,
+                rabbitListenerEndpointRegistry
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public AudioNodeDrainEndpoint audioNodeDrainEndpoint(AudioNodeDrainService audioNodeDrainService) {
+        return new AudioNodeDrainEndpoint(audioNodeDrainService);
+    }
+
     @Bean
     public PlaybackRecoveryService playbackRecoveryService(
             PlaybackGateway playbackGateway,
             VoiceGateway voiceGateway,
-            GuildStateRepository guildStateRepository,
-            PlayerStateRepository playerStateRepository,
-            QueueRepository queueRepository
+            RedisSupport redisSupport,
+            QueueRepository queueRepository,
+            AudioNodeRegistry audioNodeRegistry,
+            PlaybackMetricsRecorder playbackMetricsRecorder,
+            AppProperties appProperties
     ) {
         return new PlaybackRecoveryService(
                 playbackGateway,
                 voiceGateway,
-                guildStateRepository,
-                playerStateRepository,
-                queueRepository
+                new RedisGuildRecoveryRepository(redisSupport.pool()),
+                queueRepository,
+                audioNodeRegistry,
+                playbackMetricsRecorder,
+                appProperties
+        );
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public ScheduledExecutorService playbackCheckpointScheduler() {
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "playback-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public PlaybackCheckpointService playbackCheckpointService(
+            PlayerManager playerManager,
+            RedisSupport redisSupport,
+            PlaybackMetricsRecorder playbackMetricsRecorder,
+            ScheduledExecutorService playbackCheckpointScheduler,
+            AppProperties appProperties
+    ) {
+        return new PlaybackCheckpointService(
+                playerManager,
+                new RedisPlaybackCheckpointRepository(redisSupport.pool()),
+                playbackMetricsRecorder,
+                playbackCheckpointScheduler,
+                appProperties.getPlaybackCheckpointIntervalMs()
+        );
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public ScheduledExecutorService idlePlayerEvictionScheduler() {
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "idle-player-eviction");
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
+    public IdlePlayerEvictionService idlePlayerEvictionService(
+            PlayerManager playerManager,
+            GuildCommandExecutor guildCommandExecutor,
+            DiscordReferenceResolver discordReferenceResolver,
+            PlaybackMetricsRecorder playbackMetricsRecorder,
+            ScheduledExecutorService idlePlayerEvictionScheduler,
+            AppProperties appProperties
+    ) {
+        return new IdlePlayerEvictionService(
+                playerManager,
+                guildCommandExecutor,
+                discordReferenceResolver,
+                playbackMetricsRecorder,
+                idlePlayerEvictionScheduler,
+                appProperties.getPlayerIdleEvictionMs(),
+                appProperties.getPlayerEvictionIntervalMs()
         );
     }
 
     @Bean
     @ConditionalOnProperty(prefix = "ops", name = "command-dlq-replay-enabled", havingValue = "false", matchIfMissing = true)
     public PlaybackRecoveryReadyListener playbackRecoveryReadyListener(
-            PlaybackRecoveryService playbackRecoveryService
+            PlaybackRecoveryService playbackRecoveryService,
+            ReadyFileLifecycle readyFileLifecycle,
+            AppProperties appProperties
     ) {
+        readyFileLifecycle.holdUntil(
+                "playback-recovery",
+                playbackRecoveryService.completion()
+                        .copy()
+                        .completeOnTimeout(null, appProperties.getRecoveryReadinessTimeoutMs(), TimeUnit.MILLISECONDS)
+        );
         return new PlaybackRecoveryReadyListener(playbackRecoveryService);
     }
 
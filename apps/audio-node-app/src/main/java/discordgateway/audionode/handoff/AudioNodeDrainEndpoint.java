@@ -0,0 +1,19 @@
+package discordgateway.audionode.handoff;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+@Endpoint(id = "drain")
+public class AudioNodeDrainEndpoint {
+
+    private final AudioNodeDrainService audioNodeDrainService;
+
+    public AudioNodeDrainEndpoint(AudioNodeDrainService audioNodeDrainService) {
+        this.audioNodeDrainService = audioNodeDrainService;
+    }
+
+    @WriteOperation
+    public AudioNodeDrainReport drain() {
+        return audioNodeDrainService.drain();
+    }
+}
@@ -0,0 +1,9 @@
+package discordgateway.audionode.handoff;
+
+public record AudioNodeDrainReport(
+        String node,
+        int movedCommands,
+        int handedOffGuilds,
+        int remainingGuilds
+) {
+}
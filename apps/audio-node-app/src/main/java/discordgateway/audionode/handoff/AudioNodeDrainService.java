@@ -0,0 +1,77 @@
+package discordgateway.audionode.handoff;
+
+import discordgateway.audionode.recovery.PlaybackCheckpointService;
+import discordgateway.audionode.routing.AudioNodeMembership;
+import discordgateway.playback.audio.PlayerManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+
+public class AudioNodeDrainService {
+
+    private static final Logger log = LoggerFactory.getLogger(AudioNodeDrainService.class);
+    private static final String HANDOFF_LISTENER_ID = "audio-node-handoff-listener";
+
+    private final String nodeName;
+    private final AudioNodeMembership audioNodeMembership;
+    private final GuildHandoffService guildHandoffService;
+    private final PlaybackCheckpointService playbackCheckpointService;
+    private final PlayerManager playerManager;
+    private final RabbitListenerEndpointRegistry listenerEndpointRegistry;
+    private AudioNodeDrainReport report;
+
+    public AudioNodeDrainService(
+            String nodeName,
+            AudioNodeMembership audioNodeMembership,
+            GuildHandoffService guildHandoffService,
+            PlaybackCheckpointService playbackCheckpointService,
+            PlayerManager playerManager,
+            RabbitListenerEndpointRegistry listenerEndpointRegistry
+    ) {
+        this.nodeName = nodeName;
+        this.audioNodeMembership = audioNodeMembership;
+        this.guildHandoffService = guildHandoffService;
+        this.playbackCheckpointService = playbackCheckpointService;
+        this.playerManager = playerManager;
+        this.listenerEndpointRegistry = listenerEndpointRegistry;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onClosed() {
+        drain();
+    }
+
+    public synchronized AudioNodeDrainReport drain() {
+        if (report != null) {
+            return report;
+        }
+
+        long startedAt = System.nanoTime();
+        MessageListenerContainer handoffContainer = listenerEndpointRegistry.getListenerContainer(HANDOFF_LISTENER_ID);
+        if (handoffContainer != null) {
+            handoffContainer.stop();
+        }
+
+        int movedCommands = audioNodeMembership.drain();
+        playbackCheckpointService.flush();
+        int handedOff = guildHandoffService.handOffAll();
+        report = new AudioNodeDrainReport(
+                nodeName,
+                movedCommands,
+                handedOff,
+                playerManager.activeGuildIds().size()
+        );
+
+        log.atInfo()
+                .addKeyValue("node", nodeName)
+                .addKeyValue("movedCommands", report.movedCommands())
+                .addKeyValue("handedOffGuilds", report.handedOffGuilds())
+                .addKeyValue("remainingGuilds", report.remainingGuilds())
+                .addKeyValue("elapsedMs", (System.nanoTime() - startedAt) / 1_000_000L)
+                .log("audio-node drain finished");
+        return report;
+    }
+}
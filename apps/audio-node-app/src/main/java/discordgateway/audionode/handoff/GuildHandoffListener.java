@@ -0,0 +1,103 @@
+package discordgateway.audionode.handoff;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import discordgateway.audionode.routing.AudioNodeMembership;
+import discordgateway.common.command.DiscordReferenceResolver;
+import discordgateway.infra.audio.VoiceGateway;
+import discordgateway.playback.audio.GuildMusicManager;
+import discordgateway.playback.audio.PlayerManager;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.middleman.AudioChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+
+/**
+ * Takes over a guild from a draining peer: connects voice and starts the handed-over track
+ * where the peer is playing it now. The reply tells the peer it can stop its own player.
+ */
+public class GuildHandoffListener {
+
+    private static final Logger log = LoggerFactory.getLogger(GuildHandoffListener.class);
+
+    private final String nodeName;
+    private final PlayerManager playerManager;
+    private final VoiceGateway voiceGateway;
+    private final DiscordReferenceResolver discordReferenceResolver;
+    private final AudioNodeMembership audioNodeMembership;
+    private final PlaybackMetricsRecorder metricsRecorder;
+
+    public GuildHandoffListener(
+            String nodeName,
+            PlayerManager playerManager,
+            VoiceGateway voiceGateway,
+            DiscordReferenceResolver discordReferenceResolver,
+            AudioNodeMembership audioNodeMembership,
+            PlaybackMetricsRecorder metricsRecorder
+    ) {
+        this.nodeName = nodeName;
+        this.playerManager = playerManager;
+        this.voiceGateway = voiceGateway;
+        this.discordReferenceResolver = discordReferenceResolver;
+        this.audioNodeMembership = audioNodeMembership;
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    @RabbitListener(
+            id = "audio-node-handoff-listener",
+            queues = "#{audioNodeHandoffQueue}",
+            concurrency = "4"
+    )
+    public GuildHandoffReply handle(GuildHandoffMessage message) {
+        if (audioNodeMembership.isDraining() || nodeName.equals(message.sourceNode())) {
+            return GuildHandoffReply.rejected(nodeName, "draining");
+        }
+
+        Guild guild = discordReferenceResolver.resolveGuild(message.guildId());
+        AudioChannel channel = guild != null
+                ? guild.getChannelById(AudioChannel.class, message.voiceChannelId())
+                : null;
+        if (channel == null) {
+            return GuildHandoffReply.rejected(nodeName, "channel-missing");
+        }
+
+        AudioTrack track = playerManager.decodeTrack(message.encodedTrack());
+        if (track == null) {
+            return GuildHandoffReply.rejected(nodeName, "track-undecodable");
+        }
+
+        try {
+            long connectStartedAt = System.nanoTime();
+            voiceGateway.connect(guild, channel);
+
+            GuildMusicManager musicManager = playerManager.getMusicManager(guild);
+            musicManager.scheduler.setAutoPlay(message.autoPlay());
+            if (!musicManager.scheduler.adopt(track, resumePosition(message), message.paused())) {
+                return GuildHandoffReply.rejected(nodeName, "start-failed");
+            }
+            metricsRecorder.recordHandoffGap(System.nanoTime() - connectStartedAt);
+
+            log.atInfo()
+                    .addKeyValue("guildId", message.guildId())
+                    .addKeyValue("sourceNode", message.sourceNode())
+                    .log("guild handoff accepted");
+            return GuildHandoffReply.accepted(nodeName);
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("guildId", message.guildId())
+                    .addKeyValue("sourceNode", message.sourceNode())
+                    .setCause(e)
+                    .log("guild handoff takeover failed");
+            return GuildHandoffReply.rejected(nodeName, "takeover-failed");
+        }
+    }
+
+    private long resumePosition(GuildHandoffMessage message) {
+        if (message.paused()) {
+            return message.positionMillis();
+        }
+        // the source keeps playing until we reply, so skip ahead by the time the message spent in flight
+        return message.positionMillis() + Math.max(0L, System.currentTimeMillis() - message.publishedAtMillis());
+    }
+}
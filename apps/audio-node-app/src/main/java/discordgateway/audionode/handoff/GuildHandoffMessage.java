@@ -0,0 +1,13 @@
+package discordgateway.audionode.handoff;
+
+public record GuildHandoffMessage(
+        long guildId,
+        String sourceNode,
+        long voiceChannelId,
+        String encodedTrack,
+        long positionMillis,
+        boolean paused,
+        boolean autoPlay,
+        long publishedAtMillis
+) {
+}
@@ -0,0 +1,16 @@
+package discordgateway.audionode.handoff;
+
+public record GuildHandoffReply(
+        boolean accepted,
+        String node,
+        String reason
+) {
+
+    public static GuildHandoffReply accepted(String node) {
+        return new GuildHandoffReply(true, node, null);
+    }
+
+    public static GuildHandoffReply rejected(String node, String reason) {
+        return new GuildHandoffReply(false, node, reason);
+    }
+}
@@ -0,0 +1,159 @@
+package discordgateway.audionode.handoff;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import discordgateway.common.bootstrap.MessagingProperties;
+import discordgateway.common.command.DiscordReferenceResolver;
+import discordgateway.infra.audio.VoiceGateway;
+import discordgateway.playback.audio.GuildMusicManager;
+import discordgateway.playback.audio.PlayerManager;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.middleman.AudioChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Hands the guilds this node is playing over to peer audio nodes before it stops.
+ * Local playback keeps running until a peer confirms it has started the track.
+ */
+public class GuildHandoffService {
+
+    private static final Logger log = LoggerFactory.getLogger(GuildHandoffService.class);
+    private static final ParameterizedTypeReference<GuildHandoffReply> REPLY_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final String nodeName;
+    private final PlayerManager playerManager;
+    private final VoiceGateway voiceGateway;
+    private final DiscordReferenceResolver discordReferenceResolver;
+    private final RabbitTemplate handoffRabbitTemplate;
+    private final MessagingProperties messagingProperties;
+    private final PlaybackMetricsRecorder metricsRecorder;
+
+    public GuildHandoffService(
+            String nodeName,
+            PlayerManager playerManager,
+            VoiceGateway voiceGateway,
+            DiscordReferenceResolver discordReferenceResolver,
+            RabbitTemplate handoffRabbitTemplate,
+            MessagingProperties messagingProperties,
+            PlaybackMetricsRecorder metricsRecorder
+    ) {
+        this.nodeName = nodeName;
+        this.playerManager = playerManager;
+        this.voiceGateway = voiceGateway;
+        this.discordReferenceResolver = discordReferenceResolver;
+        this.handoffRabbitTemplate = handoffRabbitTemplate;
+        this.messagingProperties = messagingProperties;
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    /**
+     * @return the number of guilds a peer node took over
+     */
+    public int handOffAll() {
+        List<Long> guildIds = playerManager.activeGuildIds();
+        if (guildIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<Boolean>> results = new ArrayList<>(guildIds.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long guildId : guildIds) {
+                results.add(executor.submit(() -> handOff(guildId)));
+            }
+        }
+
+        int handedOff = 0;
+        for (Future<Boolean> result : results) {
+            try {
+                if (result.get()) {
+                    handedOff++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException ignored) {
+                // handOff records its own failures
+            }
+        }
+        return handedOff;
+    }
+
+    private boolean handOff(long guildId) {
+        long startedAt = System.nanoTime();
+        String outcome = "failed";
+        try {
+            Guild guild = discordReferenceResolver.resolveGuild(guildId);
+            AudioChannel channel = guild != null ? voiceGateway.connectedChannel(guild) : null;
+            if (channel == null) {
+                outcome = "not-connected";
+                return false;
+            }
+
+            GuildMusicManager musicManager = playerManager.getMusicManager(guild);
+            AudioTrack track = musicManager.audioPlayer.getPlayingTrack();
+            String encodedTrack = track != null ? playerManager.encodeTrack(track) : null;
+            if (encodedTrack == null) {
+                outcome = "not-encodable";
+                return false;
+            }
+
+            GuildHandoffMessage message = new GuildHandoffMessage(
+                    guildId,
+                    nodeName,
+                    channel.getIdLong(),
+                    encodedTrack,
+                    track.getPosition(),
+                    musicManager.audioPlayer.isPaused(),
+                    musicManager.scheduler.isAutoPlay(),
+                    System.currentTimeMillis()
+            );
+            GuildHandoffReply reply = handoffRabbitTemplate.convertSendAndReceiveAsType(
+                    messagingProperties.getCommandExchange(),
+                    messagingProperties.getHandoffRoutingKey(),
+                    message,
+                    REPLY_TYPE
+            );
+            if (reply == null) {
+                outcome = "timeout";
+                return false;
+            }
+            if (!reply.accepted()) {
+                outcome = "rejected";
+                log.atInfo()
+                        .addKeyValue("guildId", guildId)
+                        .addKeyValue("peer", reply.node())
+                        .addKeyValue("reason", reply.reason())
+                        .log("guild handoff rejected");
+                return false;
+            }
+
+            playerManager.release(guild);
+            outcome = "handed-off";
+            log.atInfo()
+                    .addKeyValue("guildId", guildId)
+                    .addKeyValue("peer", reply.node())
+                    .log("guild handed off");
+            return true;
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("guildId", guildId)
+                    .setCause(e)
+                    .log("guild handoff failed");
+            return false;
+        } finally {
+            metricsRecorder.recordHandoff(outcome, System.nanoTime() - startedAt);
+        }
+    }
+}
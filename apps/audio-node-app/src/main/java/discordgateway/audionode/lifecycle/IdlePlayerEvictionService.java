@@ -0,0 +1,107 @@
+package discordgateway.audionode.lifecycle;
+
+import discordgateway.common.command.DiscordReferenceResolver;
+import discordgateway.playback.application.GuildCommandExecutor;
+import discordgateway.playback.audio.PlayerManager;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import net.dv8tion.jda.api.entities.Guild;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Destroys guild players that are disconnected and idle so resident players track active guilds.
+ * Each eviction runs on the guild's command lane, so it never races a command that is about to use the player.
+ */
+public class IdlePlayerEvictionService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdlePlayerEvictionService.class);
+
+    private final PlayerManager playerManager;
+    private final GuildCommandExecutor guildCommandExecutor;
+    private final DiscordReferenceResolver discordReferenceResolver;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final ScheduledExecutorService scheduler;
+    private final long idleMillis;
+    private final long intervalMillis;
+    private volatile ScheduledFuture<?> ticker;
+
+    public IdlePlayerEvictionService(
+            PlayerManager playerManager,
+            GuildCommandExecutor guildCommandExecutor,
+            DiscordReferenceResolver discordReferenceResolver,
+            PlaybackMetricsRecorder metricsRecorder,
+            ScheduledExecutorService scheduler,
+            long idleMillis,
+            long intervalMillis
+    ) {
+        this.playerManager = playerManager;
+        this.guildCommandExecutor = guildCommandExecutor;
+        this.discordReferenceResolver = discordReferenceResolver;
+        this.metricsRecorder = metricsRecorder;
+        this.scheduler = scheduler;
+        this.idleMillis = idleMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (idleMillis <= 0L || intervalMillis <= 0L || ticker != null) {
+            return;
+        }
+        ticker = scheduler.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onClosed() {
+        ScheduledFuture<?> current = ticker;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    public void sweep() {
+        List<Long> candidates;
+        try {
+            candidates = playerManager.idleGuildIds(idleMillis);
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .setCause(e)
+                    .log("idle player sweep failed");
+            return;
+        }
+
+        for (long guildId : candidates) {
+            guildCommandExecutor.submit(guildId, () -> CompletableFuture.completedFuture(evict(guildId)))
+                    .whenComplete((evicted, err) -> {
+                        if (err != null) {
+                            log.atWarn()
+                                    .addKeyValue("guildId", guildId)
+                                    .setCause(err)
+                                    .log("idle player eviction failed");
+                            return;
+                        }
+                        if (evicted) {
+                            metricsRecorder.recordPlayerEviction();
+                            log.atDebug()
+                                    .addKeyValue("guildId", guildId)
+                                    .addKeyValue("idleMs", idleMillis)
+                                    .log("idle player evicted");
+                        }
+                    });
+        }
+    }
+
+    private boolean evict(long guildId) {
+        Guild guild = discordReferenceResolver.resolveGuild(guildId);
+        return playerManager.evictIfIdle(guildId, guild, idleMillis);
+    }
+}
@@ -0,0 +1,73 @@
+package discordgateway.audionode.recovery;
+
+import discordgateway.playback.audio.PlayerManager;
+import discordgateway.playback.domain.PlaybackCheckpoint;
+import discordgateway.playback.domain.PlaybackCheckpointRepository;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class PlaybackCheckpointService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaybackCheckpointService.class);
+
+    private final PlayerManager playerManager;
+    private final PlaybackCheckpointRepository checkpointRepository;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final ScheduledExecutorService scheduler;
+    private final long intervalMillis;
+    private volatile ScheduledFuture<?> ticker;
+
+    public PlaybackCheckpointService(
+            PlayerManager playerManager,
+            PlaybackCheckpointRepository checkpointRepository,
+            PlaybackMetricsRecorder metricsRecorder,
+            ScheduledExecutorService scheduler,
+            long intervalMillis
+    ) {
+        this.playerManager = playerManager;
+        this.checkpointRepository = checkpointRepository;
+        this.metricsRecorder = metricsRecorder;
+        this.scheduler = scheduler;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (intervalMillis <= 0L || ticker != null) {
+            return;
+        }
+        ticker = scheduler.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onClosed() {
+        ScheduledFuture<?> current = ticker;
+        if (current != null) {
+            current.cancel(false);
+        }
+        flush();
+    }
+
+    public synchronized void flush() {
+        long startedAt = System.nanoTime();
+        try {
+            List<PlaybackCheckpoint> checkpoints = playerManager.checkpoints();
+            checkpointRepository.saveAll(checkpoints);
+            playerManager.markCheckpointed(checkpoints);
+            metricsRecorder.recordCheckpointFlush(checkpoints.size(), System.nanoTime() - startedAt);
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .setCause(e)
+                    .log("playback checkpoint flush failed");
+        }
+    }
+}
@@ -1,101 +1,213 @@
 package discordgateway.audionode.recovery;
 
-import discordgateway.playback.domain.GuildPlayerState;
-import discordgateway.playback.domain.GuildStateRepository;
-import discordgateway.playback.domain.PlayerState;
-import discordgateway.playback.domain.PlayerStateRepository;
+import discordgateway.common.bootstrap.AppProperties;
+import discordgateway.playback.domain.AudioNodeRegistry;
+import discordgateway.playback.domain.GuildRecoveryRepository;
+import discordgateway.playback.domain.GuildRecoveryState;
 import discordgateway.playback.domain.QueueEntry;
 import discordgateway.playback.domain.QueueRepository;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
 import discordgateway.infra.audio.PlaybackGateway;
 import discordgateway.infra.audio.VoiceGateway;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.middleman.AudioChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PlaybackRecoveryService {
 
+    private static final Logger log = LoggerFactory.getLogger(PlaybackRecoveryService.class);
+
     private final PlaybackGateway playbackGateway;
     private final VoiceGateway voiceGateway;
-    private final GuildStateRepository guildStateRepository;
-    private final PlayerStateRepository playerStateRepository;
+    private final GuildRecoveryRepository guildRecoveryRepository;
     private final QueueRepository queueRepository;
+    private final AudioNodeRegistry audioNodeRegistry;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final String nodeName;
+    private final int batchSize;
+    private final long voiceConnectIntervalNanos;
+    private final Semaphore loadPermits;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong pending = new AtomicLong();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
 
     public PlaybackRecoveryService(
             PlaybackGateway playbackGateway,
             VoiceGateway voiceGateway,
-            GuildStateRepository guildStateRepository,
-            PlayerStateRepository playerStateRepository,
-            QueueRepository queueRepository
+            GuildRecoveryRepository guildRecoveryRepository,
+            QueueRepository queueRepository,
+            AudioNodeRegistry audioNodeRegistry,
+            PlaybackMetricsRecorder metricsRecorder,
+            AppProperties appProperties
     ) {
         this.playbackGateway = playbackGateway;
         this.voiceGateway = voiceGateway;
-        this.guildStateRepository = guildStateRepository;
-        this.playerStateRepository = playerStateRepository;
+        this.guildRecoveryRepository = guildRecoveryRepository;
         this.queueRepository = queueRepository;
+        this.audioNodeRegistry = audioNodeRegistry;
+        this.metricsRecorder = metricsRecorder;
+        this.nodeName = appProperties.getNodeName();
+        this.batchSize = appProperties.getRecoveryBatchSize();
+        this.voiceConnectIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+                Math.max(0L, appProperties.getRecoveryVoiceConnectIntervalMs())
+        );
+        this.loadPermits = new Semaphore(Math.max(1, appProperties.getRecoveryMaxConcurrentLoads()));
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
     }
 
     public void recoverAll(List<Guild> guilds) {
-        for (Guild guild : guilds) {
-            recoverGuild(guild);
+        if (!started.compareAndSet(false, true)) {
+            return;
         }
+        Thread.ofVirtual().name("playback-recovery").start(() -> {
+            try {
+                runRecovery(guilds);
+            } catch (RuntimeException e) {
+                log.atWarn()
+                        .addKeyValue("node", nodeName)
+                        .setCause(e)
+                        .log("playback-recovery aborted");
+                completion.complete(null);
+            }
+        });
     }
 
-    private void recoverGuild(Guild guild) {
-        long guildId = guild.getIdLong();
+    private void runRecovery(List<Guild> guilds) {
+        long startedAt = System.nanoTime();
+        Map<Long, Guild> guildsById = new HashMap<>();
+        for (Guild guild : guilds) {
+            guildsById.put(guild.getIdLong(), guild);
+        }
 
-        GuildPlayerState guildState = guildStateRepository.getOrCreate(guildId);
-        Long connectedVoiceChannelId = guildState.getConnectedVoiceChannelId();
-        if (connectedVoiceChannelId == null) {
-            return;
+        List<GuildRecoveryState> candidates = new ArrayList<>();
+        for (GuildRecoveryState state : guildRecoveryRepository.loadAll(guildsById.keySet(), batchSize)) {
+            if (!state.hasPlayback()) {
+                continue;
+            }
+            if (!ownedByThisNode(state)) {
+                metricsRecorder.recordRecoveryGuild("foreign-owner");
+                continue;
+            }
+            candidates.add(state);
         }
 
-        PlayerState playerState = playerStateRepository.getOrCreate(guildId);
-        String nowPlaying = blankToNull(playerState.getNowPlaying());
-        boolean hasQueuedEntries = queueRepository.hasEntries(guildId);
+        log.atInfo()
+                .addKeyValue("node", nodeName)
+                .addKeyValue("guilds", guilds.size())
+                .addKeyValue("candidates", candidates.size())
+                .log("playback-recovery started");
 
-        if (nowPlaying == null && !hasQueuedEntries) {
+        pending.set(candidates.size());
+        metricsRecorder.recordRecoveryPending(candidates.size());
+        if (candidates.isEmpty()) {
+            finish(startedAt);
             return;
         }
 
-        AudioChannel audioChannel = resolveAudioChannel(guild, connectedVoiceChannelId);
+        long nextConnectAt = System.nanoTime();
+        for (GuildRecoveryState state : candidates) {
+            long wait = nextConnectAt - System.nanoTime();
+            if (wait > 0L) {
+                sleepNanos(wait);
+            }
+            nextConnectAt = System.nanoTime() + voiceConnectIntervalNanos;
+
+            try {
+                loadPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finish(startedAt);
+                return;
+            }
+
+            CompletableFuture<String> recovery;
+            try {
+                recovery = recoverGuild(guildsById.get(state.guildId()), state);
+            } catch (RuntimeException e) {
+                recovery = CompletableFuture.failedFuture(e);
+            }
+            recovery.whenComplete((outcome, err) -> {
+                loadPermits.release();
+                metricsRecorder.recordRecoveryGuild(err != null ? "failed" : outcome);
+                long remaining = pending.decrementAndGet();
+                metricsRecorder.recordRecoveryPending(remaining);
+                if (remaining == 0L) {
+                    finish(startedAt);
+                }
+            });
+        }
+    }
+
+    private CompletableFuture<String> recoverGuild(Guild guild, GuildRecoveryState state) {
+        AudioChannel audioChannel = resolveAudioChannel(guild, state.connectedVoiceChannelId());
         if (audioChannel == null) {
-            return;
+            return CompletableFuture.completedFuture("channel-missing");
         }
 
         try {
             voiceGateway.connect(guild, audioChannel);
-            playbackGateway.setAutoPlay(guild, playerState.isAutoPlay());
+            playbackGateway.setAutoPlay(guild, state.autoPlay());
         } catch (Exception e) {
-            return;
+            return CompletableFuture.completedFuture("connect-failed");
         }
 
-        if (nowPlaying != null) {
-            playbackGateway.recover(guild, nowPlaying)
-                    .thenAccept(recovered -> {
-                        if (!recovered) {
-                            recoverNextQueuedEntry(guild);
-                        }
-                    });
-            return;
+        if (state.nowPlaying() != null) {
+            return playbackGateway.recover(guild, state.nowPlaying(), state.positionMillis(), state.paused())
+                    .thenCompose(recovered -> recovered
+                            ? CompletableFuture.completedFuture("recovered")
+                            : recoverNextQueuedEntry(guild));
         }
-
-        recoverNextQueuedEntry(guild);
+        return recoverNextQueuedEntry(guild);
     }
 
-    private void recoverNextQueuedEntry(Guild guild) {
-        long guildId = guild.getIdLong();
-        QueueEntry nextEntry = queueRepository.poll(guildId);
+    private CompletableFuture<String> recoverNextQueuedEntry(Guild guild) {
+        QueueEntry nextEntry = queueRepository.poll(guild.getIdLong());
         if (nextEntry == null) {
-            return;
+            return CompletableFuture.completedFuture("nothing-playable");
         }
 
-        playbackGateway.recover(guild, nextEntry.identifier())
-                .thenAccept(recovered -> {
-                    if (!recovered) {
-                        recoverNextQueuedEntry(guild);
-                    }
-                });
+        return playbackGateway.recover(guild, nextEntry.identifier(), 0L, false)
+                .thenCompose(recovered -> recovered
+                        ? CompletableFuture.completedFuture("recovered")
+                        : recoverNextQueuedEntry(guild));
+    }
+
+    private boolean ownedByThisNode(GuildRecoveryState state) {
+        String owner = state.ownerNode();
+        if (owner == null || owner.equals(nodeName)) {
+            return true;
+        }
+        try {
+            return !audioNodeRegistry.isAlive(owner);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void finish(long startedAt) {
+        if (completion.isDone()) {
+            return;
+        }
+        metricsRecorder.recordRecoveryDuration(System.nanoTime() - startedAt);
+        log.atInfo()
+                .addKeyValue("node", nodeName)
+                .addKeyValue("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                .log("playback-recovery finished");
+        completion.complete(null);
     }
 
     private AudioChannel resolveAudioChannel(Guild guild, long channelId) {
@@ -106,10 +218,11 @@ public class PlaybackRecoveryService {
         }
     }
 
-    private String blankToNull(String value) {
-        if (value == null || value.isBlank()) {
-            return null;
+    private void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        return value;
     }
 }
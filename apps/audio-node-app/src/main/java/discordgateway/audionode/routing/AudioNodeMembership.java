@@ -0,0 +1,136 @@
+package discordgateway.audionode.routing;
+
+import com.rabbitmq.client.GetResponse;
+import discordgateway.common.bootstrap.MessagingProperties;
+import discordgateway.playback.domain.AudioNodeRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class AudioNodeMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(AudioNodeMembership.class);
+    private static final String COMMAND_LISTENER_ID = "music-command-listener";
+
+    private final String nodeName;
+    private final AudioNodeRegistry audioNodeRegistry;
+    private final MessagingProperties messagingProperties;
+    private final RabbitTemplate rabbitTemplate;
+    private final RabbitListenerEndpointRegistry listenerEndpointRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile ScheduledFuture<?> heartbeat;
+
+    public AudioNodeMembership(
+            String nodeName,
+            AudioNodeRegistry audioNodeRegistry,
+            MessagingProperties messagingProperties,
+            RabbitTemplate rabbitTemplate,
+            RabbitListenerEndpointRegistry listenerEndpointRegistry,
+            ScheduledExecutorService scheduler
+    ) {
+        this.nodeName = nodeName;
+        this.audioNodeRegistry = audioNodeRegistry;
+        this.messagingProperties = messagingProperties;
+        this.rabbitTemplate = rabbitTemplate;
+        this.listenerEndpointRegistry = listenerEndpointRegistry;
+        this.scheduler = scheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (draining.get() || heartbeat != null) {
+            return;
+        }
+        long interval = Math.max(1L, messagingProperties.getNodeHeartbeatIntervalMs());
+        heartbeat = scheduler.scheduleWithFixedDelay(this::beat, 0L, interval, TimeUnit.MILLISECONDS);
+        log.atInfo()
+                .addKeyValue("node", nodeName)
+                .addKeyValue("queue", messagingProperties.commandNodeQueue(nodeName))
+                .log("audio-node membership started");
+    }
+
+    public int drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        ScheduledFuture<?> current = heartbeat;
+        if (current != null) {
+            current.cancel(false);
+        }
+        try {
+            audioNodeRegistry.remove(nodeName);
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("node", nodeName)
+                    .setCause(e)
+                    .log("audio-node membership removal failed");
+        }
+
+        MessageListenerContainer container = listenerEndpointRegistry.getListenerContainer(COMMAND_LISTENER_ID);
+        if (container != null) {
+            container.stop();
+        }
+
+        int moved = handOffPendingCommands();
+        log.atInfo()
+                .addKeyValue("node", nodeName)
+                .addKeyValue("movedCommands", moved)
+                .log("audio-node drained");
+        return moved;
+    }
+
+    public boolean isDraining() {
+        return draining.get();
+    }
+
+    private void beat() {
+        try {
+            audioNodeRegistry.heartbeat(nodeName, messagingProperties.getNodeHeartbeatTtlMs());
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("node", nodeName)
+                    .setCause(e)
+                    .log("audio-node heartbeat failed");
+        }
+    }
+
+    private int handOffPendingCommands() {
+        String queue = messagingProperties.commandNodeQueue(nodeName);
+        try {
+            Integer moved = rabbitTemplate.execute(channel -> {
+                int count = 0;
+                GetResponse response;
+                while ((response = channel.basicGet(queue, false)) != null) {
+                    channel.basicPublish(
+                            messagingProperties.getCommandExchange(),
+                            messagingProperties.getCommandRoutingKey(),
+                            response.getProps(),
+                            response.getBody()
+                    );
+                    channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                    count++;
+                }
+                return count;
+            });
+            return moved != null ? moved : 0;
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("node", nodeName)
+                    .addKeyValue("queue", queue)
+                    .setCause(e)
+                    .log("audio-node command handoff failed");
+            return 0;
+        }
+    }
+}
@@ -61,8 +61,10 @@ public class MusicApplicationService {
         return musicCommandMessageFactory.createEphemeralEnvelope(new MusicCommand.Skip(guild.getIdLong()));
     }
 
-    public MusicCommandEnvelope prepareQueue(Guild guild) {
-        return musicCommandMessageFactory.createEphemeralEnvelope(new MusicCommand.Queue(guild.getIdLong()));
+    public MusicCommandEnvelope prepareQueue(Guild guild, Integer page) {
+        return musicCommandMessageFactory.createEphemeralEnvelope(
+                new MusicCommand.Queue(guild.getIdLong(), page != null ? Math.max(1, page) : 1)
+        );
     }
 
     public MusicCommandEnvelope prepareClear(Guild guild) {
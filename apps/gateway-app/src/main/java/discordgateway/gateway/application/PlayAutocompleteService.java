@@ -1,6 +1,7 @@
 package discordgateway.gateway.application;
 
-import discordgateway.infra.audio.PlaybackGateway;
+import discordgateway.gateway.search.SearchGateway;
+import discordgateway.gateway.search.SearchResultCache;
 import net.dv8tion.jda.api.interactions.commands.Command;
 
 import java.time.Duration;
@@ -10,37 +11,70 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PlayAutocompleteService {
 
-    private static final Duration AUTOCOMPLETE_TTL = Duration.ofSeconds(30);
+    private static final int MAX_CHOICES = 25;
+    private static final int MAX_CHOICE_LENGTH = 100;
 
-    private final PlaybackGateway playbackGateway;
-    private final ConcurrentHashMap<String, CachedChoices> cache = new ConcurrentHashMap<>();
+    private final SearchGateway searchGateway;
+    private final SearchResultCache cache;
+    private final Executor debounceExecutor;
+    private final int minQueryLength;
+    private final int maxResults;
+    private final long timeoutMillis;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> latestRequests = new ConcurrentHashMap<>();
 
-    private record CachedChoices(long createdAtMillis, List<Command.Choice> choices) {}
-
-    public PlayAutocompleteService(PlaybackGateway playbackGateway) {
-        this.playbackGateway = playbackGateway;
+    public PlayAutocompleteService(
+            SearchGateway searchGateway,
+            SearchResultCache cache,
+            Executor debounceExecutor,
+            int minQueryLength,
+            int maxResults,
+            Duration timeout
+    ) {
+        this.searchGateway = searchGateway;
+        this.cache = cache;
+        this.debounceExecutor = debounceExecutor;
+        this.minQueryLength = Math.max(1, minQueryLength);
+        this.maxResults = Math.max(1, Math.min(maxResults, MAX_CHOICES));
+        this.timeoutMillis = timeout.toMillis();
     }
 
-    public CompletableFuture<List<Command.Choice>> complete(String query) {
+    public CompletableFuture<List<Command.Choice>> complete(long userId, String query) {
         String typed = Objects.toString(query, "").trim();
-        if (typed.length() < 3) {
+        if (typed.length() < minQueryLength) {
             return CompletableFuture.completedFuture(Collections.emptyList());
         }
 
-        String cacheKey = typed.toLowerCase();
-        CachedChoices cached = cache.get(cacheKey);
-        long now = System.currentTimeMillis();
-
-        if (cached != null && (now - cached.createdAtMillis()) <= AUTOCOMPLETE_TTL.toMillis()) {
-            return CompletableFuture.completedFuture(cached.choices());
+        String cacheKey = SearchResultCache.normalize(typed);
+        List<Command.Choice> cached = cache.find(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
 
-        return playbackGateway.searchChoices(typed, 15)
-                .orTimeout(2500, TimeUnit.MILLISECONDS)
+        Long ticket = sequence.incrementAndGet();
+        latestRequests.put(userId, ticket);
+        return CompletableFuture.runAsync(() -> { }, debounceExecutor)
+                .thenCompose(ignored -> {
+                    if (!latestRequests.remove(userId, ticket)) {
+                        return CompletableFuture.completedFuture(Collections.<Command.Choice>emptyList());
+                    }
+                    List<Command.Choice> settled = cache.find(cacheKey);
+                    if (settled != null) {
+                        return CompletableFuture.completedFuture(settled);
+                    }
+                    return search(typed, cacheKey);
+                });
+    }
+
+    private CompletableFuture<List<Command.Choice>> search(String typed, String cacheKey) {
+        return searchGateway.search(typed, maxResults)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
                 .handle((choices, err) -> {
                     if (err != null || choices == null) {
                         return Collections.<Command.Choice>emptyList();
@@ -48,15 +82,15 @@ public class PlayAutocompleteService {
 
                     List<Command.Choice> sanitized = new ArrayList<>();
                     for (Command.Choice choice : choices) {
-                        String name = trimToMax(choice.getName(), 100);
-                        String value = trimToMax(choice.getAsString(), 100);
+                        String name = trimToMax(choice.getName(), MAX_CHOICE_LENGTH);
+                        String value = trimToMax(choice.getAsString(), MAX_CHOICE_LENGTH);
                         sanitized.add(new Command.Choice(name, value));
-                        if (sanitized.size() >= 25) {
+                        if (sanitized.size() >= MAX_CHOICES) {
                             break;
                         }
                     }
 
-                    cache.put(cacheKey, new CachedChoices(System.currentTimeMillis(), sanitized));
+                    cache.put(cacheKey, sanitized);
                     return sanitized;
                 });
     }
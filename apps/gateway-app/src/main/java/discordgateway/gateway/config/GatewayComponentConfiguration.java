@@ -1,6 +1,12 @@
 package discordgateway.gateway.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import dev.lavalink.youtube.YoutubeAudioSourceManager;
+import dev.lavalink.youtube.YoutubeSourceOptions;
+import dev.lavalink.youtube.clients.MWeb;
+import dev.lavalink.youtube.clients.Web;
 import discordgateway.common.bootstrap.AppProperties;
 import discordgateway.common.bootstrap.DiscordProperties;
 import discordgateway.common.bootstrap.MessagingProperties;
@@ -18,7 +24,12 @@ import discordgateway.gateway.messaging.RabbitStockCommandBus;
 import discordgateway.gateway.messaging.RabbitStockCommandResultListener;
 import discordgateway.gateway.presentation.discord.DiscordBotListener;
 import discordgateway.gateway.presentation.discord.DiscordCommandRegistrationListener;
-import discordgateway.infra.audio.PlaybackGateway;
+import discordgateway.gateway.search.CoalescingSearchGateway;
+import discordgateway.gateway.search.LavaPlayerSearchGateway;
+import discordgateway.gateway.search.SearchGateway;
+import discordgateway.gateway.search.SearchResultCache;
+import discordgateway.gateway.search.YouTubeDataSearchGateway;
+import discordgateway.infra.messaging.rabbit.GuildCommandRouter;
 import discordgateway.infra.messaging.rabbit.RabbitMusicCommandBus;
 import discordgateway.infra.redis.RedisSupport;
 import discordgateway.stock.messaging.StockCommandBus;
@@ -35,8 +46,12 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Configuration(proxyBeanMethods = false)
-@EnableConfigurationProperties(StockMessagingProperties.class)
+@EnableConfigurationProperties({StockMessagingProperties.class, SearchProperties.class})
 public class GatewayComponentConfiguration {
 
     @Bean
@@ -98,9 +113,10 @@ public class GatewayComponentConfiguration {
     @Bean
     public MusicCommandBus musicCommandBus(
             RabbitTemplate rabbitTemplate,
-            MessagingProperties messagingProperties
+            MessagingProperties messagingProperties,
+            GuildCommandRouter guildCommandRouter
     ) {
-        return new RabbitMusicCommandBus(rabbitTemplate, messagingProperties);
+        return new RabbitMusicCommandBus(rabbitTemplate, messagingProperties, guildCommandRouter);
     }
 
     @Bean
@@ -167,9 +183,49 @@ public class GatewayComponentConfiguration {
         );
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public AudioPlayerManager searchAudioPlayerManager() {
+        AudioPlayerManager manager = new DefaultAudioPlayerManager();
+        manager.registerSourceManager(new YoutubeAudioSourceManager(
+                new YoutubeSourceOptions().setAllowSearch(true),
+                new Web(),
+                new MWeb()
+        ));
+        return manager;
+    }
+
+    @Bean
+    public SearchGateway searchGateway(
+            ObjectMapper objectMapper,
+            SearchProperties searchProperties,
+            AudioPlayerManager searchAudioPlayerManager
+    ) {
+        return new CoalescingSearchGateway(new YouTubeDataSearchGateway(
+                objectMapper,
+                searchProperties,
+                Clock.systemUTC(),
+                new LavaPlayerSearchGateway(searchAudioPlayerManager)
+        ));
+    }
+
     @Bean
-    public PlayAutocompleteService playAutocompleteService(PlaybackGateway playbackGateway) {
-        return new PlayAutocompleteService(playbackGateway);
+    public PlayAutocompleteService playAutocompleteService(
+            SearchGateway searchGateway,
+            SearchProperties searchProperties
+    ) {
+        return new PlayAutocompleteService(
+                searchGateway,
+                new SearchResultCache(
+                        searchProperties.getCacheMaxEntries(),
+                        searchProperties.getCacheTtl().toMillis(),
+                        searchProperties.getMinQueryLength(),
+                        searchProperties.getPrefixReuseMinChoices()
+                ),
+                CompletableFuture.delayedExecutor(searchProperties.getDebounce().toMillis(), TimeUnit.MILLISECONDS),
+                searchProperties.getMinQueryLength(),
+                searchProperties.getMaxResults(),
+                searchProperties.getTimeout()
+        );
     }
 
     @Bean
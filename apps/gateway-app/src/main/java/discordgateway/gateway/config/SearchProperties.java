@@ -0,0 +1,100 @@
+package discordgateway.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "search")
+public class SearchProperties {
+
+    private String youtubeBaseUrl = "https://www.googleapis.com/youtube/v3";
+    private String youtubeApiKey = "";
+    private int youtubeDailyQuotaUnits = 10_000;
+    private Duration timeout = Duration.ofMillis(2_500);
+    private Duration debounce = Duration.ofMillis(300);
+    private int minQueryLength = 3;
+    private int maxResults = 15;
+    private int cacheMaxEntries = 2_000;
+    private Duration cacheTtl = Duration.ofMinutes(10);
+    private int prefixReuseMinChoices = 5;
+
+    public String getYoutubeBaseUrl() {
+        return youtubeBaseUrl;
+    }
+
+    public void setYoutubeBaseUrl(String youtubeBaseUrl) {
+        this.youtubeBaseUrl = youtubeBaseUrl;
+    }
+
+    public String getYoutubeApiKey() {
+        return youtubeApiKey;
+    }
+
+    public void setYoutubeApiKey(String youtubeApiKey) {
+        this.youtubeApiKey = youtubeApiKey;
+    }
+
+    public int getYoutubeDailyQuotaUnits() {
+        return youtubeDailyQuotaUnits;
+    }
+
+    public void setYoutubeDailyQuotaUnits(int youtubeDailyQuotaUnits) {
+        this.youtubeDailyQuotaUnits = youtubeDailyQuotaUnits;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getDebounce() {
+        return debounce;
+    }
+
+    public void setDebounce(Duration debounce) {
+        this.debounce = debounce;
+    }
+
+    public int getMinQueryLength() {
+        return minQueryLength;
+    }
+
+    public void setMinQueryLength(int minQueryLength) {
+        this.minQueryLength = minQueryLength;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public int getPrefixReuseMinChoices() {
+        return prefixReuseMinChoices;
+    }
+
+    public void setPrefixReuseMinChoices(int prefixReuseMinChoices) {
+        this.prefixReuseMinChoices = prefixReuseMinChoices;
+    }
+}
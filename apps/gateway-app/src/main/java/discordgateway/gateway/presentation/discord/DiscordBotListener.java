@@ -103,7 +103,7 @@ public class DiscordBotListener extends ListenerAdapter {
         }
 
         AtomicBoolean replied = new AtomicBoolean(false);
-        playAutocompleteService.complete(event.getFocusedOption().getValue())
+        playAutocompleteService.complete(event.getUser().getIdLong(), event.getFocusedOption().getValue())
                 .whenComplete((choices, err) -> {
                     if (!replied.compareAndSet(false, true)) {
                         return;
@@ -187,7 +187,10 @@ public class DiscordBotListener extends ListenerAdapter {
             return;
         }
 
-        dispatchDeferred(event, musicApplicationService.prepareQueue(guild));
+        dispatchDeferred(
+                event,
+                musicApplicationService.prepareQueue(guild, getIntegerOption(event, DiscordCommandCatalog.OPT_PAGE))
+        );
     }
 
     private void handleClear(SlashCommandInteractionEvent event) {
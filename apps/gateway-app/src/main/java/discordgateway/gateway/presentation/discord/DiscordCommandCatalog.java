@@ -34,6 +34,7 @@ public final class DiscordCommandCatalog {
     public static final String OPT_LEVERAGE = "leverage";
     public static final String OPT_LIMIT = "limit";
     public static final String OPT_PERIOD = "period";
+    public static final String OPT_PAGE = "page";
 
     public static final String SUB_QUOTE = "quote";
     public static final String SUB_LIST = "list";
@@ -57,6 +58,9 @@ public final class DiscordCommandCatalog {
                 .addChoice("gsuck", "gsuck.mp3")
                 .addChoice("smbj", "smbj.mp3");
 
+        OptionData queuePage = new OptionData(OptionType.INTEGER, OPT_PAGE, "확인할 대기열 페이지", false)
+                .setMinValue(1);
+
         SubcommandData stockQuote = new SubcommandData(SUB_QUOTE, "원하는 주식 시세를 조회합니다")
                 .addOption(OptionType.STRING, OPT_SYMBOL, "종목 코드 또는 쉼표/공백으로 구분한 여러 코드", true);
 
@@ -90,7 +94,7 @@ public final class DiscordCommandCatalog {
                 Commands.slash(CMD_PLAY, "음악을 재생합니다").addOptions(playQuery, playAuto),
                 Commands.slash(CMD_STOP, "재생을 멈추고 대기열을 비웁니다"),
                 Commands.slash(CMD_SKIP, "현재 곡을 건너뜁니다"),
-                Commands.slash(CMD_QUEUE, "현재 대기열을 확인합니다"),
+                Commands.slash(CMD_QUEUE, "현재 대기열을 확인합니다").addOptions(queuePage),
                 Commands.slash(CMD_CLEAR, "대기열을 비웁니다"),
                 Commands.slash(CMD_PAUSE, "재생을 일시정지합니다"),
                 Commands.slash(CMD_RESUME, "재생을 다시 시작합니다"),
@@ -0,0 +1,43 @@
+package discordgateway.gateway.search;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CoalescingSearchGateway implements SearchGateway {
+
+    private final SearchGateway delegate;
+    private final ConcurrentHashMap<String, CompletableFuture<List<Command.Choice>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public CoalescingSearchGateway(SearchGateway delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<List<Command.Choice>> search(String query, int limit) {
+        String key = limit + ":" + SearchResultCache.normalize(query);
+        CompletableFuture<List<Command.Choice>> created = new CompletableFuture<>();
+        CompletableFuture<List<Command.Choice>> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        try {
+            delegate.search(query, limit).whenComplete((choices, err) -> {
+                inFlight.remove(key, created);
+                if (err != null) {
+                    created.completeExceptionally(err);
+                } else {
+                    created.complete(choices);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created.copy();
+    }
+}
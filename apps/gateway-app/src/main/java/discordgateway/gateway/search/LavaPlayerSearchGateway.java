@@ -0,0 +1,72 @@
+package discordgateway.gateway.search;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import net.dv8tion.jda.api.interactions.commands.Command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keyless {@code ytsearch:} lookup through lavaplayer's YouTube source. No players are created on
+ * {@code audioPlayerManager}, so the gateway never builds an audio pipeline.
+ */
+public class LavaPlayerSearchGateway implements SearchGateway {
+
+    private static final String WATCH_URL = "https://www.youtube.com/watch?v=";
+
+    private final AudioPlayerManager audioPlayerManager;
+
+    public LavaPlayerSearchGateway(AudioPlayerManager audioPlayerManager) {
+        this.audioPlayerManager = audioPlayerManager;
+    }
+
+    @Override
+    public CompletableFuture<List<Command.Choice>> search(String query, int limit) {
+        CompletableFuture<List<Command.Choice>> future = new CompletableFuture<>();
+        if (query == null || query.isBlank()) {
+            future.complete(List.of());
+            return future;
+        }
+
+        int cap = Math.max(1, Math.min(limit, 25));
+        audioPlayerManager.loadItem("ytsearch:" + query.trim(), new AudioLoadResultHandler() {
+            @Override
+            public void trackLoaded(AudioTrack track) {
+                future.complete(List.of(toChoice(track)));
+            }
+
+            @Override
+            public void playlistLoaded(AudioPlaylist playlist) {
+                List<Command.Choice> choices = new ArrayList<>();
+                for (AudioTrack track : playlist.getTracks()) {
+                    if (choices.size() >= cap) {
+                        break;
+                    }
+                    choices.add(toChoice(track));
+                }
+                future.complete(choices);
+            }
+
+            @Override
+            public void noMatches() {
+                future.complete(List.of());
+            }
+
+            @Override
+            public void loadFailed(FriendlyException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private Command.Choice toChoice(AudioTrack track) {
+        var info = track.getInfo();
+        return new Command.Choice(info.title + " - " + info.author, WATCH_URL + track.getIdentifier());
+    }
+}
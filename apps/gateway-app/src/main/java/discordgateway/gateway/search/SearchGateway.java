@@ -0,0 +1,10 @@
+package discordgateway.gateway.search;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface SearchGateway {
+    CompletableFuture<List<Command.Choice>> search(String query, int limit);
+}
@@ -0,0 +1,109 @@
+package discordgateway.gateway.search;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class SearchResultCache {
+
+    private final long ttlMillis;
+    private final int minPrefixLength;
+    private final int prefixReuseMinChoices;
+    private final LinkedHashMap<String, CachedChoices> entries;
+
+    public SearchResultCache(int maxEntries, long ttlMillis, int minPrefixLength, int prefixReuseMinChoices) {
+        this.ttlMillis = Math.max(0L, ttlMillis);
+        this.minPrefixLength = Math.max(1, minPrefixLength);
+        this.prefixReuseMinChoices = Math.max(1, prefixReuseMinChoices);
+        int capacity = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedChoices> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public List<Command.Choice> find(String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+
+        synchronized (entries) {
+            List<Command.Choice> exact = findLocked(key);
+            if (exact != null) {
+                return exact;
+            }
+
+            for (int end = key.length() - 1; end >= minPrefixLength; end--) {
+                List<Command.Choice> base = findLocked(key.substring(0, end));
+                if (base == null) {
+                    continue;
+                }
+                List<Command.Choice> narrowed = narrow(base, key);
+                return narrowed.size() >= prefixReuseMinChoices ? narrowed : null;
+            }
+        }
+        return null;
+    }
+
+    public void put(String key, List<Command.Choice> choices) {
+        if (key == null || key.isEmpty() || ttlMillis <= 0L) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new CachedChoices(List.copyOf(choices), System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private List<Command.Choice> findLocked(String key) {
+        CachedChoices cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= cached.expiresAtMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return cached.choices();
+    }
+
+    private List<Command.Choice> narrow(List<Command.Choice> choices, String key) {
+        String[] terms = key.split(" ");
+        List<Command.Choice> narrowed = new ArrayList<>();
+        for (Command.Choice choice : choices) {
+            String name = choice.getName().toLowerCase(Locale.ROOT);
+            boolean matches = true;
+            for (String term : terms) {
+                if (!name.contains(term)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                narrowed.add(choice);
+            }
+        }
+        return narrowed;
+    }
+
+    private record CachedChoices(List<Command.Choice> choices, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,172 @@
+package discordgateway.gateway.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import discordgateway.gateway.config.SearchProperties;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * YouTube Data API {@code search.list}. Each call costs {@value #SEARCH_COST_UNITS} quota units against a
+ * project quota of 10,000 units per day, so this gateway stops calling once
+ * {@code search.youtube-daily-quota-units} is spent and resumes when the quota resets at midnight Pacific time.
+ * The budget is tracked per gateway instance. Without an API key, while the budget is spent, or after the API
+ * rejects the key with HTTP 403, searches go to {@code fallback}.
+ */
+public class YouTubeDataSearchGateway implements SearchGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(YouTubeDataSearchGateway.class);
+    private static final String WATCH_URL = "https://www.youtube.com/watch?v=";
+    static final int SEARCH_COST_UNITS = 100;
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final SearchProperties searchProperties;
+    private final Clock clock;
+    private final SearchGateway fallback;
+
+    private LocalDate quotaDay;
+    private int quotaUnitsSpent;
+    private boolean quotaExhaustedLogged;
+
+    public YouTubeDataSearchGateway(
+            ObjectMapper objectMapper,
+            SearchProperties searchProperties,
+            Clock clock,
+            SearchGateway fallback
+    ) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(searchProperties.getTimeout())
+                .build();
+        this.objectMapper = objectMapper;
+        this.searchProperties = searchProperties;
+        this.clock = clock;
+        this.fallback = fallback;
+        if (!isConfigured()) {
+            log.atInfo()
+                    .addKeyValue("reason", "missing-api-key")
+                    .log("youtube-data-search-disabled");
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Command.Choice>> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (!isConfigured() || !tryReserveQuota()) {
+            return fallback.search(query, limit);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(buildUri(query.trim(), Math.max(1, Math.min(limit, 25))))
+                .timeout(searchProperties.getTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenCompose(response -> {
+                    if (response.statusCode() == 403) {
+                        exhaustQuota();
+                        return fallback.search(query, limit);
+                    }
+                    return CompletableFuture.completedFuture(parse(response));
+                });
+    }
+
+    private List<Command.Choice> parse(HttpResponse<String> response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IllegalStateException("YouTube search returned HTTP " + response.statusCode());
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(response.body());
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to parse YouTube search payload", exception);
+        }
+
+        List<Command.Choice> choices = new ArrayList<>();
+        for (JsonNode item : root.path("items")) {
+            String videoId = item.path("id").path("videoId").asText("");
+            if (videoId.isBlank()) {
+                continue;
+            }
+            JsonNode snippet = item.path("snippet");
+            String title = unescape(snippet.path("title").asText(""));
+            String channel = unescape(snippet.path("channelTitle").asText(""));
+            choices.add(new Command.Choice(
+                    channel.isBlank() ? title : title + " - " + channel,
+                    WATCH_URL + videoId
+            ));
+        }
+        return choices;
+    }
+
+    private URI buildUri(String query, int limit) {
+        return URI.create(searchProperties.getYoutubeBaseUrl()
+                + "/search?part=snippet&type=video"
+                + "&maxResults=" + limit
+                + "&q=" + encode(query)
+                + "&key=" + encode(searchProperties.getYoutubeApiKey()));
+    }
+
+    private synchronized boolean tryReserveQuota() {
+        LocalDate today = LocalDate.now(clock.withZone(QUOTA_ZONE));
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            quotaUnitsSpent = 0;
+            quotaExhaustedLogged = false;
+        }
+        if (quotaUnitsSpent + SEARCH_COST_UNITS > searchProperties.getYoutubeDailyQuotaUnits()) {
+            if (!quotaExhaustedLogged) {
+                quotaExhaustedLogged = true;
+                log.atWarn()
+                        .addKeyValue("dailyQuotaUnits", searchProperties.getYoutubeDailyQuotaUnits())
+                        .log("youtube-search-quota-exhausted");
+            }
+            return false;
+        }
+        quotaUnitsSpent += SEARCH_COST_UNITS;
+        return true;
+    }
+
+    // 403 means the project quota is gone (e.g. shared with other instances) or the key is rejected
+    private synchronized void exhaustQuota() {
+        quotaUnitsSpent = Math.max(quotaUnitsSpent, searchProperties.getYoutubeDailyQuotaUnits());
+    }
+
+    private boolean isConfigured() {
+        String apiKey = searchProperties.getYoutubeApiKey();
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    private String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private String unescape(String value) {
+        return value.replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+}
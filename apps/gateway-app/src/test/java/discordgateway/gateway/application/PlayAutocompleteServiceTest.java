@@ -0,0 +1,101 @@
+package discordgateway.gateway.application;
+
+import discordgateway.gateway.search.CoalescingSearchGateway;
+import discordgateway.gateway.search.SearchGateway;
+import discordgateway.gateway.search.SearchResultCache;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayAutocompleteServiceTest {
+
+    @Test
+    void supersededKeystrokeResolvesEmptyWithoutSearching() {
+        List<String> searched = new ArrayList<>();
+        List<Runnable> debounced = new ArrayList<>();
+        PlayAutocompleteService service = service(
+                (query, limit) -> {
+                    searched.add(query);
+                    return CompletableFuture.completedFuture(List.of(choice("Never Gonna Give You Up", "a")));
+                },
+                debounced::add
+        );
+
+        CompletableFuture<List<Command.Choice>> first = service.complete(1L, "never");
+        CompletableFuture<List<Command.Choice>> second = service.complete(1L, "never gonna");
+        debounced.forEach(Runnable::run);
+
+        assertThat(first.join()).isEmpty();
+        assertThat(second.join()).extracting(Command.Choice::getName).containsExactly("Never Gonna Give You Up");
+        assertThat(searched).containsExactly("never gonna");
+    }
+
+    @Test
+    void coalescesConcurrentIdenticalSearches() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<List<Command.Choice>> pending = new CompletableFuture<>();
+        PlayAutocompleteService service = service(
+                new CoalescingSearchGateway((query, limit) -> {
+                    calls.incrementAndGet();
+                    return pending;
+                }),
+                Runnable::run
+        );
+
+        CompletableFuture<List<Command.Choice>> first = service.complete(1L, "lofi beats");
+        CompletableFuture<List<Command.Choice>> second = service.complete(2L, "Lofi  Beats");
+        pending.complete(List.of(choice("lofi beats to study", "b")));
+
+        assertThat(calls).hasValue(1);
+        assertThat(first.join()).hasSize(1);
+        assertThat(second.join()).hasSize(1);
+    }
+
+    @Test
+    void narrowsCachedPrefixResultsInsteadOfSearchingAgain() {
+        AtomicInteger calls = new AtomicInteger();
+        PlayAutocompleteService service = service(
+                (query, limit) -> {
+                    calls.incrementAndGet();
+                    return CompletableFuture.completedFuture(List.of(
+                            choice("Never Gonna Give You Up", "1"),
+                            choice("Never Gonna Give You Up (Live)", "2"),
+                            choice("Never Gonna Give You Up (Remix)", "3"),
+                            choice("Never Gonna Give You Up (Lyrics)", "4"),
+                            choice("Never Gonna Give You Up (Cover)", "5"),
+                            choice("Never Enough", "6")
+                    ));
+                },
+                Runnable::run
+        );
+
+        service.complete(1L, "never").join();
+        List<Command.Choice> narrowed = service.complete(1L, "never gonna").join();
+
+        assertThat(calls).hasValue(1);
+        assertThat(narrowed).hasSize(5).noneMatch(choice -> choice.getName().equals("Never Enough"));
+    }
+
+    private PlayAutocompleteService service(SearchGateway searchGateway, Executor executor) {
+        return new PlayAutocompleteService(
+                searchGateway,
+                new SearchResultCache(100, 30_000L, 3, 5),
+                executor,
+                3,
+                15,
+                Duration.ofSeconds(5)
+        );
+    }
+
+    private Command.Choice choice(String name, String value) {
+        return new Command.Choice(name, value);
+    }
+}
@@ -1,5 +1,6 @@
 package discordgateway.gateway.presentation.discord;
 
+import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
 import org.junit.jupiter.api.Test;
@@ -28,4 +29,20 @@ class DiscordCommandCatalogTest {
                         DiscordCommandCatalog.SUB_RANK
                 );
     }
+
+    @Test
+    void queueCommandAcceptsOptionalPage() {
+        SlashCommandData queueCommand = (SlashCommandData) DiscordCommandCatalog.commands().stream()
+                .filter(command -> DiscordCommandCatalog.CMD_QUEUE.equals(command.getName()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(queueCommand.getOptions())
+                .singleElement()
+                .satisfies(option -> {
+                    assertThat(option.getName()).isEqualTo(DiscordCommandCatalog.OPT_PAGE);
+                    assertThat(option.getType()).isEqualTo(OptionType.INTEGER);
+                    assertThat(option.isRequired()).isFalse();
+                });
+    }
 }
@@ -0,0 +1,95 @@
+package discordgateway.gateway.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import discordgateway.gateway.config.SearchProperties;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class YouTubeDataSearchGatewayTest {
+
+    private static final Instant MORNING_PACIFIC = Instant.parse("2026-03-10T16:00:00Z");
+    private static final List<Command.Choice> FALLBACK_CHOICES =
+            List.of(new Command.Choice("fallback", "https://www.youtube.com/watch?v=fallback"));
+    private static final SearchGateway FALLBACK = (query, limit) -> CompletableFuture.completedFuture(FALLBACK_CHOICES);
+
+    @Test
+    void fallsBackWithoutApiKey() {
+        SearchProperties properties = properties();
+        properties.setYoutubeApiKey("");
+        YouTubeDataSearchGateway gateway = new YouTubeDataSearchGateway(
+                new ObjectMapper(),
+                properties,
+                Clock.fixed(MORNING_PACIFIC, ZoneOffset.UTC),
+                FALLBACK
+        );
+
+        assertThat(gateway.search("never gonna", 5)).isCompletedWithValue(FALLBACK_CHOICES);
+    }
+
+    @Test
+    void fallsBackOnceDailyQuotaIsSpent() {
+        YouTubeDataSearchGateway gateway = gateway(Clock.fixed(MORNING_PACIFIC, ZoneOffset.UTC));
+
+        assertThat(gateway.search("never gonna", 5)).failsWithin(Duration.ofSeconds(5));
+        assertThat(gateway.search("never gonna give", 5)).isCompletedWithValue(FALLBACK_CHOICES);
+    }
+
+    @Test
+    void quotaResetsAtPacificMidnight() {
+        MutableClock clock = new MutableClock(MORNING_PACIFIC);
+        YouTubeDataSearchGateway gateway = gateway(clock);
+        assertThat(gateway.search("never gonna", 5)).failsWithin(Duration.ofSeconds(5));
+
+        // 06:59 UTC the next day is still 23:59 of the same Pacific quota day
+        clock.instant = Instant.parse("2026-03-11T06:59:00Z");
+        assertThat(gateway.search("never gonna give", 5)).isCompletedWithValue(FALLBACK_CHOICES);
+
+        clock.instant = Instant.parse("2026-03-11T07:01:00Z");
+        assertThat(gateway.search("never gonna give", 5)).failsWithin(Duration.ofSeconds(5));
+    }
+
+    private static YouTubeDataSearchGateway gateway(Clock clock) {
+        return new YouTubeDataSearchGateway(new ObjectMapper(), properties(), clock, FALLBACK);
+    }
+
+    private static SearchProperties properties() {
+        SearchProperties properties = new SearchProperties();
+        properties.setYoutubeApiKey("test-key");
+        properties.setYoutubeBaseUrl("http://127.0.0.1:1");
+        properties.setYoutubeDailyQuotaUnits(YouTubeDataSearchGateway.SEARCH_COST_UNITS);
+        return properties;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
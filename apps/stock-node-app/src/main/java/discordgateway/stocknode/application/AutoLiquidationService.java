@@ -4,7 +4,6 @@ import discordgateway.stocknode.cache.RankingCacheRepository;
 import discordgateway.stocknode.observability.StockMetricsRecorder;
 import discordgateway.stocknode.persistence.entity.StockAccountEntity;
 import discordgateway.stocknode.persistence.entity.StockPositionEntity;
-import discordgateway.stocknode.persistence.entity.TradeLedgerEntity;
 import discordgateway.stocknode.persistence.repository.StockPositionRepository;
 import discordgateway.stocknode.persistence.repository.TradeLedgerRepository;
 import discordgateway.stocknode.quote.model.StockQuote;
@@ -15,16 +14,21 @@ import org.springframework.transaction.support.TransactionOperations;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AutoLiquidationService {
 
     private static final Logger log = LoggerFactory.getLogger(AutoLiquidationService.class);
+    private static final int STATEMENT_BATCH_SIZE = 500;
 
     private final StockPositionRepository stockPositionRepository;
     private final TradeLedgerRepository tradeLedgerRepository;
     private final RankingCacheRepository rankingCacheRepository;
     private final StockMetricsRecorder stockMetricsRecorder;
+    private final LiquidationPriceIndex liquidationPriceIndex;
     private final Clock clock;
     private final TransactionOperations transactionOperations;
 
@@ -33,6 +37,7 @@ public class AutoLiquidationService {
             TradeLedgerRepository tradeLedgerRepository,
             RankingCacheRepository rankingCacheRepository,
             StockMetricsRecorder stockMetricsRecorder,
+            LiquidationPriceIndex liquidationPriceIndex,
             Clock clock,
             TransactionOperations transactionOperations
     ) {
@@ -40,44 +45,70 @@ public class AutoLiquidationService {
         this.tradeLedgerRepository = tradeLedgerRepository;
         this.rankingCacheRepository = rankingCacheRepository;
         this.stockMetricsRecorder = stockMetricsRecorder;
+        this.liquidationPriceIndex = liquidationPriceIndex;
         this.clock = clock;
         this.transactionOperations = transactionOperations;
     }
 
+    /**
+     * Liquidates every position of the quoted symbol whose isolated equity is exhausted. Candidates are
+     * selected and locked by the database, then closed with one ledger insert and one delete per batch,
+     * all in a single transaction. Once the {@link LiquidationPriceIndex} is built only the positions it
+     * reports as crossed are re-checked, and a quote that crosses none skips the database entirely.
+     * {@code scannedCount} is the number of exhausted positions found.
+     */
     public LiquidationBatchResult liquidateExhaustedPositions(StockQuote quote) {
         String normalizedSymbol = StockQuote.normalizeSymbol(quote.symbol());
-        List<Long> positionIds = stockPositionRepository.findAllBySymbolOrderByIdAsc(normalizedSymbol).stream()
-                .map(StockPositionEntity::getId)
-                .toList();
+        BigDecimal currentPrice = scaleCash(quote.price(), RoundingMode.HALF_UP);
 
-        int liquidatedCount = 0;
-        int failureCount = 0;
-        for (Long positionId : positionIds) {
-            try {
-                boolean liquidated = Boolean.TRUE.equals(
-                        transactionOperations.execute(status -> liquidatePositionIfNeeded(positionId, quote))
-                );
-                if (liquidated) {
-                    liquidatedCount++;
-                }
-            } catch (Exception exception) {
-                failureCount++;
-                log.warn(
-                        "failed to liquidate stock position positionId={} symbol={} quotePrice={}",
-                        positionId,
-                        normalizedSymbol,
-                        quote.price(),
-                        exception
-                );
+        List<Long> candidateIds = null;
+        if (liquidationPriceIndex.isReady()) {
+            candidateIds = liquidationPriceIndex.crossedPositionIds(normalizedSymbol, currentPrice);
+            if (candidateIds.isEmpty()) {
+                return new LiquidationBatchResult(normalizedSymbol, 0, 0, 0);
             }
         }
-        stockMetricsRecorder.recordAutoLiquidations(quote.market(), normalizedSymbol, liquidatedCount);
+
+        List<Long> candidates = candidateIds;
+        List<LiquidatedPosition> liquidated;
+        try {
+            liquidated = transactionOperations.execute(status -> liquidate(normalizedSymbol, currentPrice, candidates));
+        } catch (Exception exception) {
+            log.warn(
+                    "failed to liquidate stock positions symbol={} quotePrice={}",
+                    normalizedSymbol,
+                    quote.price(),
+                    exception
+            );
+            return new LiquidationBatchResult(normalizedSymbol, 0, 0, 1);
+        }
+        if (liquidated == null || liquidated.isEmpty()) {
+            return new LiquidationBatchResult(normalizedSymbol, 0, 0, 0);
+        }
+
+        evictRankings(liquidated);
+        for (LiquidatedPosition position : liquidated) {
+            log.info(
+                    "auto liquidated stock position accountId={} guildId={} userId={} seasonKey={} symbol={} leverage={} averageCost={} quotePrice={} quantity={} isolatedEquity={}",
+                    position.accountId(),
+                    position.guildId(),
+                    position.userId(),
+                    position.seasonKey(),
+                    normalizedSymbol,
+                    position.leverage(),
+                    position.averageCost(),
+                    currentPrice,
+                    position.quantity(),
+                    position.isolatedEquity()
+            );
+        }
+        stockMetricsRecorder.recordAutoLiquidations(quote.market(), normalizedSymbol, liquidated.size());
 
         return new LiquidationBatchResult(
                 normalizedSymbol,
-                positionIds.size(),
-                liquidatedCount,
-                failureCount
+                liquidated.size(),
+                liquidated.size(),
+                0
         );
     }
 
@@ -89,64 +120,68 @@ public class AutoLiquidationService {
         return scaleCash(position.getMarginAmount().add(unrealizedProfitLoss), RoundingMode.HALF_UP);
     }
 
-    private boolean liquidatePositionIfNeeded(Long positionId, StockQuote quote) {
-        StockPositionEntity position = stockPositionRepository.findById(positionId).orElse(null);
-        if (position == null || position.isEmpty()) {
-            return false;
+    private List<LiquidatedPosition> liquidate(String normalizedSymbol, BigDecimal currentPrice, List<Long> candidateIds) {
+        List<StockPositionEntity> exhausted = candidateIds == null
+                ? stockPositionRepository.lockExhaustedPositions(normalizedSymbol, currentPrice)
+                : stockPositionRepository.lockExhaustedPositionsByIdIn(candidateIds, normalizedSymbol, currentPrice);
+        if (exhausted.isEmpty()) {
+            return List.of();
         }
 
-        String normalizedSymbol = StockQuote.normalizeSymbol(quote.symbol());
-        if (!normalizedSymbol.equals(position.getSymbol())) {
-            return false;
-        }
+        List<LiquidatedPosition> liquidated = exhausted.stream()
+                .map(position -> LiquidatedPosition.of(position, calculateIsolatedEquity(position, currentPrice)))
+                .toList();
+        List<Long> positionIds = liquidated.stream()
+                .map(LiquidatedPosition::positionId)
+                .toList();
 
-        BigDecimal currentPrice = scaleCash(quote.price(), RoundingMode.HALF_UP);
-        BigDecimal isolatedEquity = calculateIsolatedEquity(position, currentPrice);
-        if (isolatedEquity.signum() > 0) {
-            return false;
+        Instant occurredAt = clock.instant();
+        for (int from = 0; from < positionIds.size(); from += STATEMENT_BATCH_SIZE) {
+            List<Long> batch = positionIds.subList(from, Math.min(from + STATEMENT_BATCH_SIZE, positionIds.size()));
+            tradeLedgerRepository.insertClosingTrades(batch, TradeSide.SELL.name(), currentPrice, occurredAt);
+            stockPositionRepository.deleteAllByIdIn(batch);
         }
+        liquidationPriceIndex.onPositionsClosed(positionIds);
+        return liquidated;
+    }
 
-        StockAccountEntity account = position.getAccount();
-        BigDecimal fullQuantity = position.getQuantity();
-        BigDecimal releasedMarginAmount = position.getMarginAmount();
-        BigDecimal releasedNotionalAmount = position.getNotionalAmount();
-        int leverage = position.getLeverage();
-        BigDecimal averageCost = position.getAverageCost();
-
-        position.applySell(fullQuantity, releasedMarginAmount, releasedNotionalAmount);
-        stockPositionRepository.delete(position);
-        tradeLedgerRepository.save(
-                TradeLedgerEntity.create(
-                        account,
-                        normalizedSymbol,
-                        TradeSide.SELL.name(),
-                        fullQuantity,
-                        currentPrice,
-                        leverage,
-                        releasedMarginAmount,
-                        releasedNotionalAmount,
-                        clock.instant()
-                )
-        );
-        rankingCacheRepository.evictGuild(account.getGuildId(), account.getSeasonKey());
-
-        log.info(
-                "auto liquidated stock position accountId={} guildId={} userId={} seasonKey={} symbol={} leverage={} averageCost={} quotePrice={} quantity={} isolatedEquity={}",
-                account.getId(),
-                account.getGuildId(),
-                account.getUserId(),
-                account.getSeasonKey(),
-                normalizedSymbol,
-                leverage,
-                averageCost,
-                currentPrice,
-                fullQuantity,
-                isolatedEquity
-        );
-        return true;
+    private void evictRankings(List<LiquidatedPosition> liquidated) {
+        Map<Long, String> seasonKeyByGuild = new LinkedHashMap<>();
+        for (LiquidatedPosition position : liquidated) {
+            seasonKeyByGuild.putIfAbsent(position.guildId(), position.seasonKey());
+        }
+        seasonKeyByGuild.forEach(rankingCacheRepository::evictGuild);
     }
 
     private BigDecimal scaleCash(BigDecimal value, RoundingMode roundingMode) {
         return value.setScale(4, roundingMode);
     }
+
+    private record LiquidatedPosition(
+            long positionId,
+            long accountId,
+            long guildId,
+            long userId,
+            String seasonKey,
+            int leverage,
+            BigDecimal averageCost,
+            BigDecimal quantity,
+            BigDecimal isolatedEquity
+    ) {
+
+        private static LiquidatedPosition of(StockPositionEntity position, BigDecimal isolatedEquity) {
+            StockAccountEntity account = position.getAccount();
+            return new LiquidatedPosition(
+                    position.getId(),
+                    account.getId(),
+                    account.getGuildId(),
+                    account.getUserId(),
+                    account.getSeasonKey(),
+                    position.getLeverage(),
+                    position.getAverageCost(),
+                    position.getQuantity(),
+                    isolatedEquity
+            );
+        }
+    }
 }
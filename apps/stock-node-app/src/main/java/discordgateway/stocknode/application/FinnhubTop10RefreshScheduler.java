@@ -2,19 +2,35 @@ package discordgateway.stocknode.application;
 
 import discordgateway.stocknode.bootstrap.StockMarketDataProperties;
 import discordgateway.stocknode.bootstrap.StockQuoteProperties;
+import discordgateway.stocknode.observability.StockMetricsRecorder;
 import discordgateway.stocknode.observability.StockQuoteCacheMetricsService;
 import discordgateway.stocknode.persistence.entity.StockWatchlistEntity;
 import discordgateway.stocknode.quote.model.StockQuote;
 import discordgateway.stocknode.quote.service.MarketQuoteRefreshService;
+import discordgateway.stocknode.quote.service.QuoteBatchRefreshResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Refreshes the watchlist in batches of {@code stock.market-data.refresh-batch-size} symbols, each under one
+ * lock and one rate-limit reservation, with up to {@code stock.market-data.refresh-concurrency} batches in flight.
+ * Each quote is handed to a single liquidation stage as soon as its batch lands, so DB scans overlap the remaining
+ * provider calls instead of running between them. Symbols the quote stream is currently covering are left
+ * to the stream and only polled again once it goes stale or the REST reconcile interval comes around.
+ */
 public class FinnhubTop10RefreshScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(FinnhubTop10RefreshScheduler.class);
@@ -22,7 +38,9 @@ public class FinnhubTop10RefreshScheduler {
     private final StockWatchlistService stockWatchlistService;
     private final MarketQuoteRefreshService marketQuoteRefreshService;
     private final AutoLiquidationService autoLiquidationService;
+    private final QuoteStreamIngestionService quoteStreamIngestionService;
     private final StockQuoteCacheMetricsService stockQuoteCacheMetricsService;
+    private final StockMetricsRecorder stockMetricsRecorder;
     private final StockMarketDataProperties stockMarketDataProperties;
     private final StockQuoteProperties stockQuoteProperties;
     private final Clock clock;
@@ -31,7 +49,9 @@ public class FinnhubTop10RefreshScheduler {
             StockWatchlistService stockWatchlistService,
             MarketQuoteRefreshService marketQuoteRefreshService,
             AutoLiquidationService autoLiquidationService,
+            QuoteStreamIngestionService quoteStreamIngestionService,
             StockQuoteCacheMetricsService stockQuoteCacheMetricsService,
+            StockMetricsRecorder stockMetricsRecorder,
             StockMarketDataProperties stockMarketDataProperties,
             StockQuoteProperties stockQuoteProperties,
             Clock clock
@@ -39,7 +59,9 @@ public class FinnhubTop10RefreshScheduler {
         this.stockWatchlistService = stockWatchlistService;
         this.marketQuoteRefreshService = marketQuoteRefreshService;
         this.autoLiquidationService = autoLiquidationService;
+        this.quoteStreamIngestionService = quoteStreamIngestionService;
         this.stockQuoteCacheMetricsService = stockQuoteCacheMetricsService;
+        this.stockMetricsRecorder = stockMetricsRecorder;
         this.stockMarketDataProperties = stockMarketDataProperties;
         this.stockQuoteProperties = stockQuoteProperties;
         this.clock = clock;
@@ -55,49 +77,165 @@ public class FinnhubTop10RefreshScheduler {
         }
 
         Instant startedAt = clock.instant();
+        long runStartedAt = System.nanoTime();
         List<StockWatchlistEntity> watchlist = stockWatchlistService.getEnabledByMarket(
                 stockMarketDataProperties.getMarket(),
                 stockMarketDataProperties.getTopRankLimit()
         );
+        quoteStreamIngestionService.syncSubscriptions(watchlist);
 
-        int successCount = 0;
-        int failureCount = 0;
-        for (StockWatchlistEntity item : watchlist) {
-            try {
-                StockQuote refreshedQuote = marketQuoteRefreshService.refreshQuote(item.getMarket(), item.getSymbol());
-                LiquidationBatchResult liquidationBatchResult = autoLiquidationService.liquidateExhaustedPositions(refreshedQuote);
-                successCount++;
-                log.info("refreshed stock quote from Finnhub market={} symbol={}", refreshedQuote.market(), refreshedQuote.symbol());
-                if (liquidationBatchResult.liquidatedCount() > 0 || liquidationBatchResult.failureCount() > 0) {
-                    log.info(
-                            "processed stock liquidation scan symbol={} scannedCount={} liquidatedCount={} failureCount={}",
-                            liquidationBatchResult.symbol(),
-                            liquidationBatchResult.scannedCount(),
-                            liquidationBatchResult.liquidatedCount(),
-                            liquidationBatchResult.failureCount()
-                    );
+        RefreshRun run = new RefreshRun();
+        try (ExecutorService liquidationStage = Executors.newSingleThreadExecutor(
+                Thread.ofVirtual().name("stock-liquidation-stage").factory()
+        )) {
+            try (ExecutorService quoteStage = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("stock-quote-refresh-", 0).factory()
+            )) {
+                Semaphore permits = new Semaphore(refreshConcurrency());
+                for (List<String> batch : polledBatches(watchlist, run)) {
+                    if (!acquire(permits)) {
+                        break;
+                    }
+                    if (run.rateLimited.get()) {
+                        permits.release();
+                        run.skippedCount.addAndGet(batch.size());
+                        continue;
+                    }
+                    quoteStage.execute(() -> {
+                        try {
+                            for (StockQuote refreshedQuote : refreshBatch(batch, run)) {
+                                liquidationStage.execute(() -> liquidate(refreshedQuote));
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                    });
                 }
-            } catch (Exception exception) {
-                failureCount++;
-                log.warn(
-                        "failed to refresh stock quote from Finnhub market={} symbol={}",
-                        item.getMarket(),
-                        item.getSymbol(),
-                        exception
-                );
             }
         }
         recordQuoteCacheMetrics(watchlist);
+        stockMetricsRecorder.recordWatchlistRefreshRun(
+                stockMarketDataProperties.getMarket(),
+                Duration.ofNanos(System.nanoTime() - runStartedAt)
+        );
 
         log.info(
-                "completed stock watchlist refresh run market={} startedAt={} successCount={} failureCount={}",
+                "completed stock watchlist refresh run market={} startedAt={} successCount={} failureCount={} skippedCount={} streamedCount={}",
                 stockMarketDataProperties.getMarket().toUpperCase(Locale.ROOT),
                 startedAt,
-                successCount,
-                failureCount
+                run.successCount.get(),
+                run.failureCount.get(),
+                run.skippedCount.get(),
+                run.streamedCount.get()
         );
     }
 
+    private List<List<String>> polledBatches(List<StockWatchlistEntity> watchlist, RefreshRun run) {
+        List<String> polledSymbols = new ArrayList<>();
+        for (StockWatchlistEntity item : watchlist) {
+            if (quoteStreamIngestionService.coveredByStream(item.getSymbol())) {
+                run.streamedCount.incrementAndGet();
+                continue;
+            }
+            polledSymbols.add(item.getSymbol());
+        }
+
+        int batchSize = Math.max(1, stockMarketDataProperties.getRefreshBatchSize());
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < polledSymbols.size(); from += batchSize) {
+            batches.add(List.copyOf(polledSymbols.subList(from, Math.min(from + batchSize, polledSymbols.size()))));
+        }
+        return batches;
+    }
+
+    private List<StockQuote> refreshBatch(List<String> batch, RefreshRun run) {
+        long stageStartedAt = System.nanoTime();
+        String market = stockMarketDataProperties.getMarket();
+        try {
+            QuoteBatchRefreshResult result = marketQuoteRefreshService.refreshQuotes(market, batch);
+            for (StockQuote refreshedQuote : result.refreshed()) {
+                quoteStreamIngestionService.onRestRefresh(refreshedQuote);
+            }
+            run.successCount.addAndGet(result.refreshed().size());
+            run.failureCount.addAndGet(result.failed().size() + result.rateLimited().size());
+            if (!result.rateLimited().isEmpty()) {
+                // every further batch would only burn more of the exhausted budget
+                run.rateLimited.set(true);
+                log.warn(
+                        "stopping stock watchlist refresh run on provider rate limit market={} rateLimitedSymbols={}",
+                        market,
+                        result.rateLimited()
+                );
+            }
+            if (!result.failed().isEmpty()) {
+                log.warn("failed to refresh stock quotes from Finnhub market={} symbols={}", market, result.failed());
+            }
+            if (!result.cached().isEmpty()) {
+                // another refresh holds these symbols and reports its own REST refresh
+                log.info("skipped stock quote batch already being refreshed market={} cachedCount={}", market, result.cached().size());
+            }
+            recordStage("quote", batchStageResult(result), stageStartedAt);
+            log.info(
+                    "refreshed stock quote batch from Finnhub market={} batchSize={} refreshedCount={}",
+                    market,
+                    batch.size(),
+                    result.refreshed().size()
+            );
+            return result.refreshed();
+        } catch (Exception exception) {
+            run.failureCount.addAndGet(batch.size());
+            recordStage("quote", "failure", stageStartedAt);
+            log.warn("failed to refresh stock quote batch from Finnhub market={} symbols={}", market, batch, exception);
+            return List.of();
+        }
+    }
+
+    private String batchStageResult(QuoteBatchRefreshResult result) {
+        if (!result.rateLimited().isEmpty()) {
+            return "rate_limited";
+        }
+        return result.failed().isEmpty() ? "success" : "failure";
+    }
+
+    private void liquidate(StockQuote quote) {
+        long stageStartedAt = System.nanoTime();
+        try {
+            LiquidationBatchResult liquidationBatchResult = autoLiquidationService.liquidateExhaustedPositions(quote);
+            recordStage("liquidation", "success", stageStartedAt);
+            if (liquidationBatchResult.liquidatedCount() > 0 || liquidationBatchResult.failureCount() > 0) {
+                log.info(
+                        "processed stock liquidation scan symbol={} scannedCount={} liquidatedCount={} failureCount={}",
+                        liquidationBatchResult.symbol(),
+                        liquidationBatchResult.scannedCount(),
+                        liquidationBatchResult.liquidatedCount(),
+                        liquidationBatchResult.failureCount()
+                );
+            }
+        } catch (Exception exception) {
+            recordStage("liquidation", "failure", stageStartedAt);
+            log.warn("failed to run stock liquidation scan market={} symbol={}", quote.market(), quote.symbol(), exception);
+        }
+    }
+
+    private int refreshConcurrency() {
+        int configured = Math.max(1, stockMarketDataProperties.getRefreshConcurrency());
+        return (int) Math.min(configured, Math.max(1L, stockQuoteProperties.getProviderPerMinuteLimit()));
+    }
+
+    private boolean acquire(Semaphore permits) {
+        try {
+            permits.acquire();
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void recordStage(String stage, String result, long stageStartedAt) {
+        stockMetricsRecorder.recordWatchlistRefreshStage(stage, result, Duration.ofNanos(System.nanoTime() - stageStartedAt));
+    }
+
     private void recordQuoteCacheMetrics(List<StockWatchlistEntity> watchlist) {
         try {
             stockQuoteCacheMetricsService.recordWatchlistCacheState(
@@ -109,4 +247,12 @@ public class FinnhubTop10RefreshScheduler {
             log.warn("failed to record stock quote cache metrics market={}", stockMarketDataProperties.getMarket(), exception);
         }
     }
+
+    private static final class RefreshRun {
+        private final AtomicInteger successCount = new AtomicInteger();
+        private final AtomicInteger failureCount = new AtomicInteger();
+        private final AtomicInteger skippedCount = new AtomicInteger();
+        private final AtomicInteger streamedCount = new AtomicInteger();
+        private final AtomicBoolean rateLimited = new AtomicBoolean();
+    }
 }
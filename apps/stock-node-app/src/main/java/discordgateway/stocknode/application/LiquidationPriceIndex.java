@@ -0,0 +1,194 @@
+package discordgateway.stocknode.application;
+
+import discordgateway.stocknode.persistence.entity.StockPositionEntity;
+import discordgateway.stocknode.quote.model.StockQuote;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-symbol sorted liquidation prices of open positions. A long position is exhausted once the quote falls
+ * to {@code average_cost - margin_amount / quantity}, so the positions crossed by a quote are the tail of the
+ * symbol's set from that price upward. The index only narrows the candidates: the database predicate in
+ * {@link discordgateway.stocknode.persistence.repository.StockPositionRepository} stays authoritative, so a
+ * stale extra entry costs one re-check while a missing entry delays liquidation until the next reconcile.
+ */
+public class LiquidationPriceIndex {
+
+    // margin + round(pnl, 4) <= 0 already holds when the unrounded sum is below half a cash unit
+    private static final BigDecimal HALF_CASH_UNIT = new BigDecimal("0.00005");
+    private static final int PRICE_SCALE = 8;
+
+    private final Map<String, NavigableSet<Entry>> entriesBySymbol = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entriesByPositionId = new ConcurrentHashMap<>();
+    private long sequence;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return entriesByPositionId.size();
+    }
+
+    /**
+     * Returns the ids of positions whose liquidation price is at or above {@code price}, lowest first.
+     */
+    public List<Long> crossedPositionIds(String symbol, BigDecimal price) {
+        NavigableSet<Entry> entries = entriesBySymbol.get(StockQuote.normalizeSymbol(symbol));
+        if (entries == null) {
+            return List.of();
+        }
+        return entries.tailSet(new Entry(Long.MIN_VALUE, null, price, 0L), true).stream()
+                .map(Entry::positionId)
+                .toList();
+    }
+
+    /**
+     * Applies the position's new state once the surrounding transaction commits, or immediately outside one,
+     * so a rolled-back trade never moves a threshold.
+     */
+    public void onPositionChanged(StockPositionEntity position) {
+        if (position.getId() == null) {
+            return;
+        }
+        long positionId = position.getId();
+        if (position.isEmpty()) {
+            afterCommit(() -> remove(positionId));
+            return;
+        }
+        String symbol = position.getSymbol();
+        BigDecimal liquidationPrice = liquidationPrice(
+                position.getAverageCost(),
+                position.getMarginAmount(),
+                position.getQuantity()
+        );
+        afterCommit(() -> put(positionId, symbol, liquidationPrice));
+    }
+
+    public void onPositionsClosed(Collection<Long> positionIds) {
+        afterCommit(() -> positionIds.forEach(this::remove));
+    }
+
+    public synchronized long mutationSequence() {
+        return sequence;
+    }
+
+    /**
+     * Replaces the index with a database snapshot taken after {@code snapshotSequence} was read. Entries
+     * written since then are newer than the snapshot and are kept as they are.
+     *
+     * @return how many positions were missing, extra or priced differently before the replacement
+     */
+    public synchronized int reconcile(Collection<StockPositionEntity> snapshot, long snapshotSequence) {
+        Map<Long, Entry> expected = new HashMap<>();
+        for (StockPositionEntity position : snapshot) {
+            if (position.getId() == null || position.isEmpty()) {
+                continue;
+            }
+            BigDecimal liquidationPrice = liquidationPrice(
+                    position.getAverageCost(),
+                    position.getMarginAmount(),
+                    position.getQuantity()
+            );
+            expected.put(position.getId(), new Entry(position.getId(), position.getSymbol(), liquidationPrice, 0L));
+        }
+
+        int drift = 0;
+        for (Entry current : List.copyOf(entriesByPositionId.values())) {
+            if (current.sequence() > snapshotSequence) {
+                expected.remove(current.positionId());
+                continue;
+            }
+            Entry wanted = expected.remove(current.positionId());
+            if (wanted == null) {
+                removeEntry(current);
+                drift++;
+            } else if (!current.sameThreshold(wanted)) {
+                putEntry(wanted.positionId(), wanted.symbol(), wanted.liquidationPrice());
+                drift++;
+            }
+        }
+        for (Entry missing : expected.values()) {
+            putEntry(missing.positionId(), missing.symbol(), missing.liquidationPrice());
+            drift++;
+        }
+        ready = true;
+        return drift;
+    }
+
+    static BigDecimal liquidationPrice(BigDecimal averageCost, BigDecimal marginAmount, BigDecimal quantity) {
+        // rounding the margin share down keeps the threshold on the liquidating side of the SQL predicate
+        BigDecimal marginPerShare = marginAmount.subtract(HALF_CASH_UNIT)
+                .divide(quantity, PRICE_SCALE, RoundingMode.FLOOR);
+        return averageCost.subtract(marginPerShare).setScale(PRICE_SCALE, RoundingMode.CEILING);
+    }
+
+    private synchronized void put(long positionId, String symbol, BigDecimal liquidationPrice) {
+        putEntry(positionId, symbol, liquidationPrice);
+    }
+
+    private synchronized void remove(long positionId) {
+        sequence++;
+        Entry previous = entriesByPositionId.remove(positionId);
+        if (previous != null) {
+            removeFromSymbol(previous);
+        }
+    }
+
+    private void putEntry(long positionId, String symbol, BigDecimal liquidationPrice) {
+        Entry entry = new Entry(positionId, StockQuote.normalizeSymbol(symbol), liquidationPrice, ++sequence);
+        Entry previous = entriesByPositionId.put(positionId, entry);
+        if (previous != null) {
+            removeFromSymbol(previous);
+        }
+        entriesBySymbol.computeIfAbsent(entry.symbol(), ignored -> new ConcurrentSkipListSet<>(Entry.ORDER)).add(entry);
+    }
+
+    private void removeEntry(Entry entry) {
+        entriesByPositionId.remove(entry.positionId(), entry);
+        removeFromSymbol(entry);
+    }
+
+    private void removeFromSymbol(Entry entry) {
+        NavigableSet<Entry> entries = entriesBySymbol.get(entry.symbol());
+        if (entries != null) {
+            entries.remove(entry);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Entry(long positionId, String symbol, BigDecimal liquidationPrice, long sequence) {
+
+        private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::liquidationPrice)
+                .thenComparingLong(Entry::positionId);
+
+        private boolean sameThreshold(Entry other) {
+            return Objects.equals(symbol, other.symbol()) && liquidationPrice.compareTo(other.liquidationPrice()) == 0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package discordgateway.stocknode.application;
+
+import discordgateway.stocknode.observability.StockMetricsRecorder;
+import discordgateway.stocknode.persistence.entity.StockPositionEntity;
+import discordgateway.stocknode.persistence.repository.StockPositionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Builds the {@link LiquidationPriceIndex} from {@code stock_position} on the first run and then rebuilds it
+ * periodically, so thresholds changed outside this node's trade path are picked up.
+ */
+public class LiquidationPriceIndexReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(LiquidationPriceIndexReconciler.class);
+
+    private final StockPositionRepository stockPositionRepository;
+    private final LiquidationPriceIndex liquidationPriceIndex;
+    private final StockMetricsRecorder stockMetricsRecorder;
+
+    public LiquidationPriceIndexReconciler(
+            StockPositionRepository stockPositionRepository,
+            LiquidationPriceIndex liquidationPriceIndex,
+            StockMetricsRecorder stockMetricsRecorder
+    ) {
+        this.stockPositionRepository = stockPositionRepository;
+        this.liquidationPriceIndex = liquidationPriceIndex;
+        this.stockMetricsRecorder = stockMetricsRecorder;
+    }
+
+    @Scheduled(fixedDelayString = "${stock.market-data.liquidation-index-reconcile-delay-ms:300000}")
+    public void reconcile() {
+        boolean initialBuild = !liquidationPriceIndex.isReady();
+        try {
+            long snapshotSequence = liquidationPriceIndex.mutationSequence();
+            List<StockPositionEntity> positions = stockPositionRepository.findAllByQuantityGreaterThan(BigDecimal.ZERO);
+            int drift = liquidationPriceIndex.reconcile(positions, snapshotSequence);
+            if (!initialBuild) {
+                stockMetricsRecorder.recordLiquidationIndexDrift(drift);
+            }
+            if (initialBuild || drift > 0) {
+                log.info(
+                        "reconciled stock liquidation price index initialBuild={} positionCount={} driftCount={}",
+                        initialBuild,
+                        liquidationPriceIndex.size(),
+                        drift
+                );
+            }
+        } catch (Exception exception) {
+            log.warn("failed to reconcile stock liquidation price index initialBuild={}", initialBuild, exception);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package discordgateway.stocknode.application;
+
+import discordgateway.stocknode.bootstrap.QuoteStreamProperties;
+import discordgateway.stocknode.bootstrap.StockMarketDataProperties;
+import discordgateway.stocknode.bootstrap.StockQuoteProperties;
+import discordgateway.stocknode.cache.QuoteRepository;
+import discordgateway.stocknode.observability.StockMetricsRecorder;
+import discordgateway.stocknode.persistence.entity.StockWatchlistEntity;
+import discordgateway.stocknode.quote.model.StockQuote;
+import discordgateway.stocknode.quote.stream.QuoteStreamProvider;
+import discordgateway.stocknode.quote.stream.QuoteTick;
+import discordgateway.stocknode.quote.stream.QuoteTickListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds streamed trade prints into the cached {@link StockQuote} of each watchlist symbol. Ticks only update
+ * memory; a flusher writes each symbol to the quote cache at most
+ * {@code stock.quote-stream.writes-per-second} times per second, and every price change is handed to a single
+ * liquidation lane that keeps only the latest quote per symbol. REST polling stays in charge of symbols the
+ * stream is not covering and re-seeds the open, previous close and daily range every
+ * {@code stock.quote-stream.rest-reconcile-interval}.
+ */
+public class QuoteStreamIngestionService implements QuoteTickListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QuoteStreamIngestionService.class);
+
+    private final QuoteStreamProvider quoteStreamProvider;
+    private final QuoteRepository quoteRepository;
+    private final AutoLiquidationService autoLiquidationService;
+    private final StockWatchlistService stockWatchlistService;
+    private final StockMetricsRecorder stockMetricsRecorder;
+    private final StockMarketDataProperties stockMarketDataProperties;
+    private final StockQuoteProperties stockQuoteProperties;
+    private final QuoteStreamProperties quoteStreamProperties;
+    private final Clock clock;
+    private final Map<String, SymbolState> states = new ConcurrentHashMap<>();
+    private final Map<String, StockQuote> pendingLiquidations = new ConcurrentHashMap<>();
+
+    private volatile boolean started;
+    private ScheduledExecutorService flushScheduler;
+    private ExecutorService liquidationLane;
+
+    public QuoteStreamIngestionService(
+            QuoteStreamProvider quoteStreamProvider,
+            QuoteRepository quoteRepository,
+            AutoLiquidationService autoLiquidationService,
+            StockWatchlistService stockWatchlistService,
+            StockMetricsRecorder stockMetricsRecorder,
+            StockMarketDataProperties stockMarketDataProperties,
+            StockQuoteProperties stockQuoteProperties,
+            QuoteStreamProperties quoteStreamProperties,
+            Clock clock
+    ) {
+        this.quoteStreamProvider = quoteStreamProvider;
+        this.quoteRepository = quoteRepository;
+        this.autoLiquidationService = autoLiquidationService;
+        this.stockWatchlistService = stockWatchlistService;
+        this.stockMetricsRecorder = stockMetricsRecorder;
+        this.stockMarketDataProperties = stockMarketDataProperties;
+        this.stockQuoteProperties = stockQuoteProperties;
+        this.quoteStreamProperties = quoteStreamProperties;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (started || !quoteStreamProperties.isEnabled() || !stockMarketDataProperties.isEnabled()) {
+            return;
+        }
+        if (!"finnhub".equalsIgnoreCase(stockQuoteProperties.getProvider())) {
+            return;
+        }
+
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("stock-quote-stream-flush").factory()
+        );
+        liquidationLane = Executors.newSingleThreadExecutor(
+                Thread.ofVirtual().name("stock-quote-stream-liquidation").factory()
+        );
+        long flushIntervalMillis = writeIntervalMillis();
+        flushScheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+
+        started = true;
+        try {
+            syncSubscriptions(stockWatchlistService.getEnabledByMarket(
+                    stockMarketDataProperties.getMarket(),
+                    stockMarketDataProperties.getTopRankLimit()
+            ));
+        } catch (Exception exception) {
+            log.warn("failed to load stock watchlist for quote stream market={}", stockMarketDataProperties.getMarket(), exception);
+        }
+        quoteStreamProvider.connect(this);
+        log.info(
+                "started stock quote stream provider={} writesPerSecond={}",
+                quoteStreamProvider.providerName(),
+                quoteStreamProperties.getWritesPerSecond()
+        );
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        quoteStreamProvider.disconnect();
+        flushScheduler.shutdownNow();
+        liquidationLane.shutdownNow();
+    }
+
+    public void syncSubscriptions(List<StockWatchlistEntity> watchlist) {
+        if (!started) {
+            return;
+        }
+        quoteStreamProvider.subscribe(watchlist.stream().map(StockWatchlistEntity::getSymbol).toList());
+    }
+
+    /**
+     * Whether the stream is delivering this symbol recently enough that the REST poll can be skipped.
+     * Returns {@code false} once per reconcile interval so REST still re-seeds the daily fields.
+     */
+    public boolean coveredByStream(String symbol) {
+        if (!started || !quoteStreamProvider.isConnected()) {
+            return false;
+        }
+        SymbolState state = states.get(StockQuote.normalizeSymbol(symbol));
+        if (state == null) {
+            return false;
+        }
+        Instant now = clock.instant();
+        synchronized (state) {
+            return state.lastTickAt != null
+                    && state.lastRestAt != null
+                    && !state.lastTickAt.plus(quoteStreamProperties.getStaleAfter()).isBefore(now)
+                    && !state.lastRestAt.plus(quoteStreamProperties.getRestReconcileInterval()).isBefore(now);
+        }
+    }
+
+    /**
+     * Seeds the aggregate with a REST quote. A REST quote older than the streamed price only contributes its
+     * daily fields, and the streamed price is written back over it on the next flush.
+     */
+    public void onRestRefresh(StockQuote restQuote) {
+        SymbolState state = states.computeIfAbsent(restQuote.symbol(), ignored -> new SymbolState());
+        synchronized (state) {
+            state.lastRestAt = clock.instant();
+            StockQuote latest = state.latest;
+            if (latest == null || !restQuote.quotedAt().isBefore(latest.quotedAt())) {
+                state.latest = restQuote;
+                return;
+            }
+            state.latest = withPrice(restQuote, latest.price(), latest.quotedAt(), latest.provider(), latest);
+            state.dirty = true;
+        }
+    }
+
+    @Override
+    public void onTick(QuoteTick tick) {
+        if (!started) {
+            return;
+        }
+        SymbolState state = states.computeIfAbsent(tick.symbol(), ignored -> new SymbolState());
+        StockQuote aggregated;
+        boolean priceChanged;
+        synchronized (state) {
+            StockQuote latest = state.latest;
+            if (latest != null && tick.tradedAt().isBefore(latest.quotedAt())) {
+                return;
+            }
+            priceChanged = latest == null || latest.price().compareTo(tick.price()) != 0;
+            // an unchanged print still moves quotedAt, which keeps the quote inside the trade freshness window
+            aggregated = latest == null
+                    ? new StockQuote(stockMarketDataProperties.getMarket(), tick.symbol(), tick.price(), tick.tradedAt(),
+                            quoteStreamProvider.providerName(), null, null, tick.price(), tick.price(), null, null)
+                    : withPrice(latest, tick.price(), tick.tradedAt(), quoteStreamProvider.providerName(), latest);
+            state.latest = aggregated;
+            state.lastTickAt = clock.instant();
+            state.dirty = true;
+        }
+        stockMetricsRecorder.recordQuoteStreamEvent("tick");
+        if (priceChanged) {
+            enqueueLiquidation(aggregated);
+        }
+    }
+
+    void flush() {
+        long nowNanos = System.nanoTime();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(writeIntervalMillis());
+        states.forEach((symbol, state) -> {
+            StockQuote quote;
+            synchronized (state) {
+                if (!state.dirty || state.latest == null || nowNanos - state.lastWriteNanos < intervalNanos) {
+                    return;
+                }
+                quote = state.latest;
+                state.dirty = false;
+                state.lastWriteNanos = nowNanos;
+            }
+            try {
+                quoteRepository.save(quote, stockQuoteProperties.getCacheTtl());
+                stockMetricsRecorder.recordQuoteStreamEvent("cache_write");
+            } catch (Exception exception) {
+                log.warn("failed to write streamed stock quote market={} symbol={}", quote.market(), quote.symbol(), exception);
+            }
+        });
+    }
+
+    private void enqueueLiquidation(StockQuote quote) {
+        if (pendingLiquidations.put(quote.symbol(), quote) != null) {
+            return;
+        }
+        try {
+            liquidationLane.execute(() -> liquidate(quote.symbol()));
+        } catch (RuntimeException exception) {
+            pendingLiquidations.remove(quote.symbol());
+        }
+    }
+
+    private void liquidate(String symbol) {
+        StockQuote quote = pendingLiquidations.remove(symbol);
+        if (quote == null) {
+            return;
+        }
+        try {
+            LiquidationBatchResult result = autoLiquidationService.liquidateExhaustedPositions(quote);
+            if (result.liquidatedCount() > 0 || result.failureCount() > 0) {
+                log.info(
+                        "processed streamed stock liquidation scan symbol={} quotePrice={} liquidatedCount={} failureCount={}",
+                        result.symbol(),
+                        quote.price(),
+                        result.liquidatedCount(),
+                        result.failureCount()
+                );
+            }
+        } catch (Exception exception) {
+            log.warn("failed to run streamed stock liquidation scan market={} symbol={}", quote.market(), symbol, exception);
+        }
+    }
+
+    private StockQuote withPrice(StockQuote base, BigDecimal price, Instant quotedAt, String provider, StockQuote range) {
+        BigDecimal previousClose = base.previousClose();
+        BigDecimal changeAmount = null;
+        BigDecimal changeRate = null;
+        if (previousClose != null && previousClose.signum() > 0) {
+            changeAmount = price.subtract(previousClose);
+            changeRate = changeAmount.multiply(BigDecimal.valueOf(100)).divide(previousClose, 4, RoundingMode.HALF_UP);
+        }
+        return new StockQuote(
+                base.market(),
+                base.symbol(),
+                price,
+                quotedAt,
+                provider,
+                changeAmount,
+                changeRate,
+                max(max(base.high(), range.high()), price),
+                min(min(base.low(), range.low()), price),
+                base.open(),
+                previousClose
+        );
+    }
+
+    private long writeIntervalMillis() {
+        return Duration.ofSeconds(1).toMillis() / Math.max(1, quoteStreamProperties.getWritesPerSecond());
+    }
+
+    private BigDecimal max(BigDecimal left, BigDecimal right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null ? left : left.max(right);
+    }
+
+    private BigDecimal min(BigDecimal left, BigDecimal right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null ? left : left.min(right);
+    }
+
+    private static final class SymbolState {
+        private StockQuote latest;
+        private Instant lastTickAt;
+        private Instant lastRestAt;
+        private long lastWriteNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+        private boolean dirty;
+    }
+}
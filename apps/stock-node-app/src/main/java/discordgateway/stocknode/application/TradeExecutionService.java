@@ -35,6 +35,7 @@ public class TradeExecutionService {
     private final RankingCacheRepository rankingCacheRepository;
     private final StockQuoteProperties stockQuoteProperties;
     private final StockMetricsRecorder stockMetricsRecorder;
+    private final LiquidationPriceIndex liquidationPriceIndex;
     private final Clock clock;
 
     public TradeExecutionService(
@@ -47,6 +48,7 @@ public class TradeExecutionService {
             RankingCacheRepository rankingCacheRepository,
             StockQuoteProperties stockQuoteProperties,
             StockMetricsRecorder stockMetricsRecorder,
+            LiquidationPriceIndex liquidationPriceIndex,
             Clock clock
     ) {
         this.dailyAllowanceService = dailyAllowanceService;
@@ -58,6 +60,7 @@ public class TradeExecutionService {
         this.rankingCacheRepository = rankingCacheRepository;
         this.stockQuoteProperties = stockQuoteProperties;
         this.stockMetricsRecorder = stockMetricsRecorder;
+        this.liquidationPriceIndex = liquidationPriceIndex;
         this.clock = clock;
     }
 
@@ -102,6 +105,7 @@ public class TradeExecutionService {
 
         stockAccountRepository.save(account);
         stockPositionRepository.save(position);
+        liquidationPriceIndex.onPositionChanged(position);
         tradeLedgerRepository.save(
                 TradeLedgerEntity.create(
                         account,
@@ -180,6 +184,7 @@ public class TradeExecutionService {
         } else {
             stockPositionRepository.save(position);
         }
+        liquidationPriceIndex.onPositionChanged(position);
         tradeLedgerRepository.save(
                 TradeLedgerEntity.create(
                         account,
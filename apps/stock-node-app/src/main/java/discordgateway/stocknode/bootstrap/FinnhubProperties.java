@@ -7,6 +7,7 @@ public class FinnhubProperties {
 
     private String baseUrl = "https://finnhub.io/api/v1";
     private String apiKey = "";
+    private int maxConcurrentRequests = 4;
 
     public String getBaseUrl() {
         return baseUrl;
@@ -23,4 +24,12 @@ public class FinnhubProperties {
     public void setApiKey(String apiKey) {
         this.apiKey = apiKey;
     }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
@@ -0,0 +1,82 @@
+package discordgateway.stocknode.bootstrap;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "stock.quote-stream")
+public class QuoteStreamProperties {
+
+    private boolean enabled = false;
+    private String url = "wss://ws.finnhub.io";
+    private int writesPerSecond = 2;
+    private Duration staleAfter = Duration.ofSeconds(15);
+    private Duration restReconcileInterval = Duration.ofMinutes(5);
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+    private Duration maxReconnectDelay = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public int getWritesPerSecond() {
+        return writesPerSecond;
+    }
+
+    public void setWritesPerSecond(int writesPerSecond) {
+        this.writesPerSecond = writesPerSecond;
+    }
+
+    public Duration getStaleAfter() {
+        return staleAfter;
+    }
+
+    public void setStaleAfter(Duration staleAfter) {
+        this.staleAfter = staleAfter;
+    }
+
+    public Duration getRestReconcileInterval() {
+        return restReconcileInterval;
+    }
+
+    public void setRestReconcileInterval(Duration restReconcileInterval) {
+        this.restReconcileInterval = restReconcileInterval;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public Duration getMaxReconnectDelay() {
+        return maxReconnectDelay;
+    }
+
+    public void setMaxReconnectDelay(Duration maxReconnectDelay) {
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+}
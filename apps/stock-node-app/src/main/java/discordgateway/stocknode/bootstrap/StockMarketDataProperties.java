@@ -9,6 +9,9 @@ public class StockMarketDataProperties {
     private String market = "US";
     private long refreshFixedDelayMs = 20_000L;
     private int topRankLimit = 10;
+    private int refreshConcurrency = 4;
+    private int refreshBatchSize = 50;
+    private long liquidationIndexReconcileDelayMs = 300_000L;
 
     public boolean isEnabled() {
         return enabled;
@@ -41,4 +44,28 @@ public class StockMarketDataProperties {
     public void setTopRankLimit(int topRankLimit) {
         this.topRankLimit = topRankLimit;
     }
+
+    public int getRefreshConcurrency() {
+        return refreshConcurrency;
+    }
+
+    public void setRefreshConcurrency(int refreshConcurrency) {
+        this.refreshConcurrency = refreshConcurrency;
+    }
+
+    public int getRefreshBatchSize() {
+        return refreshBatchSize;
+    }
+
+    public void setRefreshBatchSize(int refreshBatchSize) {
+        this.refreshBatchSize = refreshBatchSize;
+    }
+
+    public long getLiquidationIndexReconcileDelayMs() {
+        return liquidationIndexReconcileDelayMs;
+    }
+
+    public void setLiquidationIndexReconcileDelayMs(long liquidationIndexReconcileDelayMs) {
+        this.liquidationIndexReconcileDelayMs = liquidationIndexReconcileDelayMs;
+    }
 }
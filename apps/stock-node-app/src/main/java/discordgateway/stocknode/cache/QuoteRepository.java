@@ -3,6 +3,7 @@ package discordgateway.stocknode.cache;
 import discordgateway.stocknode.quote.model.StockQuote;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface QuoteRepository {
@@ -10,4 +11,10 @@ public interface QuoteRepository {
     Optional<StockQuote> find(String market, String symbol);
 
     void save(StockQuote quote, Duration ttl);
+
+    default void saveAll(Collection<StockQuote> quotes, Duration ttl) {
+        for (StockQuote quote : quotes) {
+            save(quote, ttl);
+        }
+    }
 }
@@ -3,9 +3,16 @@ package discordgateway.stocknode.cache;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import discordgateway.stocknode.quote.model.StockQuote;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public class RedisQuoteRepository implements QuoteRepository {
@@ -41,9 +48,34 @@ public class RedisQuoteRepository implements QuoteRepository {
     @Override
     public void save(StockQuote quote, Duration ttl) {
         String key = stockRedisKeyFactory.quoteKey(quote.market(), quote.symbol());
+        stringRedisTemplate.opsForValue().set(key, serialize(key, quote), ttl);
+    }
+
+    /**
+     * Writes every quote with its own {@code SET EX} in a single pipelined round trip.
+     */
+    @Override
+    public void saveAll(Collection<StockQuote> quotes, Duration ttl) {
+        if (quotes.isEmpty()) {
+            return;
+        }
+        Map<String, String> payloads = new LinkedHashMap<>();
+        for (StockQuote quote : quotes) {
+            String key = stockRedisKeyFactory.quoteKey(quote.market(), quote.symbol());
+            payloads.put(key, serialize(key, quote));
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            payloads.forEach((key, payload) ->
+                    stringConnection.set(key, payload, Expiration.from(ttl), RedisStringCommands.SetOption.upsert())
+            );
+            return null;
+        });
+    }
+
+    private String serialize(String key, StockQuote quote) {
         try {
-            String payload = objectMapper.writeValueAsString(quote);
-            stringRedisTemplate.opsForValue().set(key, payload, ttl);
+            return objectMapper.writeValueAsString(quote);
         } catch (JsonProcessingException exception) {
             throw new IllegalStateException("Failed to serialize quote for cache: " + key, exception);
         }
@@ -6,9 +6,12 @@ import discordgateway.stocknode.application.AutoLiquidationService;
 import discordgateway.stocknode.application.BalanceQueryService;
 import discordgateway.stocknode.application.DailyAllowanceService;
 import discordgateway.stocknode.application.FinnhubTop10RefreshScheduler;
+import discordgateway.stocknode.application.LiquidationPriceIndex;
+import discordgateway.stocknode.application.LiquidationPriceIndexReconciler;
 import discordgateway.stocknode.application.MonthlySeasonScheduler;
 import discordgateway.stocknode.application.PortfolioQueryService;
 import discordgateway.stocknode.application.PortfolioService;
+import discordgateway.stocknode.application.QuoteStreamIngestionService;
 import discordgateway.stocknode.application.RankingService;
 import discordgateway.stocknode.application.SnapshotScheduler;
 import discordgateway.stocknode.application.SnapshotService;
@@ -21,6 +24,7 @@ import discordgateway.stocknode.application.StockWatchlistService;
 import discordgateway.stocknode.application.TradeExecutionService;
 import discordgateway.stocknode.application.TradeHistoryQueryService;
 import discordgateway.stocknode.bootstrap.FinnhubProperties;
+import discordgateway.stocknode.bootstrap.QuoteStreamProperties;
 import discordgateway.stocknode.bootstrap.StockMarketDataProperties;
 import discordgateway.stocknode.bootstrap.StockNodeStorageProperties;
 import discordgateway.stocknode.bootstrap.StockQuoteProperties;
@@ -48,6 +52,8 @@ import discordgateway.stocknode.quote.service.MarketQuoteRefreshService;
 import discordgateway.stocknode.quote.service.ProviderRateLimitService;
 import discordgateway.stocknode.quote.service.ProviderRateLimiter;
 import discordgateway.stocknode.quote.service.QuoteService;
+import discordgateway.stocknode.quote.stream.FinnhubTradeStreamProvider;
+import discordgateway.stocknode.quote.stream.QuoteStreamProvider;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -66,7 +72,8 @@ import java.time.Clock;
         StockNodeStorageProperties.class,
         StockQuoteProperties.class,
         StockMarketDataProperties.class,
-        FinnhubProperties.class
+        FinnhubProperties.class,
+        QuoteStreamProperties.class
 })
 public class StockNodeComponentConfiguration {
 
@@ -220,6 +227,40 @@ public class StockNodeComponentConfiguration {
         };
     }
 
+    @Bean
+    public QuoteStreamProvider quoteStreamProvider(
+            ObjectMapper objectMapper,
+            QuoteStreamProperties quoteStreamProperties,
+            FinnhubProperties finnhubProperties
+    ) {
+        return new FinnhubTradeStreamProvider(objectMapper, quoteStreamProperties, finnhubProperties);
+    }
+
+    @Bean
+    public QuoteStreamIngestionService quoteStreamIngestionService(
+            QuoteStreamProvider quoteStreamProvider,
+            QuoteRepository quoteRepository,
+            AutoLiquidationService autoLiquidationService,
+            StockWatchlistService stockWatchlistService,
+            StockMetricsRecorder stockMetricsRecorder,
+            StockMarketDataProperties stockMarketDataProperties,
+            StockQuoteProperties stockQuoteProperties,
+            QuoteStreamProperties quoteStreamProperties,
+            Clock stockClock
+    ) {
+        return new QuoteStreamIngestionService(
+                quoteStreamProvider,
+                quoteRepository,
+                autoLiquidationService,
+                stockWatchlistService,
+                stockMetricsRecorder,
+                stockMarketDataProperties,
+                stockQuoteProperties,
+                quoteStreamProperties,
+                stockClock
+        );
+    }
+
     @Bean
     public QuoteService quoteService(
             QuoteRepository quoteRepository,
@@ -282,6 +323,7 @@ public class StockNodeComponentConfiguration {
             RankingCacheRepository rankingCacheRepository,
             StockQuoteProperties stockQuoteProperties,
             StockMetricsRecorder stockMetricsRecorder,
+            LiquidationPriceIndex liquidationPriceIndex,
             Clock stockClock
     ) {
         return new TradeExecutionService(
@@ -294,16 +336,32 @@ public class StockNodeComponentConfiguration {
                 rankingCacheRepository,
                 stockQuoteProperties,
                 stockMetricsRecorder,
+                liquidationPriceIndex,
                 stockClock
         );
     }
 
+    @Bean
+    public LiquidationPriceIndex liquidationPriceIndex() {
+        return new LiquidationPriceIndex();
+    }
+
+    @Bean
+    public LiquidationPriceIndexReconciler liquidationPriceIndexReconciler(
+            StockPositionRepository stockPositionRepository,
+            LiquidationPriceIndex liquidationPriceIndex,
+            StockMetricsRecorder stockMetricsRecorder
+    ) {
+        return new LiquidationPriceIndexReconciler(stockPositionRepository, liquidationPriceIndex, stockMetricsRecorder);
+    }
+
     @Bean
     public AutoLiquidationService autoLiquidationService(
             StockPositionRepository stockPositionRepository,
             TradeLedgerRepository tradeLedgerRepository,
             RankingCacheRepository rankingCacheRepository,
             StockMetricsRecorder stockMetricsRecorder,
+            LiquidationPriceIndex liquidationPriceIndex,
             Clock stockClock,
             PlatformTransactionManager transactionManager
     ) {
@@ -312,6 +370,7 @@ public class StockNodeComponentConfiguration {
                 tradeLedgerRepository,
                 rankingCacheRepository,
                 stockMetricsRecorder,
+                liquidationPriceIndex,
                 stockClock,
                 new TransactionTemplate(transactionManager)
         );
@@ -389,7 +448,9 @@ public class StockNodeComponentConfiguration {
             StockWatchlistService stockWatchlistService,
             MarketQuoteRefreshService marketQuoteRefreshService,
             AutoLiquidationService autoLiquidationService,
+            QuoteStreamIngestionService quoteStreamIngestionService,
             StockQuoteCacheMetricsService stockQuoteCacheMetricsService,
+            StockMetricsRecorder stockMetricsRecorder,
             StockMarketDataProperties stockMarketDataProperties,
             StockQuoteProperties stockQuoteProperties,
             Clock stockClock
@@ -398,7 +459,9 @@ public class StockNodeComponentConfiguration {
                 stockWatchlistService,
                 marketQuoteRefreshService,
                 autoLiquidationService,
+                quoteStreamIngestionService,
                 stockQuoteCacheMetricsService,
+                stockMetricsRecorder,
                 stockMarketDataProperties,
                 stockQuoteProperties,
                 stockClock
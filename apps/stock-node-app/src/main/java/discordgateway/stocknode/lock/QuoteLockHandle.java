@@ -1,7 +1,17 @@
 package discordgateway.stocknode.lock;
 
+import java.util.List;
+
 public record QuoteLockHandle(
-        String key,
+        List<String> keys,
         String ownerToken
 ) {
+
+    public QuoteLockHandle {
+        keys = List.copyOf(keys);
+    }
+
+    public QuoteLockHandle(String key, String ownerToken) {
+        this(List.of(key), ownerToken);
+    }
 }
@@ -1,10 +1,19 @@
 package discordgateway.stocknode.lock;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface QuoteLockService {
 
     Optional<QuoteLockHandle> tryAcquire(String market, String symbol);
 
+    /**
+     * Acquires the per-symbol lock of every symbol in the batch, all or nothing, so a batch refresh excludes
+     * single-symbol refreshes and any other batch sharing a symbol. The locks expire after {@code lockTtl}, which
+     * must cover the whole batch fetch.
+     */
+    Optional<QuoteLockHandle> tryAcquireBatch(String market, Collection<String> symbols, Duration lockTtl);
+
     void release(QuoteLockHandle quoteLockHandle);
 }
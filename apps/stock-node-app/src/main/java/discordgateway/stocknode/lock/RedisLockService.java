@@ -2,13 +2,29 @@ package discordgateway.stocknode.lock;
 
 import discordgateway.stocknode.cache.StockRedisKeyFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public class RedisLockService implements QuoteLockService {
 
+    private static final RedisScript<Long> ACQUIRE_ALL_SCRIPT = new DefaultRedisScript<>("""
+            for _, key in ipairs(KEYS) do
+                if redis.call('EXISTS', key) == 1 then
+                    return 0
+                end
+            end
+            for _, key in ipairs(KEYS) do
+                redis.call('SET', key, ARGV[1], 'PX', ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
     private final StringRedisTemplate stringRedisTemplate;
     private final StockRedisKeyFactory stockRedisKeyFactory;
     private final Duration lockTtl;
@@ -25,20 +41,49 @@ public class RedisLockService implements QuoteLockService {
 
     @Override
     public Optional<QuoteLockHandle> tryAcquire(String market, String symbol) {
-        String key = stockRedisKeyFactory.quoteLockKey(market, symbol);
+        return acquire(stockRedisKeyFactory.quoteLockKey(market, symbol));
+    }
+
+    @Override
+    public Optional<QuoteLockHandle> tryAcquireBatch(String market, Collection<String> symbols, Duration lockTtl) {
+        List<String> keys = symbols.stream()
+                .map(symbol -> stockRedisKeyFactory.quoteLockKey(market, symbol))
+                .distinct()
+                .sorted()
+                .toList();
+        if (keys.isEmpty()) {
+            return Optional.empty();
+        }
+
         String ownerToken = UUID.randomUUID().toString();
-        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(key, ownerToken, lockTtl);
-        if (!Boolean.TRUE.equals(locked)) {
+        Long locked = stringRedisTemplate.execute(
+                ACQUIRE_ALL_SCRIPT,
+                keys,
+                ownerToken,
+                Long.toString(Math.max(1L, lockTtl.toMillis()))
+        );
+        if (locked == null || locked != 1L) {
             return Optional.empty();
         }
-        return Optional.of(new QuoteLockHandle(key, ownerToken));
+        return Optional.of(new QuoteLockHandle(keys, ownerToken));
     }
 
     @Override
     public void release(QuoteLockHandle quoteLockHandle) {
-        String currentOwner = stringRedisTemplate.opsForValue().get(quoteLockHandle.key());
-        if (quoteLockHandle.ownerToken().equals(currentOwner)) {
-            stringRedisTemplate.delete(quoteLockHandle.key());
+        for (String key : quoteLockHandle.keys()) {
+            String currentOwner = stringRedisTemplate.opsForValue().get(key);
+            if (quoteLockHandle.ownerToken().equals(currentOwner)) {
+                stringRedisTemplate.delete(key);
+            }
         }
     }
+
+    private Optional<QuoteLockHandle> acquire(String key) {
+        String ownerToken = UUID.randomUUID().toString();
+        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(key, ownerToken, lockTtl);
+        if (!Boolean.TRUE.equals(locked)) {
+            return Optional.empty();
+        }
+        return Optional.of(new QuoteLockHandle(key, ownerToken));
+    }
 }
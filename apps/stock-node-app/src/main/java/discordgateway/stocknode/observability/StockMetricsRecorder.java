@@ -86,6 +86,34 @@ public class StockMetricsRecorder {
                 .increment(count);
     }
 
+    public void recordLiquidationIndexDrift(int count) {
+        Counter.builder("stock.liquidation.index.drift")
+                .register(meterRegistry)
+                .increment(Math.max(count, 0));
+    }
+
+    public void recordQuoteStreamEvent(String event) {
+        Counter.builder("stock.quote.stream.events")
+                .tag("event", normalizeTag(event))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordWatchlistRefreshRun(String market, Duration duration) {
+        Timer.builder("stock.watchlist.refresh.duration")
+                .tag("market", normalizeTag(market))
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public void recordWatchlistRefreshStage(String stage, String result, Duration duration) {
+        Timer.builder("stock.watchlist.refresh.stage")
+                .tag("stage", normalizeTag(stage))
+                .tag("result", normalizeTag(result))
+                .register(meterRegistry)
+                .record(duration);
+    }
+
     public void recordQuoteCacheState(String market, int expectedCount, int readyCount, int staleCount, long oldestAgeSeconds) {
         String normalizedMarket = normalizeTag(market);
         updateGauge("stock.quote.cache.expected", normalizedMarket, Math.max(expectedCount, 0));
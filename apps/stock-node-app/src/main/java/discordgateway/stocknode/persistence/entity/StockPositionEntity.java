@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,7 +23,8 @@ import java.util.Objects;
         uniqueConstraints = @UniqueConstraint(
                 name = "uk_stock_position_account_symbol",
                 columnNames = {"account_id", "symbol"}
-        )
+        ),
+        indexes = @Index(name = "idx_stock_position_symbol", columnList = "symbol")
 )
 public class StockPositionEntity extends BaseTimeEntity {
 
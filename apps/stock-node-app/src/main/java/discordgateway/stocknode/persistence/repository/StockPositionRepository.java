@@ -1,8 +1,14 @@
 package discordgateway.stocknode.persistence.repository;
 
 import discordgateway.stocknode.persistence.entity.StockPositionEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +18,40 @@ public interface StockPositionRepository extends JpaRepository<StockPositionEnti
 
     List<StockPositionEntity> findAllByAccountIdOrderBySymbolAsc(Long accountId);
 
-    List<StockPositionEntity> findAllBySymbolOrderByIdAsc(String symbol);
+    List<StockPositionEntity> findAllByQuantityGreaterThan(BigDecimal quantity);
+
+    /**
+     * Locks the positions of a symbol whose isolated equity at {@code price} is zero or below.
+     * The unrealized profit is rounded to cash scale before the comparison, like the trade path does.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select p from StockPositionEntity p
+            join fetch p.account
+            where p.symbol = :symbol
+              and p.quantity > 0
+              and p.marginAmount + round((:price - p.averageCost) * p.quantity, 4) <= 0
+            order by p.id
+            """)
+    List<StockPositionEntity> lockExhaustedPositions(String symbol, BigDecimal price);
+
+    /**
+     * Same predicate as {@link #lockExhaustedPositions(String, BigDecimal)}, limited to the candidates
+     * the in-memory liquidation index reported as crossed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select p from StockPositionEntity p
+            join fetch p.account
+            where p.id in :positionIds
+              and p.symbol = :symbol
+              and p.quantity > 0
+              and p.marginAmount + round((:price - p.averageCost) * p.quantity, 4) <= 0
+            order by p.id
+            """)
+    List<StockPositionEntity> lockExhaustedPositionsByIdIn(Collection<Long> positionIds, String symbol, BigDecimal price);
+
+    @Modifying
+    @Query("delete from StockPositionEntity p where p.id in :positionIds")
+    int deleteAllByIdIn(Collection<Long> positionIds);
 }
@@ -2,8 +2,13 @@ package discordgateway.stocknode.persistence.repository;
 
 import discordgateway.stocknode.persistence.entity.TradeLedgerEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface TradeLedgerRepository extends JpaRepository<TradeLedgerEntity, Long> {
@@ -11,4 +16,22 @@ public interface TradeLedgerRepository extends JpaRepository<TradeLedgerEntity,
     List<TradeLedgerEntity> findAllByAccountIdOrderByOccurredAtDesc(Long accountId);
 
     List<TradeLedgerEntity> findAllByAccountIdOrderByOccurredAtDesc(Long accountId, Pageable pageable);
+
+    /**
+     * Writes one full-quantity ledger row per position in a single statement, copying quantity,
+     * leverage, margin and notional from the position rows before they are deleted.
+     */
+    @Modifying
+    @Query(value = """
+            insert into trade_ledger (
+                account_id, symbol, side, quantity, unit_price, leverage,
+                margin_amount, notional_amount, occurred_at, created_at, updated_at
+            )
+            select p.account_id, p.symbol, :side, p.quantity, :unitPrice, p.leverage,
+                   p.margin_amount, p.notional_amount, :occurredAt, :occurredAt, :occurredAt
+            from stock_position p
+            where p.id in (:positionIds)
+            order by p.id
+            """, nativeQuery = true)
+    int insertClosingTrades(Collection<Long> positionIds, String side, BigDecimal unitPrice, Instant occurredAt);
 }
@@ -4,6 +4,10 @@ import discordgateway.stocknode.quote.model.StockQuote;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class FallbackQuoteProvider implements QuoteProvider {
 
     private static final Logger log = LoggerFactory.getLogger(FallbackQuoteProvider.class);
@@ -45,4 +49,33 @@ public class FallbackQuoteProvider implements QuoteProvider {
             return fallback.fetchQuote(market, symbol);
         }
     }
+
+    @Override
+    public QuoteBatch fetchQuotes(String market, List<String> symbols) {
+        QuoteBatch primaryBatch = primary.fetchQuotes(market, symbols);
+        if (!fallbackEnabled || primaryBatch.failures().isEmpty()) {
+            return primaryBatch;
+        }
+        log.atWarn()
+                .addKeyValue("market", market)
+                .addKeyValue("failedSymbols", primaryBatch.failures().keySet())
+                .addKeyValue("primaryProvider", primary.providerName())
+                .addKeyValue("fallbackProvider", fallback.providerName())
+                .log("primary quote provider failed part of a batch; falling back");
+        QuoteBatch fallbackBatch = fallback.fetchQuotes(market, List.copyOf(primaryBatch.failures().keySet()));
+        Map<String, StockQuote> quotes = new LinkedHashMap<>(primaryBatch.quotes());
+        quotes.putAll(fallbackBatch.quotes());
+        return new QuoteBatch(quotes, fallbackBatch.failures());
+    }
+
+    @Override
+    public int requestCost(int symbolCount) {
+        return primary.requestCost(symbolCount);
+    }
+
+    @Override
+    public int sequentialRequests(int symbolCount) {
+        int primaryRequests = primary.sequentialRequests(symbolCount);
+        return fallbackEnabled ? primaryRequests + fallback.sequentialRequests(symbolCount) : primaryRequests;
+    }
 }
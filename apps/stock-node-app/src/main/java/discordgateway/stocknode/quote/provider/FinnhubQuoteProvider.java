@@ -7,6 +7,14 @@ import discordgateway.stocknode.quote.finnhub.FinnhubClient;
 import discordgateway.stocknode.quote.finnhub.FinnhubQuoteMapper;
 import discordgateway.stocknode.quote.model.StockQuote;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
 public class FinnhubQuoteProvider implements QuoteProvider {
 
     private final FinnhubClient finnhubClient;
@@ -44,4 +52,47 @@ public class FinnhubQuoteProvider implements QuoteProvider {
                 finnhubClient.fetchQuote(symbol)
         );
     }
+
+    @Override
+    public int sequentialRequests(int symbolCount) {
+        int concurrency = Math.max(1, finnhubProperties.getMaxConcurrentRequests());
+        return (symbolCount + concurrency - 1) / concurrency;
+    }
+
+    /**
+     * Finnhub's {@code /quote} endpoint takes one symbol per call, so a batch fans out over virtual threads,
+     * at most {@code stock.finnhub.max-concurrent-requests} calls in flight, and keeps one request per symbol.
+     */
+    @Override
+    public QuoteBatch fetchQuotes(String market, List<String> symbols) {
+        Semaphore inFlight = new Semaphore(Math.max(1, finnhubProperties.getMaxConcurrentRequests()));
+        Map<String, Future<StockQuote>> pending = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String symbol : symbols) {
+                String normalizedSymbol = StockQuote.normalizeSymbol(symbol);
+                pending.put(normalizedSymbol, executor.submit(() -> {
+                    inFlight.acquire();
+                    try {
+                        return fetchQuote(market, normalizedSymbol);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+        }
+
+        Map<String, StockQuote> quotes = new LinkedHashMap<>();
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        pending.forEach((symbol, future) -> {
+            if (future.state() == Future.State.SUCCESS) {
+                quotes.put(symbol, future.resultNow());
+                return;
+            }
+            Throwable cause = future.exceptionNow();
+            failures.put(symbol, cause instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException("Finnhub quote request failed for " + symbol, cause));
+        });
+        return new QuoteBatch(quotes, failures);
+    }
 }
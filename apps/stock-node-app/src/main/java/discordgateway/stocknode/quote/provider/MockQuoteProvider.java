@@ -4,6 +4,9 @@ import discordgateway.stocknode.quote.model.StockQuote;
 
 import java.math.BigDecimal;
 import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -24,6 +27,33 @@ public class MockQuoteProvider implements QuoteProvider {
     @Override
     public StockQuote fetchQuote(String market, String symbol) {
         invocationCount.incrementAndGet();
+        return quote(market, symbol);
+    }
+
+    /**
+     * Answers the whole batch in one simulated call, like a provider with a multi-symbol endpoint.
+     */
+    @Override
+    public QuoteBatch fetchQuotes(String market, List<String> symbols) {
+        invocationCount.incrementAndGet();
+        Map<String, StockQuote> quotes = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            StockQuote quote = quote(market, symbol);
+            quotes.put(quote.symbol(), quote);
+        }
+        return new QuoteBatch(quotes, Map.of());
+    }
+
+    @Override
+    public int requestCost(int symbolCount) {
+        return symbolCount == 0 ? 0 : 1;
+    }
+
+    public int invocationCount() {
+        return invocationCount.get();
+    }
+
+    private StockQuote quote(String market, String symbol) {
         long normalizedHash = Math.floorMod(
                 Objects.hash(
                         StockQuote.normalizeMarket(market),
@@ -46,8 +76,4 @@ public class MockQuoteProvider implements QuoteProvider {
                 price
         );
     }
-
-    public int invocationCount() {
-        return invocationCount.get();
-    }
 }
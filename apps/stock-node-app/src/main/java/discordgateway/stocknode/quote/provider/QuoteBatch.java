@@ -0,0 +1,19 @@
+package discordgateway.stocknode.quote.provider;
+
+import discordgateway.stocknode.quote.model.StockQuote;
+
+import java.util.Map;
+
+/**
+ * Outcome of {@link QuoteProvider#fetchQuotes}, keyed by normalized symbol. A symbol appears in exactly one map.
+ */
+public record QuoteBatch(
+        Map<String, StockQuote> quotes,
+        Map<String, RuntimeException> failures
+) {
+
+    public QuoteBatch {
+        quotes = Map.copyOf(quotes);
+        failures = Map.copyOf(failures);
+    }
+}
@@ -2,9 +2,46 @@ package discordgateway.stocknode.quote.provider;
 
 import discordgateway.stocknode.quote.model.StockQuote;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public interface QuoteProvider {
 
     String providerName();
 
     StockQuote fetchQuote(String market, String symbol);
+
+    /**
+     * Fetches several symbols of one market. The default makes one {@link #fetchQuote} call per symbol;
+     * providers whose API accepts a symbol list override it together with {@link #requestCost(int)}.
+     */
+    default QuoteBatch fetchQuotes(String market, List<String> symbols) {
+        Map<String, StockQuote> quotes = new LinkedHashMap<>();
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            String normalizedSymbol = StockQuote.normalizeSymbol(symbol);
+            try {
+                quotes.put(normalizedSymbol, fetchQuote(market, normalizedSymbol));
+            } catch (RuntimeException exception) {
+                failures.put(normalizedSymbol, exception);
+            }
+        }
+        return new QuoteBatch(quotes, failures);
+    }
+
+    /**
+     * Provider requests, and therefore rate-limit tokens, that {@link #fetchQuotes} spends on {@code symbolCount} symbols.
+     */
+    default int requestCost(int symbolCount) {
+        return symbolCount;
+    }
+
+    /**
+     * Provider calls {@link #fetchQuotes} makes one after another for {@code symbolCount} symbols, which bounds how
+     * long a batch can take.
+     */
+    default int sequentialRequests(int symbolCount) {
+        return requestCost(symbolCount);
+    }
 }
@@ -6,10 +6,14 @@ import discordgateway.stocknode.lock.QuoteLockHandle;
 import discordgateway.stocknode.lock.QuoteLockService;
 import discordgateway.stocknode.observability.StockMetricsRecorder;
 import discordgateway.stocknode.quote.model.StockQuote;
+import discordgateway.stocknode.quote.provider.QuoteBatch;
 import discordgateway.stocknode.quote.provider.QuoteProvider;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class MarketQuoteRefreshService {
@@ -57,7 +61,7 @@ public class MarketQuoteRefreshService {
                         symbol,
                         "rate_limit"
                 );
-                throw new IllegalStateException("Provider rate limit exceeded for " + quoteProvider.providerName());
+                throw new ProviderRateLimitExceededException(quoteProvider.providerName());
             }
             StockQuote refreshedQuote = quoteProvider.fetchQuote(market, symbol);
             quoteRepository.save(refreshedQuote, stockQuoteProperties.getCacheTtl());
@@ -68,8 +72,7 @@ public class MarketQuoteRefreshService {
             );
             return refreshedQuote;
         } catch (RuntimeException exception) {
-            String message = exception.getMessage();
-            if (message == null || !message.startsWith("Provider rate limit exceeded")) {
+            if (!(exception instanceof ProviderRateLimitExceededException)) {
                 stockMetricsRecorder.recordQuoteRefreshFailure(
                         quoteProvider.providerName(),
                         market,
@@ -82,4 +85,106 @@ public class MarketQuoteRefreshService {
             lockHandle.ifPresent(quoteLockService::release);
         }
     }
+
+    /**
+     * Refreshes a batch of symbols under their per-symbol locks, taken together in one round trip, and one
+     * rate-limit reservation, then writes every fetched quote to the cache in a single round trip. If any symbol
+     * is already being refreshed, nothing is fetched: cached quotes come back in
+     * {@link QuoteBatchRefreshResult#cached()} and symbols without one as failed. Symbols the remaining budget cannot cover come back as
+     * {@link QuoteBatchRefreshResult#rateLimited()} without reaching the provider.
+     */
+    public QuoteBatchRefreshResult refreshQuotes(String market, List<String> symbols) {
+        List<String> normalizedSymbols = symbols.stream()
+                .map(StockQuote::normalizeSymbol)
+                .distinct()
+                .toList();
+        if (normalizedSymbols.isEmpty()) {
+            return new QuoteBatchRefreshResult(List.of(), List.of(), List.of());
+        }
+
+        Instant now = clock.instant();
+        Optional<QuoteLockHandle> lockHandle = quoteLockService.tryAcquireBatch(
+                market,
+                normalizedSymbols,
+                batchLockTtl(normalizedSymbols.size())
+        );
+        if (lockHandle.isEmpty()) {
+            List<StockQuote> cachedQuotes = new ArrayList<>();
+            List<String> missingSymbols = new ArrayList<>();
+            for (String symbol : normalizedSymbols) {
+                quoteRepository.find(market, symbol).ifPresentOrElse(cachedQuotes::add, () -> missingSymbols.add(symbol));
+            }
+            return new QuoteBatchRefreshResult(List.of(), missingSymbols, List.of(), cachedQuotes);
+        }
+
+        String providerName = quoteProvider.providerName();
+        List<String> fetchSymbols = List.of();
+        try {
+            int grantedPermits = providerRateLimiter.tryConsume(
+                    providerName,
+                    quoteProvider.requestCost(normalizedSymbols.size()),
+                    now
+            );
+            fetchSymbols = normalizedSymbols.subList(0, affordableSymbolCount(normalizedSymbols.size(), grantedPermits));
+            List<String> rateLimitedSymbols = normalizedSymbols.subList(fetchSymbols.size(), normalizedSymbols.size());
+            if (!rateLimitedSymbols.isEmpty()) {
+                stockMetricsRecorder.recordProviderRateLimitExceeded(providerName);
+                for (String symbol : rateLimitedSymbols) {
+                    stockMetricsRecorder.recordQuoteRefreshFailure(providerName, market, symbol, "rate_limit");
+                }
+            }
+            if (fetchSymbols.isEmpty()) {
+                return new QuoteBatchRefreshResult(List.of(), List.of(), rateLimitedSymbols);
+            }
+
+            QuoteBatch quoteBatch = quoteProvider.fetchQuotes(market, fetchSymbols);
+            quoteRepository.saveAll(quoteBatch.quotes().values(), stockQuoteProperties.getCacheTtl());
+            for (StockQuote refreshedQuote : quoteBatch.quotes().values()) {
+                stockMetricsRecorder.recordQuoteRefreshSuccess(providerName, refreshedQuote.market(), refreshedQuote.symbol());
+            }
+            List<String> failedSymbols = new ArrayList<>();
+            for (String symbol : fetchSymbols) {
+                if (quoteBatch.quotes().containsKey(symbol)) {
+                    continue;
+                }
+                RuntimeException failure = quoteBatch.failures().get(symbol);
+                stockMetricsRecorder.recordQuoteRefreshFailure(
+                        providerName,
+                        market,
+                        symbol,
+                        failure == null ? "missing" : failure.getClass().getSimpleName()
+                );
+                failedSymbols.add(symbol);
+            }
+            return new QuoteBatchRefreshResult(List.copyOf(quoteBatch.quotes().values()), failedSymbols, rateLimitedSymbols);
+        } catch (RuntimeException exception) {
+            for (String symbol : fetchSymbols) {
+                stockMetricsRecorder.recordQuoteRefreshFailure(
+                        providerName,
+                        market,
+                        symbol,
+                        exception.getClass().getSimpleName()
+                );
+            }
+            throw exception;
+        } finally {
+            lockHandle.ifPresent(quoteLockService::release);
+        }
+    }
+
+    /**
+     * {@code stock.quote.lock-ttl} covers one provider call; a batch holds its locks across every call the
+     * provider makes in sequence, so the TTL scales with that count.
+     */
+    private Duration batchLockTtl(int symbolCount) {
+        return stockQuoteProperties.getLockTtl().multipliedBy(Math.max(1, quoteProvider.sequentialRequests(symbolCount)));
+    }
+
+    private int affordableSymbolCount(int symbolCount, int grantedPermits) {
+        int affordable = symbolCount;
+        while (affordable > 0 && quoteProvider.requestCost(affordable) > grantedPermits) {
+            affordable--;
+        }
+        return affordable;
+    }
 }
@@ -0,0 +1,8 @@
+package discordgateway.stocknode.quote.service;
+
+public class ProviderRateLimitExceededException extends IllegalStateException {
+
+    public ProviderRateLimitExceededException(String provider) {
+        super("Provider rate limit exceeded for " + provider);
+    }
+}
@@ -39,6 +39,47 @@ public class ProviderRateLimitService implements ProviderRateLimiter {
                 && dayCount <= stockQuoteProperties.getProviderPerDayLimit();
     }
 
+    @Override
+    public int tryConsume(String provider, int permits, Instant now) {
+        if (permits <= 0) {
+            return 0;
+        }
+        String minuteKey = stockRedisKeyFactory.providerMinuteLimitKey(provider, now);
+        String dayKey = stockRedisKeyFactory.providerDayLimitKey(provider, now.atZone(ZoneOffset.UTC).toLocalDate());
+
+        long minuteCount = incrementWithTtl(minuteKey, permits, MINUTE_BUCKET_TTL);
+        long dayCount = incrementWithTtl(dayKey, permits, DAY_BUCKET_TTL);
+
+        int granted = (int) Math.min(
+                permits,
+                Math.min(
+                        remainingBefore(minuteCount, permits, stockQuoteProperties.getProviderPerMinuteLimit()),
+                        remainingBefore(dayCount, permits, stockQuoteProperties.getProviderPerDayLimit())
+                )
+        );
+        int refunded = permits - granted;
+        if (refunded > 0) {
+            stringRedisTemplate.opsForValue().decrement(minuteKey, refunded);
+            stringRedisTemplate.opsForValue().decrement(dayKey, refunded);
+        }
+        return granted;
+    }
+
+    private long remainingBefore(long updatedCount, int permits, long limit) {
+        return Math.max(0L, limit - (updatedCount - permits));
+    }
+
+    private long incrementWithTtl(String key, int delta, Duration ttl) {
+        Long updatedCount = stringRedisTemplate.opsForValue().increment(key, delta);
+        if (updatedCount == null) {
+            return Long.MAX_VALUE;
+        }
+        if (updatedCount == delta) {
+            stringRedisTemplate.expire(key, ttl);
+        }
+        return updatedCount;
+    }
+
     private long incrementWithTtl(String key, Duration ttl) {
         Long updatedCount = stringRedisTemplate.opsForValue().increment(key);
         if (updatedCount == null) {
@@ -5,4 +5,10 @@ import java.time.Instant;
 public interface ProviderRateLimiter {
 
     boolean tryConsume(String provider, Instant now);
+
+    /**
+     * Consumes up to {@code permits} provider calls at once and returns how many were granted; permits beyond the
+     * remaining minute or day budget are handed back.
+     */
+    int tryConsume(String provider, int permits, Instant now);
 }
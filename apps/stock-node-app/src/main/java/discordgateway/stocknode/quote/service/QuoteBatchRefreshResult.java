@@ -0,0 +1,26 @@
+package discordgateway.stocknode.quote.service;
+
+import discordgateway.stocknode.quote.model.StockQuote;
+
+import java.util.List;
+
+/**
+ * @param cached quotes answered from the cache because another refresh held their locks; not fetched by this call
+ */
+public record QuoteBatchRefreshResult(
+        List<StockQuote> refreshed,
+        List<String> failed,
+        List<String> rateLimited,
+        List<StockQuote> cached
+) {
+    public QuoteBatchRefreshResult {
+        refreshed = List.copyOf(refreshed);
+        failed = List.copyOf(failed);
+        rateLimited = List.copyOf(rateLimited);
+        cached = List.copyOf(cached);
+    }
+
+    public QuoteBatchRefreshResult(List<StockQuote> refreshed, List<String> failed, List<String> rateLimited) {
+        this(refreshed, failed, rateLimited, List.of());
+    }
+}
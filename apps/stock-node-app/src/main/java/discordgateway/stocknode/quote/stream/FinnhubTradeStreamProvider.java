@@ -0,0 +1,256 @@
+package discordgateway.stocknode.quote.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import discordgateway.stocknode.bootstrap.FinnhubProperties;
+import discordgateway.stocknode.bootstrap.QuoteStreamProperties;
+import discordgateway.stocknode.quote.model.StockQuote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finnhub trade stream ({@code wss://ws.finnhub.io?token=...}). Every trade print is delivered as a
+ * {@link QuoteTick}; reconnects back off exponentially up to {@code stock.quote-stream.max-reconnect-delay}.
+ */
+public class FinnhubTradeStreamProvider implements QuoteStreamProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(FinnhubTradeStreamProvider.class);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final QuoteStreamProperties quoteStreamProperties;
+    private final FinnhubProperties finnhubProperties;
+    private final Set<String> symbols = ConcurrentHashMap.newKeySet();
+    private final Object sendLock = new Object();
+
+    private volatile QuoteTickListener listener;
+    private volatile WebSocket webSocket;
+    private volatile boolean running;
+    private volatile ScheduledExecutorService reconnectScheduler;
+    private CompletableFuture<?> pendingSend = CompletableFuture.completedFuture(null);
+    private int reconnectAttempts;
+
+    public FinnhubTradeStreamProvider(
+            ObjectMapper objectMapper,
+            QuoteStreamProperties quoteStreamProperties,
+            FinnhubProperties finnhubProperties
+    ) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(quoteStreamProperties.getConnectTimeout())
+                .build();
+        this.objectMapper = objectMapper;
+        this.quoteStreamProperties = quoteStreamProperties;
+        this.finnhubProperties = finnhubProperties;
+    }
+
+    @Override
+    public String providerName() {
+        return "finnhub-stream";
+    }
+
+    @Override
+    public void connect(QuoteTickListener listener) {
+        if (finnhubProperties.getApiKey() == null || finnhubProperties.getApiKey().isBlank()) {
+            throw new IllegalStateException("Finnhub API key is missing");
+        }
+        this.listener = listener;
+        // created on connect so a node with the stream disabled never starts the thread
+        ScheduledExecutorService scheduler = reconnectScheduler;
+        if (scheduler == null || scheduler.isShutdown()) {
+            reconnectScheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("stock-quote-stream-reconnect").factory()
+            );
+        }
+        running = true;
+        open();
+    }
+
+    @Override
+    public void subscribe(Collection<String> requestedSymbols) {
+        Set<String> requested = new HashSet<>();
+        for (String symbol : requestedSymbols) {
+            requested.add(StockQuote.normalizeSymbol(symbol));
+        }
+
+        WebSocket current = webSocket;
+        for (String symbol : Set.copyOf(symbols)) {
+            if (!requested.contains(symbol)) {
+                symbols.remove(symbol);
+                send(current, "unsubscribe", symbol);
+            }
+        }
+        for (String symbol : requested) {
+            if (symbols.add(symbol)) {
+                send(current, "subscribe", symbol);
+            }
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        running = false;
+        ScheduledExecutorService scheduler = reconnectScheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        WebSocket current = webSocket;
+        webSocket = null;
+        if (current != null) {
+            current.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        WebSocket current = webSocket;
+        return current != null && !current.isInputClosed() && !current.isOutputClosed();
+    }
+
+    private void open() {
+        httpClient.newWebSocketBuilder()
+                .connectTimeout(quoteStreamProperties.getConnectTimeout())
+                .buildAsync(streamUri(), new TradeListener())
+                .whenComplete((connected, error) -> {
+                    if (error != null) {
+                        log.warn("failed to connect stock quote stream url={}", quoteStreamProperties.getUrl(), error);
+                        scheduleReconnect();
+                        return;
+                    }
+                    synchronized (sendLock) {
+                        reconnectAttempts = 0;
+                        pendingSend = CompletableFuture.completedFuture(null);
+                    }
+                    webSocket = connected;
+                    log.info("connected stock quote stream url={} symbolCount={}", quoteStreamProperties.getUrl(), symbols.size());
+                    symbols.forEach(symbol -> send(connected, "subscribe", symbol));
+                });
+    }
+
+    private void scheduleReconnect() {
+        webSocket = null;
+        if (!running) {
+            return;
+        }
+        long delayMillis;
+        synchronized (sendLock) {
+            long baseMillis = Math.max(1L, quoteStreamProperties.getReconnectDelay().toMillis());
+            long capMillis = Math.max(baseMillis, quoteStreamProperties.getMaxReconnectDelay().toMillis());
+            delayMillis = Math.min(capMillis, baseMillis << Math.min(reconnectAttempts, 16));
+            reconnectAttempts++;
+        }
+        try {
+            reconnectScheduler.schedule(this::open, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException exception) {
+            log.debug("skipped stock quote stream reconnect after shutdown");
+        }
+    }
+
+    private void send(WebSocket target, String type, String symbol) {
+        if (target == null) {
+            return;
+        }
+        String payload = objectMapper.createObjectNode()
+                .put("type", type)
+                .put("symbol", symbol)
+                .toString();
+        // the JDK WebSocket rejects a send while the previous one is still in flight
+        synchronized (sendLock) {
+            pendingSend = pendingSend
+                    .exceptionally(ignored -> null)
+                    .thenCompose(ignored -> target.sendText(payload, true));
+        }
+    }
+
+    private URI streamUri() {
+        return URI.create(
+                quoteStreamProperties.getUrl()
+                        + "?token="
+                        + URLEncoder.encode(finnhubProperties.getApiKey(), StandardCharsets.UTF_8)
+        );
+    }
+
+    private void handleMessage(String payload) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payload);
+        } catch (JsonProcessingException exception) {
+            log.warn("ignored malformed stock quote stream message length={}", payload.length());
+            return;
+        }
+
+        String type = root.path("type").asText("");
+        if ("error".equals(type)) {
+            log.warn("stock quote stream reported an error message={}", root.path("msg").asText(""));
+            return;
+        }
+        if (!"trade".equals(type)) {
+            return;
+        }
+
+        QuoteTickListener currentListener = listener;
+        for (JsonNode trade : root.path("data")) {
+            String symbol = trade.path("s").asText("");
+            JsonNode price = trade.path("p");
+            if (symbol.isBlank() || !price.isNumber() || !trade.path("t").canConvertToLong()) {
+                continue;
+            }
+            BigDecimal tradePrice = price.decimalValue();
+            if (tradePrice.signum() <= 0) {
+                continue;
+            }
+            currentListener.onTick(new QuoteTick(symbol, tradePrice, Instant.ofEpochMilli(trade.path("t").asLong())));
+        }
+    }
+
+    private final class TradeListener implements WebSocket.Listener {
+
+        private final StringBuilder partial = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket socket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                String payload = partial.toString();
+                partial.setLength(0);
+                try {
+                    handleMessage(payload);
+                } catch (RuntimeException exception) {
+                    log.warn("failed to handle stock quote stream message", exception);
+                }
+            }
+            socket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket socket, int statusCode, String reason) {
+            log.warn("stock quote stream closed statusCode={} reason={}", statusCode, reason);
+            scheduleReconnect();
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket socket, Throwable error) {
+            log.warn("stock quote stream failed", error);
+            scheduleReconnect();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package discordgateway.stocknode.quote.stream;
+
+import java.util.Collection;
+
+/**
+ * Push-based counterpart of {@link discordgateway.stocknode.quote.provider.QuoteProvider}. Implementations keep
+ * their own connection alive and resubscribe the current symbol set after a reconnect; ticks are delivered on the
+ * transport thread, so listeners must not block.
+ */
+public interface QuoteStreamProvider {
+
+    String providerName();
+
+    void connect(QuoteTickListener listener);
+
+    /**
+     * Replaces the subscribed symbol set. Safe to call before the connection is established.
+     */
+    void subscribe(Collection<String> symbols);
+
+    void disconnect();
+
+    boolean isConnected();
+}
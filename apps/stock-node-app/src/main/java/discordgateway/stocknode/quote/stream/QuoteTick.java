@@ -0,0 +1,20 @@
+package discordgateway.stocknode.quote.stream;
+
+import discordgateway.stocknode.quote.model.StockQuote;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+
+public record QuoteTick(
+        String symbol,
+        BigDecimal price,
+        Instant tradedAt
+) {
+
+    public QuoteTick {
+        symbol = StockQuote.normalizeSymbol(symbol);
+        price = Objects.requireNonNull(price, "price");
+        tradedAt = Objects.requireNonNull(tradedAt, "tradedAt");
+    }
+}
@@ -0,0 +1,7 @@
+package discordgateway.stocknode.quote.stream;
+
+@FunctionalInterface
+public interface QuoteTickListener {
+
+    void onTick(QuoteTick tick);
+}
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_stock_position_symbol ON stock_position (symbol);
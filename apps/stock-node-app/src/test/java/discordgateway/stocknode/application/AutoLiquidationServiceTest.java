@@ -22,12 +22,16 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,12 +51,13 @@ class AutoLiquidationServiceTest {
 
     private AutoLiquidationService autoLiquidationService;
     private SimpleMeterRegistry meterRegistry;
+    private final LiquidationPriceIndex liquidationPriceIndex = new LiquidationPriceIndex();
     private final Clock clock = Clock.fixed(Instant.parse("2026-05-01T00:00:00Z"), ZoneOffset.UTC);
 
     @BeforeEach
     @SuppressWarnings("unchecked")
     void setUp() {
-        when(transactionOperations.execute(any())).thenAnswer(invocation ->
+        lenient().when(transactionOperations.execute(any())).thenAnswer(invocation ->
                 ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null)
         );
         meterRegistry = new SimpleMeterRegistry();
@@ -61,66 +66,121 @@ class AutoLiquidationServiceTest {
                 tradeLedgerRepository,
                 rankingCacheRepository,
                 new StockMetricsRecorder(meterRegistry),
+                liquidationPriceIndex,
                 clock,
                 transactionOperations
         );
     }
 
     @Test
-    void doesNotLiquidateWhenIsolatedEquityIsPositive() {
-        StockPositionEntity position = leveragedPosition(1L, 10L, "NVDA", "5", "100.00", "50.0000", "500.0000", 10);
-        when(stockPositionRepository.findAllBySymbolOrderByIdAsc("NVDA")).thenReturn(List.of(position));
-        when(stockPositionRepository.findById(1L)).thenReturn(Optional.of(position));
+    void writesNothingWhenNoPositionIsExhausted() {
+        when(stockPositionRepository.lockExhaustedPositions(eq("NVDA"), any())).thenReturn(List.of());
 
         LiquidationBatchResult result = autoLiquidationService.liquidateExhaustedPositions(
                 new StockQuote("US", "NVDA", new BigDecimal("95.00"), clock.instant())
         );
 
-        assertThat(result.scannedCount()).isEqualTo(1);
+        assertThat(result.scannedCount()).isZero();
         assertThat(result.liquidatedCount()).isZero();
         assertThat(result.failureCount()).isZero();
-        verify(stockPositionRepository, never()).delete(any());
-        verify(tradeLedgerRepository, never()).save(any());
+        verify(stockPositionRepository, never()).deleteAllByIdIn(any());
+        verify(tradeLedgerRepository, never()).insertClosingTrades(any(), any(), any(), any());
+        verify(rankingCacheRepository, never()).evictGuild(anyLong(), any());
     }
 
     @Test
-    void liquidatesWhenIsolatedEquityIsExactlyZero() {
-        StockPositionEntity position = leveragedPosition(1L, 10L, "NVDA", "5", "100.00", "50.0000", "500.0000", 10);
-        when(stockPositionRepository.findAllBySymbolOrderByIdAsc("NVDA")).thenReturn(List.of(position));
-        when(stockPositionRepository.findById(1L)).thenReturn(Optional.of(position));
+    void closesExhaustedPositionsWithBulkStatements() {
+        StockPositionEntity position = leveragedPosition(1L, 10L, 2002L, "NVDA", "5", "100.00", "50.0000", "500.0000", 10);
+        when(stockPositionRepository.lockExhaustedPositions("NVDA", new BigDecimal("90.0000")))
+                .thenReturn(List.of(position));
 
         LiquidationBatchResult result = autoLiquidationService.liquidateExhaustedPositions(
                 new StockQuote("US", "NVDA", new BigDecimal("90.00"), clock.instant())
         );
 
+        assertThat(result.scannedCount()).isEqualTo(1);
         assertThat(result.liquidatedCount()).isEqualTo(1);
+        assertThat(result.failureCount()).isZero();
         assertThat(meterRegistry.counter(
                 "stock.auto.liquidations",
                 "market", "us",
                 "symbol", "nvda"
         ).count()).isEqualTo(1.0);
-        verify(stockPositionRepository).delete(position);
-        verify(tradeLedgerRepository).save(any());
+        verify(tradeLedgerRepository).insertClosingTrades(
+                List.of(1L),
+                TradeSide.SELL.name(),
+                new BigDecimal("90.0000"),
+                clock.instant()
+        );
+        verify(stockPositionRepository).deleteAllByIdIn(List.of(1L));
         verify(rankingCacheRepository).evictGuild(1001L, "2026-05");
     }
 
     @Test
-    void liquidatesWhenIsolatedEquityFallsBelowZero() {
-        StockPositionEntity position = leveragedPosition(1L, 10L, "NVDA", "5", "100.00", "50.0000", "500.0000", 10);
-        when(stockPositionRepository.findAllBySymbolOrderByIdAsc("NVDA")).thenReturn(List.of(position));
-        when(stockPositionRepository.findById(1L)).thenReturn(Optional.of(position));
+    void evictsRankingOncePerAffectedGuild() {
+        StockPositionEntity first = leveragedPosition(1L, 10L, 2002L, "NVDA", "5", "100.00", "50.0000", "500.0000", 10);
+        StockPositionEntity second = leveragedPosition(2L, 11L, 2003L, "NVDA", "2", "100.00", "20.0000", "200.0000", 10);
+        when(stockPositionRepository.lockExhaustedPositions(eq("NVDA"), any())).thenReturn(List.of(first, second));
 
         LiquidationBatchResult result = autoLiquidationService.liquidateExhaustedPositions(
                 new StockQuote("US", "NVDA", new BigDecimal("85.00"), clock.instant())
         );
 
+        assertThat(result.liquidatedCount()).isEqualTo(2);
+        verify(tradeLedgerRepository).insertClosingTrades(eq(List.of(1L, 2L)), eq("SELL"), any(), any());
+        verify(stockPositionRepository).deleteAllByIdIn(List.of(1L, 2L));
+        verify(rankingCacheRepository, times(1)).evictGuild(1001L, "2026-05");
+    }
+
+    @Test
+    void reportsFailureWithoutEvictingWhenTransactionFails() {
+        StockPositionEntity position = leveragedPosition(1L, 10L, 2002L, "NVDA", "5", "100.00", "50.0000", "500.0000", 10);
+        when(stockPositionRepository.lockExhaustedPositions(eq("NVDA"), any())).thenReturn(List.of(position));
+        when(stockPositionRepository.deleteAllByIdIn(any())).thenThrow(new IllegalStateException("lock timeout"));
+
+        LiquidationBatchResult result = autoLiquidationService.liquidateExhaustedPositions(
+                new StockQuote("US", "NVDA", new BigDecimal("85.00"), clock.instant())
+        );
+
+        assertThat(result.liquidatedCount()).isZero();
+        assertThat(result.failureCount()).isEqualTo(1);
+        verify(rankingCacheRepository, never()).evictGuild(anyLong(), any());
+    }
+
+    @Test
+    void skipsDatabaseWhenIndexReportsNoCrossedPosition() {
+        StockPositionEntity position = leveragedPosition(1L, 10L, 2002L, "NVDA", "5", "100.00", "50.0000", "500.0000", 10);
+        liquidationPriceIndex.reconcile(List.of(position), liquidationPriceIndex.mutationSequence());
+
+        LiquidationBatchResult result = autoLiquidationService.liquidateExhaustedPositions(
+                new StockQuote("US", "NVDA", new BigDecimal("90.01"), clock.instant())
+        );
+
+        assertThat(result.scannedCount()).isZero();
+        verifyNoInteractions(transactionOperations, stockPositionRepository, tradeLedgerRepository);
+    }
+
+    @Test
+    void rechecksOnlyCrossedPositionsOnceIndexIsReady() {
+        StockPositionEntity crossed = leveragedPosition(1L, 10L, 2002L, "NVDA", "5", "100.00", "50.0000", "500.0000", 10);
+        StockPositionEntity healthy = leveragedPosition(2L, 11L, 2003L, "NVDA", "5", "100.00", "250.0000", "500.0000", 2);
+        liquidationPriceIndex.reconcile(List.of(crossed, healthy), liquidationPriceIndex.mutationSequence());
+        when(stockPositionRepository.lockExhaustedPositionsByIdIn(List.of(1L), "NVDA", new BigDecimal("90.0000")))
+                .thenReturn(List.of(crossed));
+
+        LiquidationBatchResult result = autoLiquidationService.liquidateExhaustedPositions(
+                new StockQuote("US", "NVDA", new BigDecimal("90.00"), clock.instant())
+        );
+
         assertThat(result.liquidatedCount()).isEqualTo(1);
-        assertThat(result.failureCount()).isZero();
+        verify(stockPositionRepository).deleteAllByIdIn(List.of(1L));
+        assertThat(liquidationPriceIndex.crossedPositionIds("NVDA", BigDecimal.ZERO)).containsExactly(2L);
     }
 
     private StockPositionEntity leveragedPosition(
             Long positionId,
             Long accountId,
+            Long userId,
             String symbol,
             String quantity,
             String averageCost,
@@ -128,7 +188,7 @@ class AutoLiquidationServiceTest {
             String notionalAmount,
             int leverage
     ) {
-        StockAccountEntity account = StockAccountEntity.create(1001L, 2002L, "2026-05");
+        StockAccountEntity account = StockAccountEntity.create(1001L, userId, "2026-05");
         ReflectionTestUtils.setField(account, "id", accountId);
         account.updateCashBalance(new BigDecimal("9900.0000"));
 
@@ -2,10 +2,13 @@ package discordgateway.stocknode.application;
 
 import discordgateway.stocknode.bootstrap.StockMarketDataProperties;
 import discordgateway.stocknode.bootstrap.StockQuoteProperties;
+import discordgateway.stocknode.observability.StockMetricsRecorder;
 import discordgateway.stocknode.observability.StockQuoteCacheMetricsService;
 import discordgateway.stocknode.persistence.entity.StockWatchlistEntity;
 import discordgateway.stocknode.quote.model.StockQuote;
 import discordgateway.stocknode.quote.service.MarketQuoteRefreshService;
+import discordgateway.stocknode.quote.service.QuoteBatchRefreshResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.time.Clock;
@@ -13,6 +16,7 @@ import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -37,7 +41,9 @@ class FinnhubTop10RefreshSchedulerTest {
                 stockWatchlistService,
                 marketQuoteRefreshService,
                 autoLiquidationService,
+                mock(QuoteStreamIngestionService.class),
                 stockQuoteCacheMetricsService,
+                new StockMetricsRecorder(new SimpleMeterRegistry()),
                 marketDataProperties,
                 quoteProperties,
                 Clock.fixed(Instant.parse("2026-05-01T00:00:00Z"), ZoneOffset.UTC)
@@ -46,7 +52,7 @@ class FinnhubTop10RefreshSchedulerTest {
         scheduler.refreshTop10Quotes();
 
         verify(stockWatchlistService, never()).getEnabledByMarket("US", 10);
-        verify(marketQuoteRefreshService, never()).refreshQuote("US", "NVDA");
+        verify(marketQuoteRefreshService, never()).refreshQuotes(any(), any());
         verify(autoLiquidationService, never()).liquidateExhaustedPositions(any());
         verify(stockQuoteCacheMetricsService, never()).recordWatchlistCacheState(any(), any(), any());
     }
@@ -72,9 +78,9 @@ class FinnhubTop10RefreshSchedulerTest {
         when(aapl.getSymbol()).thenReturn("AAPL");
 
         when(stockWatchlistService.getEnabledByMarket("US", 10)).thenReturn(List.of(nvda, aapl));
-        when(marketQuoteRefreshService.refreshQuote("US", "NVDA")).thenThrow(new IllegalStateException("boom"));
-        when(marketQuoteRefreshService.refreshQuote("US", "AAPL"))
-                .thenReturn(new StockQuote("US", "AAPL", java.math.BigDecimal.valueOf(200), Instant.parse("2026-05-01T00:00:00Z")));
+        StockQuote aaplQuote = new StockQuote("US", "AAPL", java.math.BigDecimal.valueOf(200), Instant.parse("2026-05-01T00:00:00Z"));
+        when(marketQuoteRefreshService.refreshQuotes("US", List.of("NVDA", "AAPL")))
+                .thenReturn(new QuoteBatchRefreshResult(List.of(aaplQuote), List.of("NVDA"), List.of()));
         when(autoLiquidationService.liquidateExhaustedPositions(any()))
                 .thenReturn(new LiquidationBatchResult("AAPL", 0, 0, 0));
 
@@ -82,7 +88,9 @@ class FinnhubTop10RefreshSchedulerTest {
                 stockWatchlistService,
                 marketQuoteRefreshService,
                 autoLiquidationService,
+                mock(QuoteStreamIngestionService.class),
                 stockQuoteCacheMetricsService,
+                new StockMetricsRecorder(new SimpleMeterRegistry()),
                 marketDataProperties,
                 quoteProperties,
                 Clock.fixed(Instant.parse("2026-05-01T00:00:00Z"), ZoneOffset.UTC)
@@ -90,9 +98,185 @@ class FinnhubTop10RefreshSchedulerTest {
 
         scheduler.refreshTop10Quotes();
 
-        verify(marketQuoteRefreshService).refreshQuote("US", "NVDA");
-        verify(marketQuoteRefreshService).refreshQuote("US", "AAPL");
-        verify(autoLiquidationService).liquidateExhaustedPositions(any());
+        verify(marketQuoteRefreshService).refreshQuotes("US", List.of("NVDA", "AAPL"));
+        verify(autoLiquidationService).liquidateExhaustedPositions(aaplQuote);
         verify(stockQuoteCacheMetricsService).recordWatchlistCacheState("US", List.of(nvda, aapl), quoteProperties.getFreshness());
     }
+
+    @Test
+    void doesNotTreatCacheServedQuotesAsRestRefreshes() {
+        StockWatchlistService stockWatchlistService = mock(StockWatchlistService.class);
+        MarketQuoteRefreshService marketQuoteRefreshService = mock(MarketQuoteRefreshService.class);
+        AutoLiquidationService autoLiquidationService = mock(AutoLiquidationService.class);
+        QuoteStreamIngestionService quoteStreamIngestionService = mock(QuoteStreamIngestionService.class);
+        StockMarketDataProperties marketDataProperties = new StockMarketDataProperties();
+        marketDataProperties.setMarket("US");
+        marketDataProperties.setTopRankLimit(10);
+        StockQuoteProperties quoteProperties = new StockQuoteProperties();
+        quoteProperties.setProvider("finnhub");
+
+        StockWatchlistEntity nvda = mock(StockWatchlistEntity.class);
+        when(nvda.getMarket()).thenReturn("US");
+        when(nvda.getSymbol()).thenReturn("NVDA");
+
+        when(stockWatchlistService.getEnabledByMarket("US", 10)).thenReturn(List.of(nvda));
+        StockQuote nvdaQuote = new StockQuote("US", "NVDA", java.math.BigDecimal.valueOf(199), Instant.parse("2026-05-01T00:00:00Z"));
+        when(marketQuoteRefreshService.refreshQuotes("US", List.of("NVDA")))
+                .thenReturn(new QuoteBatchRefreshResult(List.of(), List.of(), List.of(), List.of(nvdaQuote)));
+
+        FinnhubTop10RefreshScheduler scheduler = new FinnhubTop10RefreshScheduler(
+                stockWatchlistService,
+                marketQuoteRefreshService,
+                autoLiquidationService,
+                quoteStreamIngestionService,
+                mock(StockQuoteCacheMetricsService.class),
+                new StockMetricsRecorder(new SimpleMeterRegistry()),
+                marketDataProperties,
+                quoteProperties,
+                Clock.fixed(Instant.parse("2026-05-01T00:00:00Z"), ZoneOffset.UTC)
+        );
+
+        scheduler.refreshTop10Quotes();
+
+        verify(quoteStreamIngestionService, never()).onRestRefresh(any());
+        verify(autoLiquidationService, never()).liquidateExhaustedPositions(any());
+    }
+
+    @Test
+    void stopsCallingProviderAfterRateLimitAndRecordsStageMetrics() {
+        StockWatchlistService stockWatchlistService = mock(StockWatchlistService.class);
+        MarketQuoteRefreshService marketQuoteRefreshService = mock(MarketQuoteRefreshService.class);
+        AutoLiquidationService autoLiquidationService = mock(AutoLiquidationService.class);
+        StockQuoteCacheMetricsService stockQuoteCacheMetricsService = mock(StockQuoteCacheMetricsService.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StockMarketDataProperties marketDataProperties = new StockMarketDataProperties();
+        marketDataProperties.setMarket("US");
+        marketDataProperties.setTopRankLimit(10);
+        marketDataProperties.setRefreshConcurrency(1);
+        marketDataProperties.setRefreshBatchSize(1);
+        StockQuoteProperties quoteProperties = new StockQuoteProperties();
+        quoteProperties.setProvider("finnhub");
+
+        StockWatchlistEntity aapl = watchlistItem("AAPL");
+        StockWatchlistEntity nvda = watchlistItem("NVDA");
+        StockWatchlistEntity msft = watchlistItem("MSFT");
+
+        when(stockWatchlistService.getEnabledByMarket("US", 10)).thenReturn(List.of(aapl, nvda, msft));
+        StockQuote aaplQuote = new StockQuote("US", "AAPL", java.math.BigDecimal.valueOf(200), Instant.parse("2026-05-01T00:00:00Z"));
+        when(marketQuoteRefreshService.refreshQuotes("US", List.of("AAPL")))
+                .thenReturn(new QuoteBatchRefreshResult(List.of(aaplQuote), List.of(), List.of()));
+        when(marketQuoteRefreshService.refreshQuotes("US", List.of("NVDA")))
+                .thenReturn(new QuoteBatchRefreshResult(List.of(), List.of(), List.of("NVDA")));
+        when(autoLiquidationService.liquidateExhaustedPositions(aaplQuote))
+                .thenReturn(new LiquidationBatchResult("AAPL", 1, 0, 0));
+
+        FinnhubTop10RefreshScheduler scheduler = new FinnhubTop10RefreshScheduler(
+                stockWatchlistService,
+                marketQuoteRefreshService,
+                autoLiquidationService,
+                mock(QuoteStreamIngestionService.class),
+                stockQuoteCacheMetricsService,
+                new StockMetricsRecorder(meterRegistry),
+                marketDataProperties,
+                quoteProperties,
+                Clock.fixed(Instant.parse("2026-05-01T00:00:00Z"), ZoneOffset.UTC)
+        );
+
+        scheduler.refreshTop10Quotes();
+
+        verify(marketQuoteRefreshService, never()).refreshQuotes("US", List.of("MSFT"));
+        verify(autoLiquidationService).liquidateExhaustedPositions(aaplQuote);
+        assertThat(meterRegistry.find("stock.watchlist.refresh.duration").tag("market", "us").timer().count())
+                .isEqualTo(1L);
+        assertThat(meterRegistry.find("stock.watchlist.refresh.stage")
+                .tags("stage", "quote", "result", "rate_limited").timer().count())
+                .isEqualTo(1L);
+        assertThat(meterRegistry.find("stock.watchlist.refresh.stage")
+                .tags("stage", "liquidation", "result", "success").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void leavesStreamedSymbolsToTheQuoteStream() {
+        StockWatchlistService stockWatchlistService = mock(StockWatchlistService.class);
+        MarketQuoteRefreshService marketQuoteRefreshService = mock(MarketQuoteRefreshService.class);
+        AutoLiquidationService autoLiquidationService = mock(AutoLiquidationService.class);
+        QuoteStreamIngestionService quoteStreamIngestionService = mock(QuoteStreamIngestionService.class);
+        StockMarketDataProperties marketDataProperties = new StockMarketDataProperties();
+        marketDataProperties.setMarket("US");
+        marketDataProperties.setTopRankLimit(10);
+        StockQuoteProperties quoteProperties = new StockQuoteProperties();
+        quoteProperties.setProvider("finnhub");
+
+        StockWatchlistEntity aapl = watchlistItem("AAPL");
+        StockWatchlistEntity nvda = watchlistItem("NVDA");
+        when(stockWatchlistService.getEnabledByMarket("US", 10)).thenReturn(List.of(aapl, nvda));
+        when(quoteStreamIngestionService.coveredByStream("AAPL")).thenReturn(true);
+        StockQuote nvdaQuote = new StockQuote("US", "NVDA", java.math.BigDecimal.valueOf(120), Instant.parse("2026-05-01T00:00:00Z"));
+        when(marketQuoteRefreshService.refreshQuotes("US", List.of("NVDA")))
+                .thenReturn(new QuoteBatchRefreshResult(List.of(nvdaQuote), List.of(), List.of()));
+        when(autoLiquidationService.liquidateExhaustedPositions(nvdaQuote))
+                .thenReturn(new LiquidationBatchResult("NVDA", 0, 0, 0));
+
+        FinnhubTop10RefreshScheduler scheduler = new FinnhubTop10RefreshScheduler(
+                stockWatchlistService,
+                marketQuoteRefreshService,
+                autoLiquidationService,
+                quoteStreamIngestionService,
+                mock(StockQuoteCacheMetricsService.class),
+                new StockMetricsRecorder(new SimpleMeterRegistry()),
+                marketDataProperties,
+                quoteProperties,
+                Clock.fixed(Instant.parse("2026-05-01T00:00:00Z"), ZoneOffset.UTC)
+        );
+
+        scheduler.refreshTop10Quotes();
+
+        verify(quoteStreamIngestionService).syncSubscriptions(List.of(aapl, nvda));
+        verify(marketQuoteRefreshService).refreshQuotes("US", List.of("NVDA"));
+        verify(quoteStreamIngestionService).onRestRefresh(nvdaQuote);
+    }
+
+    @Test
+    void refreshesWatchlistInBatchesOfConfiguredSize() {
+        StockWatchlistService stockWatchlistService = mock(StockWatchlistService.class);
+        MarketQuoteRefreshService marketQuoteRefreshService = mock(MarketQuoteRefreshService.class);
+        AutoLiquidationService autoLiquidationService = mock(AutoLiquidationService.class);
+        StockMarketDataProperties marketDataProperties = new StockMarketDataProperties();
+        marketDataProperties.setMarket("US");
+        marketDataProperties.setTopRankLimit(10);
+        marketDataProperties.setRefreshBatchSize(2);
+        StockQuoteProperties quoteProperties = new StockQuoteProperties();
+        quoteProperties.setProvider("finnhub");
+
+        List<StockWatchlistEntity> watchlist = List.of(watchlistItem("AAPL"), watchlistItem("NVDA"), watchlistItem("MSFT"));
+        when(stockWatchlistService.getEnabledByMarket("US", 10)).thenReturn(watchlist);
+        when(marketQuoteRefreshService.refreshQuotes(any(), any()))
+                .thenReturn(new QuoteBatchRefreshResult(List.of(), List.of(), List.of()));
+
+        FinnhubTop10RefreshScheduler scheduler = new FinnhubTop10RefreshScheduler(
+                stockWatchlistService,
+                marketQuoteRefreshService,
+                autoLiquidationService,
+                mock(QuoteStreamIngestionService.class),
+                mock(StockQuoteCacheMetricsService.class),
+                new StockMetricsRecorder(new SimpleMeterRegistry()),
+                marketDataProperties,
+                quoteProperties,
+                Clock.fixed(Instant.parse("2026-05-01T00:00:00Z"), ZoneOffset.UTC)
+        );
+
+        scheduler.refreshTop10Quotes();
+
+        verify(marketQuoteRefreshService).refreshQuotes("US", List.of("AAPL", "NVDA"));
+        verify(marketQuoteRefreshService).refreshQuotes("US", List.of("MSFT"));
+        verify(autoLiquidationService, never()).liquidateExhaustedPositions(any());
+    }
+
+    private StockWatchlistEntity watchlistItem(String symbol) {
+        StockWatchlistEntity item = mock(StockWatchlistEntity.class);
+        when(item.getMarket()).thenReturn("US");
+        when(item.getSymbol()).thenReturn(symbol);
+        return item;
+    }
 }
@@ -0,0 +1,99 @@
+package discordgateway.stocknode.application;
+
+import discordgateway.stocknode.persistence.entity.StockAccountEntity;
+import discordgateway.stocknode.persistence.entity.StockPositionEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiquidationPriceIndexTest {
+
+    private final LiquidationPriceIndex index = new LiquidationPriceIndex();
+
+    @Test
+    void thresholdMatchesTheExhaustedEquityPredicate() {
+        BigDecimal liquidationPrice = LiquidationPriceIndex.liquidationPrice(
+                new BigDecimal("100.0000"),
+                new BigDecimal("50.0000"),
+                new BigDecimal("5.00000000")
+        );
+
+        assertThat(liquidationPrice).isGreaterThanOrEqualTo(new BigDecimal("90.0000"));
+        assertThat(liquidationPrice).isLessThan(new BigDecimal("90.0001"));
+    }
+
+    @Test
+    void returnsOnlyPositionsCrossedByTheQuote() {
+        index.reconcile(
+                List.of(
+                        position(1L, "NVDA", "5", "100.00", "50.0000", 10),
+                        position(2L, "NVDA", "5", "100.00", "250.0000", 2),
+                        position(3L, "AAPL", "5", "100.00", "50.0000", 10)
+                ),
+                index.mutationSequence()
+        );
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.crossedPositionIds("nvda", new BigDecimal("95.0000"))).isEmpty();
+        assertThat(index.crossedPositionIds("nvda", new BigDecimal("90.0000"))).containsExactly(1L);
+        assertThat(index.crossedPositionIds("NVDA", new BigDecimal("50.0000"))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void movesThresholdWhenPositionChangesAndDropsItWhenClosed() {
+        StockPositionEntity position = position(1L, "NVDA", "5", "100.00", "50.0000", 10);
+        index.onPositionChanged(position);
+        assertThat(index.crossedPositionIds("NVDA", new BigDecimal("90.0000"))).containsExactly(1L);
+
+        position.applyBuy(
+                new BigDecimal("5.00000000"),
+                new BigDecimal("100.00"),
+                new BigDecimal("450.0000"),
+                new BigDecimal("500.0000"),
+                10
+        );
+        index.onPositionChanged(position);
+        assertThat(index.crossedPositionIds("NVDA", new BigDecimal("90.0000"))).isEmpty();
+
+        index.onPositionsClosed(List.of(1L));
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void reconcileRepairsDriftButKeepsEntriesWrittenAfterTheSnapshot() {
+        index.reconcile(List.of(position(1L, "NVDA", "5", "100.00", "50.0000", 10)), index.mutationSequence());
+        long snapshotSequence = index.mutationSequence();
+        index.onPositionChanged(position(2L, "NVDA", "5", "100.00", "50.0000", 10));
+
+        int drift = index.reconcile(List.of(position(3L, "NVDA", "5", "100.00", "50.0000", 10)), snapshotSequence);
+
+        assertThat(drift).isEqualTo(2);
+        assertThat(index.crossedPositionIds("NVDA", new BigDecimal("90.0000"))).containsExactly(2L, 3L);
+    }
+
+    private StockPositionEntity position(
+            Long positionId,
+            String symbol,
+            String quantity,
+            String averageCost,
+            String marginAmount,
+            int leverage
+    ) {
+        StockAccountEntity account = StockAccountEntity.create(1001L, 2002L, "2026-05");
+        StockPositionEntity position = StockPositionEntity.create(account, symbol, leverage);
+        BigDecimal notionalAmount = new BigDecimal(marginAmount).multiply(BigDecimal.valueOf(leverage));
+        position.applyBuy(
+                new BigDecimal(quantity).setScale(8),
+                new BigDecimal(averageCost),
+                new BigDecimal(marginAmount),
+                notionalAmount,
+                leverage
+        );
+        ReflectionTestUtils.setField(position, "id", positionId);
+        return position;
+    }
+}
@@ -0,0 +1,180 @@
+package discordgateway.stocknode.application;
+
+import discordgateway.stocknode.bootstrap.QuoteStreamProperties;
+import discordgateway.stocknode.bootstrap.StockMarketDataProperties;
+import discordgateway.stocknode.bootstrap.StockQuoteProperties;
+import discordgateway.stocknode.cache.QuoteRepository;
+import discordgateway.stocknode.observability.StockMetricsRecorder;
+import discordgateway.stocknode.quote.model.StockQuote;
+import discordgateway.stocknode.quote.stream.QuoteStreamProvider;
+import discordgateway.stocknode.quote.stream.QuoteTick;
+import discordgateway.stocknode.quote.stream.QuoteTickListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteStreamIngestionServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-05-01T14:00:00Z");
+
+    private final QuoteRepository quoteRepository = mock(QuoteRepository.class);
+    private final AutoLiquidationService autoLiquidationService = mock(AutoLiquidationService.class);
+    private final StockWatchlistService stockWatchlistService = mock(StockWatchlistService.class);
+    private final FakeStreamProvider streamProvider = new FakeStreamProvider();
+    private final StockQuoteProperties stockQuoteProperties = new StockQuoteProperties();
+    private QuoteStreamIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        StockMarketDataProperties marketDataProperties = new StockMarketDataProperties();
+        marketDataProperties.setMarket("US");
+        stockQuoteProperties.setProvider("finnhub");
+        QuoteStreamProperties quoteStreamProperties = new QuoteStreamProperties();
+        quoteStreamProperties.setEnabled(true);
+        quoteStreamProperties.setWritesPerSecond(1);
+        when(stockWatchlistService.getEnabledByMarket("US", 10)).thenReturn(List.of());
+        when(autoLiquidationService.liquidateExhaustedPositions(any()))
+                .thenReturn(new LiquidationBatchResult("AAPL", 0, 0, 0));
+
+        service = new QuoteStreamIngestionService(
+                streamProvider,
+                quoteRepository,
+                autoLiquidationService,
+                stockWatchlistService,
+                new StockMetricsRecorder(new SimpleMeterRegistry()),
+                marketDataProperties,
+                stockQuoteProperties,
+                quoteStreamProperties,
+                Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void throttlesCacheWritesAndKeepsTheLatestTick() {
+        service.onRestRefresh(restQuote("200.00", NOW.minusSeconds(5)));
+        streamProvider.listener.onTick(new QuoteTick("AAPL", new BigDecimal("201.00"), NOW.minusSeconds(2)));
+        service.flush();
+        streamProvider.listener.onTick(new QuoteTick("AAPL", new BigDecimal("202.00"), NOW.minusSeconds(1)));
+        streamProvider.listener.onTick(new QuoteTick("AAPL", new BigDecimal("203.00"), NOW));
+        service.flush();
+
+        ArgumentCaptor<StockQuote> written = ArgumentCaptor.forClass(StockQuote.class);
+        verify(quoteRepository, times(1)).save(written.capture(), any());
+        StockQuote quote = written.getValue();
+        assertThat(quote.price()).isEqualByComparingTo("201.00");
+        assertThat(quote.previousClose()).isEqualByComparingTo("190.00");
+        assertThat(quote.changeAmount()).isEqualByComparingTo("11.00");
+        assertThat(quote.high()).isEqualByComparingTo("205.00");
+        assertThat(quote.provider()).isEqualTo("fake-stream");
+    }
+
+    @Test
+    void liquidatesOnPriceChangeOnlyAndIgnoresOutOfOrderTicks() {
+        streamProvider.listener.onTick(new QuoteTick("AAPL", new BigDecimal("201.00"), NOW));
+        verify(autoLiquidationService, timeout(1_000)).liquidateExhaustedPositions(any());
+
+        streamProvider.listener.onTick(new QuoteTick("AAPL", new BigDecimal("201.00"), NOW.plusSeconds(1)));
+        streamProvider.listener.onTick(new QuoteTick("AAPL", new BigDecimal("150.00"), NOW.minusSeconds(10)));
+        service.flush();
+
+        ArgumentCaptor<StockQuote> written = ArgumentCaptor.forClass(StockQuote.class);
+        verify(quoteRepository).save(written.capture(), any());
+        assertThat(written.getValue().quotedAt()).isEqualTo(NOW.plusSeconds(1));
+        verify(autoLiquidationService, times(1)).liquidateExhaustedPositions(any());
+    }
+
+    @Test
+    void coversSymbolOnlyWhileStreamIsConnectedAndReconciled() {
+        assertThat(service.coveredByStream("AAPL")).isFalse();
+
+        streamProvider.listener.onTick(new QuoteTick("AAPL", new BigDecimal("201.00"), NOW));
+        assertThat(service.coveredByStream("AAPL")).isFalse();
+
+        service.onRestRefresh(restQuote("200.00", NOW.minusSeconds(1)));
+        assertThat(service.coveredByStream("aapl")).isTrue();
+
+        streamProvider.connected = false;
+        assertThat(service.coveredByStream("AAPL")).isFalse();
+    }
+
+    @Test
+    void staysIdleWhenStreamIsDisabled() {
+        service.stop();
+        stockQuoteProperties.setProvider("mock");
+        service.start();
+
+        service.syncSubscriptions(List.of());
+
+        assertThat(service.coveredByStream("AAPL")).isFalse();
+        verify(quoteRepository, never()).save(any(), any());
+    }
+
+    private StockQuote restQuote(String price, Instant quotedAt) {
+        return new StockQuote(
+                "US",
+                "AAPL",
+                new BigDecimal(price),
+                quotedAt,
+                "finnhub",
+                null,
+                null,
+                new BigDecimal("205.00"),
+                new BigDecimal("195.00"),
+                new BigDecimal("196.00"),
+                new BigDecimal("190.00")
+        );
+    }
+
+    private static final class FakeStreamProvider implements QuoteStreamProvider {
+
+        private QuoteTickListener listener;
+        private boolean connected = true;
+
+        @Override
+        public String providerName() {
+            return "fake-stream";
+        }
+
+        @Override
+        public void connect(QuoteTickListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void subscribe(Collection<String> symbols) {
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean isConnected() {
+            return connected;
+        }
+    }
+}
@@ -76,6 +76,7 @@ class TradeExecutionServiceTest {
                 rankingCacheRepository,
                 stockQuoteProperties,
                 new StockMetricsRecorder(meterRegistry),
+                new LiquidationPriceIndex(),
                 clock
         );
     }
@@ -6,18 +6,29 @@ import discordgateway.stocknode.quote.model.StockQuote;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,7 +47,7 @@ class RedisQuoteRepositoryTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
         redisQuoteRepository = new RedisQuoteRepository(
                 stringRedisTemplate,
                 objectMapper,
@@ -62,6 +73,36 @@ class RedisQuoteRepositoryTest {
         );
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void savesBatchWithSetExInOnePipeline() {
+        List<StockQuote> stockQuotes = List.of(
+                new StockQuote("US", "aapl", new BigDecimal("123.45"), Instant.parse("2026-04-22T07:00:00Z")),
+                new StockQuote("US", "nvda", new BigDecimal("199.57"), Instant.parse("2026-04-22T07:00:00Z"))
+        );
+
+        redisQuoteRepository.saveAll(stockQuotes, Duration.ofMinutes(10));
+
+        ArgumentCaptor<RedisCallback<Object>> pipeline = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(stringRedisTemplate).executePipelined(pipeline.capture());
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        pipeline.getValue().doInRedis(connection);
+        verify(connection).set(
+                eq("stock:quote:US:AAPL"),
+                contains("\"symbol\":\"AAPL\""),
+                eq(Expiration.from(Duration.ofMinutes(10))),
+                eq(RedisStringCommands.SetOption.upsert())
+        );
+        verify(connection).set(
+                eq("stock:quote:US:NVDA"),
+                contains("\"symbol\":\"NVDA\""),
+                eq(Expiration.from(Duration.ofMinutes(10))),
+                eq(RedisStringCommands.SetOption.upsert())
+        );
+    }
+
     @Test
     void readsQuoteFromSerializedPayload() throws Exception {
         StockQuote stockQuote = new StockQuote(
@@ -29,6 +29,7 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -121,6 +122,27 @@ class StockRedisIntegrationTest extends StockNodeIntegrationTestSupport {
         assertThat(quoteLockService.tryAcquire("US", "AAPL")).isPresent();
     }
 
+    @Test
+    void batchLockExcludesSingleSymbolRefreshesOnRealRedis() {
+        Optional<QuoteLockHandle> singleLock = quoteLockService.tryAcquire("US", "AAPL");
+
+        assertThat(quoteLockService.tryAcquireBatch("US", List.of("NVDA", "AAPL"), Duration.ofSeconds(3))).isEmpty();
+        Optional<QuoteLockHandle> untouchedLock = quoteLockService.tryAcquire("US", "NVDA");
+        assertThat(untouchedLock).isPresent();
+
+        singleLock.ifPresent(quoteLockService::release);
+        untouchedLock.ifPresent(quoteLockService::release);
+        Optional<QuoteLockHandle> batchLock = quoteLockService.tryAcquireBatch("US", List.of("MSFT", "AAPL"), Duration.ofSeconds(3));
+
+        assertThat(batchLock).isPresent();
+        assertThat(quoteLockService.tryAcquire("US", "MSFT")).isEmpty();
+
+        batchLock.ifPresent(quoteLockService::release);
+        Optional<QuoteLockHandle> releasedLock = quoteLockService.tryAcquire("US", "MSFT");
+        assertThat(releasedLock).isPresent();
+        releasedLock.ifPresent(quoteLockService::release);
+    }
+
     @Test
     void tracksProviderBudgetOnRealRedis() {
         Instant now = Instant.parse("2026-04-22T07:05:31Z");
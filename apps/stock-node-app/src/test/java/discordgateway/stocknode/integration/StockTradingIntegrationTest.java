@@ -2,6 +2,7 @@ package discordgateway.stocknode.integration;
 
 import discordgateway.stocknode.application.BalanceQueryService;
 import discordgateway.stocknode.application.BalanceView;
+import discordgateway.stocknode.application.LiquidationBatchResult;
 import discordgateway.stocknode.application.AutoLiquidationService;
 import discordgateway.stocknode.application.PortfolioQueryService;
 import discordgateway.stocknode.application.PortfolioView;
@@ -109,4 +110,17 @@ class StockTradingIntegrationTest extends StockNodeIntegrationTestSupport {
         BalanceView balanceView = balanceQueryService.getBalance(1001L, 2002L);
         assertThat(balanceView.cashBalance()).isEqualByComparingTo("9900.0000");
     }
+
+    @Test
+    void keepsLeveragedPositionWhileIsolatedEquityIsPositive() {
+        tradeExecutionService.buy(1001L, 2002L, "AAPL", new BigDecimal("5"), 10);
+
+        LiquidationBatchResult result = autoLiquidationService.liquidateExhaustedPositions(
+                new StockQuote("US", "AAPL", new BigDecimal("181.00"), Instant.now())
+        );
+
+        assertThat(result.liquidatedCount()).isZero();
+        assertThat(portfolioQueryService.getPortfolio(1001L, 2002L).positions()).hasSize(1);
+        assertThat(tradeHistoryQueryService.getHistory(1001L, 2002L, 10).entries()).hasSize(1);
+    }
 }
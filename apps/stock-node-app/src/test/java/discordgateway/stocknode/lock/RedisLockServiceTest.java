@@ -8,12 +8,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.time.Duration;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,7 +35,7 @@ class RedisLockServiceTest {
 
     @BeforeEach
     void setUp() {
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
         redisLockService = new RedisLockService(
                 stringRedisTemplate,
                 new StockRedisKeyFactory(),
@@ -46,13 +51,36 @@ class RedisLockServiceTest {
         assertThat(redisLockService.tryAcquire("US", "aapl")).isPresent();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquiresEveryPerSymbolLockOfBatchTogether() {
+        List<String> symbolLockKeys = List.of("stock:quote:lock:US:AAPL", "stock:quote:lock:US:NVDA");
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(symbolLockKeys), anyString(), eq("3000")))
+                .thenReturn(1L);
+
+        assertThat(redisLockService.tryAcquireBatch("US", List.of("nvda", "aapl"), Duration.ofSeconds(3)))
+                .isPresent()
+                .get()
+                .extracting(QuoteLockHandle::keys)
+                .isEqualTo(symbolLockKeys);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void skipsBatchWhenAnySymbolIsLocked() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .thenReturn(0L);
+
+        assertThat(redisLockService.tryAcquireBatch("US", List.of("NVDA", "AAPL"), Duration.ofSeconds(3))).isEmpty();
+    }
+
     @Test
     void releasesOnlyOwnedLock() {
         QuoteLockHandle quoteLockHandle = new QuoteLockHandle(
                 "stock:quote:lock:US:AAPL",
                 "owner-token"
         );
-        when(valueOperations.get(quoteLockHandle.key())).thenReturn("owner-token");
+        when(valueOperations.get("stock:quote:lock:US:AAPL")).thenReturn("owner-token");
 
         redisLockService.release(quoteLockHandle);
 
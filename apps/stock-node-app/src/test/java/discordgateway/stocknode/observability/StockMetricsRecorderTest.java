@@ -22,6 +22,8 @@ class StockMetricsRecorderTest {
         recorder.recordTradeRejection("SELL", "StaleQuoteException");
         recorder.recordAutoLiquidations("US", "NVDA", 2);
         recorder.recordQuoteCacheState("US", 10, 8, 2, 44);
+        recorder.recordWatchlistRefreshRun("US", Duration.ofMillis(900));
+        recorder.recordWatchlistRefreshStage("quote", "SUCCESS", Duration.ofMillis(120));
 
         assertThat(meterRegistry.counter("stock.commands", "command", "buy", "result", "success").count())
                 .isEqualTo(1.0);
@@ -67,5 +69,10 @@ class StockMetricsRecorderTest {
                 .isEqualTo(2.0);
         assertThat(meterRegistry.find("stock.quote.cache.oldest.age").tag("market", "us").gauge().value())
                 .isEqualTo(44.0);
+        assertThat(meterRegistry.find("stock.watchlist.refresh.duration").tag("market", "us").timer().count())
+                .isEqualTo(1L);
+        assertThat(meterRegistry.find("stock.watchlist.refresh.stage")
+                .tags("stage", "quote", "result", "success").timer().count())
+                .isEqualTo(1L);
     }
 }
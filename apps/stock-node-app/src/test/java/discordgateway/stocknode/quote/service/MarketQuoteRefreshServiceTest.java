@@ -6,11 +6,13 @@ import discordgateway.stocknode.lock.QuoteLockHandle;
 import discordgateway.stocknode.lock.QuoteLockService;
 import discordgateway.stocknode.observability.StockMetricsRecorder;
 import discordgateway.stocknode.quote.model.StockQuote;
+import discordgateway.stocknode.quote.provider.QuoteBatch;
 import discordgateway.stocknode.quote.provider.QuoteProvider;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -19,10 +21,18 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -58,7 +68,7 @@ class MarketQuoteRefreshServiceTest {
                 new StockMetricsRecorder(meterRegistry),
                 Clock.fixed(Instant.parse("2026-05-01T00:00:00Z"), ZoneOffset.UTC)
         );
-        when(quoteProvider.providerName()).thenReturn("finnhub");
+        lenient().when(quoteProvider.providerName()).thenReturn("finnhub");
     }
 
     @Test
@@ -101,4 +111,115 @@ class MarketQuoteRefreshServiceTest {
                 "reason", "rate_limit"
         ).count()).isEqualTo(1.0);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshesBatchUnderOneLockAndOneBudgetReservation() {
+        Instant now = Instant.parse("2026-05-01T00:00:00Z");
+        StockQuote nvdaQuote = new StockQuote("US", "NVDA", new BigDecimal("199.57"), now);
+        StockQuote aaplQuote = new StockQuote("US", "AAPL", new BigDecimal("201.25"), now);
+        QuoteLockHandle lockHandle = new QuoteLockHandle("batch-key", "owner");
+        when(quoteLockService.tryAcquireBatch("US", List.of("NVDA", "AAPL"), Duration.ofSeconds(3))).thenReturn(Optional.of(lockHandle));
+        when(quoteProvider.requestCost(2)).thenReturn(1);
+        when(providerRateLimiter.tryConsume("finnhub", 1, now)).thenReturn(1);
+        when(quoteProvider.fetchQuotes("US", List.of("NVDA", "AAPL")))
+                .thenReturn(new QuoteBatch(Map.of("NVDA", nvdaQuote, "AAPL", aaplQuote), Map.of()));
+
+        QuoteBatchRefreshResult result = marketQuoteRefreshService.refreshQuotes("US", List.of("nvda", "AAPL"));
+
+        assertThat(result.refreshed()).containsExactlyInAnyOrder(nvdaQuote, aaplQuote);
+        assertThat(result.failed()).isEmpty();
+        assertThat(result.rateLimited()).isEmpty();
+        ArgumentCaptor<Collection<StockQuote>> written = ArgumentCaptor.forClass(Collection.class);
+        verify(quoteRepository).saveAll(written.capture(), eq(Duration.ofSeconds(60)));
+        assertThat(written.getValue()).containsExactlyInAnyOrder(nvdaQuote, aaplQuote);
+        verify(quoteLockService).release(lockHandle);
+        assertThat(meterRegistry.counter(
+                "stock.quote.refresh.success",
+                "provider", "finnhub",
+                "market", "us",
+                "symbol", "aapl"
+        ).count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void leavesSymbolsBeyondGrantedBudgetRateLimited() {
+        Instant now = Instant.parse("2026-05-01T00:00:00Z");
+        StockQuote nvdaQuote = new StockQuote("US", "NVDA", new BigDecimal("199.57"), now);
+        when(quoteLockService.tryAcquireBatch("US", List.of("NVDA", "AAPL", "MSFT"), Duration.ofSeconds(3)))
+                .thenReturn(Optional.of(new QuoteLockHandle("batch-key", "owner")));
+        when(quoteProvider.requestCost(anyInt())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(providerRateLimiter.tryConsume("finnhub", 3, now)).thenReturn(1);
+        when(quoteProvider.fetchQuotes("US", List.of("NVDA")))
+                .thenReturn(new QuoteBatch(Map.of("NVDA", nvdaQuote), Map.of()));
+
+        QuoteBatchRefreshResult result = marketQuoteRefreshService.refreshQuotes("US", List.of("NVDA", "AAPL", "MSFT"));
+
+        assertThat(result.refreshed()).containsExactly(nvdaQuote);
+        assertThat(result.rateLimited()).containsExactly("AAPL", "MSFT");
+        assertThat(meterRegistry.counter(
+                "stock.provider.rate.limit.exceeded",
+                "provider", "finnhub"
+        ).count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter(
+                "stock.quote.refresh.failures",
+                "provider", "finnhub",
+                "market", "us",
+                "symbol", "msft",
+                "reason", "rate_limit"
+        ).count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reportsSymbolsTheProviderCouldNotQuote() {
+        Instant now = Instant.parse("2026-05-01T00:00:00Z");
+        StockQuote nvdaQuote = new StockQuote("US", "NVDA", new BigDecimal("199.57"), now);
+        when(quoteLockService.tryAcquireBatch("US", List.of("NVDA", "AAPL"), Duration.ofSeconds(3)))
+                .thenReturn(Optional.of(new QuoteLockHandle("batch-key", "owner")));
+        when(quoteProvider.requestCost(2)).thenReturn(2);
+        when(providerRateLimiter.tryConsume("finnhub", 2, now)).thenReturn(2);
+        when(quoteProvider.fetchQuotes("US", List.of("NVDA", "AAPL"))).thenReturn(new QuoteBatch(
+                Map.of("NVDA", nvdaQuote),
+                Map.of("AAPL", new IllegalStateException("boom"))
+        ));
+
+        QuoteBatchRefreshResult result = marketQuoteRefreshService.refreshQuotes("US", List.of("NVDA", "AAPL"));
+
+        assertThat(result.refreshed()).containsExactly(nvdaQuote);
+        assertThat(result.failed()).containsExactly("AAPL");
+        assertThat(meterRegistry.counter(
+                "stock.quote.refresh.failures",
+                "provider", "finnhub",
+                "market", "us",
+                "symbol", "aapl",
+                "reason", "illegalstateexception"
+        ).count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void holdsBatchLocksForEveryProviderCallMadeInSequence() {
+        when(quoteProvider.sequentialRequests(2)).thenReturn(13);
+        when(quoteLockService.tryAcquireBatch("US", List.of("NVDA", "AAPL"), Duration.ofSeconds(39)))
+                .thenReturn(Optional.empty());
+
+        marketQuoteRefreshService.refreshQuotes("US", List.of("NVDA", "AAPL"));
+
+        verify(quoteLockService).tryAcquireBatch("US", List.of("NVDA", "AAPL"), Duration.ofSeconds(39));
+    }
+
+    @Test
+    void answersBusyBatchFromCacheWithoutReportingItRefreshed() {
+        StockQuote nvdaQuote = new StockQuote("US", "NVDA", new BigDecimal("199.57"), Instant.parse("2026-05-01T00:00:00Z"));
+        when(quoteLockService.tryAcquireBatch("US", List.of("NVDA", "AAPL"), Duration.ofSeconds(3)))
+                .thenReturn(Optional.empty());
+        when(quoteRepository.find("US", "NVDA")).thenReturn(Optional.of(nvdaQuote));
+        when(quoteRepository.find("US", "AAPL")).thenReturn(Optional.empty());
+
+        QuoteBatchRefreshResult result = marketQuoteRefreshService.refreshQuotes("US", List.of("NVDA", "AAPL"));
+
+        assertThat(result.refreshed()).isEmpty();
+        assertThat(result.cached()).containsExactly(nvdaQuote);
+        assertThat(result.failed()).containsExactly("AAPL");
+        verify(quoteProvider, never()).fetchQuotes(eq("US"), anyList());
+    }
 }
@@ -14,6 +14,9 @@ import java.time.Duration;
 import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -69,4 +72,26 @@ class ProviderRateLimitServiceTest {
 
         assertThat(providerRateLimitService.tryConsume("mock", now)).isFalse();
     }
+
+    @Test
+    void grantsWholeBatchWithinBudget() {
+        Instant now = Instant.parse("2026-04-22T07:05:31Z");
+        when(valueOperations.increment("stock:provider:mock:minute:202604220705", 2L)).thenReturn(2L);
+        when(valueOperations.increment("stock:provider:mock:day:2026-04-22", 2L)).thenReturn(2L);
+
+        assertThat(providerRateLimitService.tryConsume("mock", 2, now)).isEqualTo(2);
+        verify(stringRedisTemplate).expire("stock:provider:mock:minute:202604220705", Duration.ofMinutes(2));
+        verify(valueOperations, never()).decrement(anyString(), anyLong());
+    }
+
+    @Test
+    void grantsPartOfBatchAndRefundsTheRest() {
+        Instant now = Instant.parse("2026-04-22T07:05:31Z");
+        when(valueOperations.increment("stock:provider:mock:minute:202604220705", 3L)).thenReturn(4L);
+        when(valueOperations.increment("stock:provider:mock:day:2026-04-22", 3L)).thenReturn(4L);
+
+        assertThat(providerRateLimitService.tryConsume("mock", 3, now)).isEqualTo(1);
+        verify(valueOperations).decrement("stock:provider:mock:minute:202604220705", 2L);
+        verify(valueOperations).decrement("stock:provider:mock:day:2026-04-22", 2L);
+    }
 }
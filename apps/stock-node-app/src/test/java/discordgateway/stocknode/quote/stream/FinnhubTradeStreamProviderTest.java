@@ -0,0 +1,107 @@
+package discordgateway.stocknode.quote.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import discordgateway.stocknode.bootstrap.FinnhubProperties;
+import discordgateway.stocknode.bootstrap.QuoteStreamProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FinnhubTradeStreamProviderTest {
+
+    private DisposableServer server;
+    private FinnhubTradeStreamProvider provider;
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.disconnect();
+        }
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void subscribesAndDeliversTradesFromLocalStandIn() throws Exception {
+        BlockingQueue<String> requestUris = new LinkedBlockingQueue<>();
+        BlockingQueue<String> subscriptions = new LinkedBlockingQueue<>();
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> {
+                    requestUris.add(request.uri());
+                    return response.sendWebsocket((inbound, outbound) -> outbound.sendString(
+                            inbound.receive()
+                                    .asString()
+                                    .doOnNext(subscriptions::add)
+                                    .filter(message -> message.contains("\"subscribe\""))
+                                    .flatMapIterable(ignored -> List.of(
+                                            """
+                                            {"type":"ping"}
+                                            """,
+                                            """
+                                            {"type":"trade","data":[
+                                              {"s":"AAPL","p":201.25,"t":1777644000000,"v":10},
+                                              {"s":"AAPL","p":0,"t":1777644000001,"v":1}
+                                            ]}
+                                            """
+                                    ))
+                    ));
+                })
+                .bindNow();
+
+        BlockingQueue<QuoteTick> ticks = new LinkedBlockingQueue<>();
+        provider = new FinnhubTradeStreamProvider(new ObjectMapper(), streamProperties(), finnhubProperties());
+        provider.subscribe(List.of("aapl"));
+        provider.connect(ticks::add);
+
+        QuoteTick tick = ticks.poll(5, TimeUnit.SECONDS);
+
+        assertThat(tick).isNotNull();
+        assertThat(tick.symbol()).isEqualTo("AAPL");
+        assertThat(tick.price()).isEqualByComparingTo("201.25");
+        assertThat(tick.tradedAt()).isEqualTo(Instant.ofEpochMilli(1777644000000L));
+        assertThat(ticks.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(requestUris.poll(1, TimeUnit.SECONDS)).endsWith("?token=test-key");
+        assertThat(subscriptions.poll(1, TimeUnit.SECONDS)).contains("\"symbol\":\"AAPL\"");
+        assertThat(provider.isConnected()).isTrue();
+    }
+
+    @Test
+    void requiresApiKey() {
+        FinnhubProperties finnhubProperties = finnhubProperties();
+        finnhubProperties.setApiKey("");
+        provider = new FinnhubTradeStreamProvider(new ObjectMapper(), streamProperties(), finnhubProperties);
+
+        assertThatThrownBy(() -> provider.connect(tick -> {
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("API key");
+    }
+
+    private QuoteStreamProperties streamProperties() {
+        QuoteStreamProperties properties = new QuoteStreamProperties();
+        properties.setUrl(server == null ? "ws://127.0.0.1:1" : "ws://127.0.0.1:" + server.port());
+        properties.setConnectTimeout(Duration.ofSeconds(2));
+        properties.setReconnectDelay(Duration.ofMillis(100));
+        return properties;
+    }
+
+    private FinnhubProperties finnhubProperties() {
+        FinnhubProperties properties = new FinnhubProperties();
+        properties.setApiKey("test-key");
+        return properties;
+    }
+}
@@ -0,0 +1,58 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.QueueEntry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class QueueEntryCodecBenchmark {
+
+    @Param({"base64", "binary"})
+    public String codecName;
+
+    private QueueEntryCodec codec;
+    private QueueEntry entry;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = "binary".equals(codecName) ? new BinaryQueueEntryCodec() : new Base64QueueEntryCodec();
+        entry = new QueueEntry(
+                "https://www.youtube.com/watch?v=dQw4w9WgXcQ",
+                "Rick Astley - Never Gonna Give You Up (Official Music Video)",
+                "Rick Astley",
+                1_735_689_600_000L
+        );
+        encoded = codec.encode(entry);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize payloadSize) {
+        byte[] bytes = codec.encode(entry);
+        payloadSize.bytesPerEntry = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public QueueEntry decode() {
+        return codec.decode(encoded);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytesPerEntry;
+    }
+}
@@ -0,0 +1,156 @@
+package discordgateway.playback.audio;
+
+import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.ResamplingPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One operation produces one second of output for one guild (50 Opus frames), so the score in ops/s
+ * reads directly as guilds per core for the profile. Transcoding profiles resample 44.1 kHz stereo
+ * PCM to 48 kHz and encode it; PASSTHROUGH models an Opus source forwarded without transcoding.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class AudioQualityProfileBenchmark {
+
+    private static final int SOURCE_RATE = 44_100;
+    private static final int TARGET_RATE = 48_000;
+    private static final int CHANNELS = 2;
+    private static final int FRAME_SAMPLES = 960;
+    private static final int FRAMES_PER_SECOND = 50;
+    private static final int SOURCE_CHUNK_SAMPLES = SOURCE_RATE / FRAMES_PER_SECOND;
+
+    @Param({"MAX", "PASSTHROUGH", "BALANCED", "LOW"})
+    public String profileName;
+
+    private AudioQualityProfile profile;
+    private float[][] sourceChunk;
+    private EncodingSink sink;
+    private ResamplingPcmAudioFilter resampler;
+    private ByteBuffer opusPacket;
+    private ByteBuffer frameBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        profile = AudioQualityProfile.valueOf(profileName);
+        AudioConfiguration configuration = new AudioConfiguration();
+        profile.applyTo(configuration);
+
+        sourceChunk = new float[CHANNELS][SOURCE_CHUNK_SAMPLES];
+        for (int i = 0; i < SOURCE_CHUNK_SAMPLES; i++) {
+            float sample = (float) Math.sin(2.0 * Math.PI * 440.0 * i / SOURCE_RATE) * 0.5f;
+            sourceChunk[0][i] = sample;
+            sourceChunk[1][i] = sample;
+        }
+
+        sink = new EncodingSink(profile.opusQuality());
+        resampler = new ResamplingPcmAudioFilter(configuration, CHANNELS, sink, SOURCE_RATE, TARGET_RATE);
+        opusPacket = sink.encodeSilence();
+        frameBuffer = ByteBuffer.allocateDirect(1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        resampler.close();
+        sink.close();
+    }
+
+    @Benchmark
+    public long oneGuildSecond() throws InterruptedException {
+        if (profile == AudioQualityProfile.PASSTHROUGH) {
+            long bytes = 0L;
+            for (int frame = 0; frame < FRAMES_PER_SECOND; frame++) {
+                frameBuffer.clear();
+                frameBuffer.put(opusPacket.duplicate());
+                bytes += frameBuffer.position();
+            }
+            return bytes;
+        }
+
+        long before = sink.encodedBytes;
+        for (int frame = 0; frame < FRAMES_PER_SECOND; frame++) {
+            resampler.process(sourceChunk, 0, SOURCE_CHUNK_SAMPLES);
+        }
+        return sink.encodedBytes - before;
+    }
+
+    private static final class EncodingSink implements FloatPcmAudioFilter {
+
+        private final OpusEncoder encoder;
+        private final ShortBuffer pcm;
+        private final ByteBuffer output;
+        private int buffered;
+        private long encodedBytes;
+
+        private EncodingSink(int quality) {
+            this.encoder = new OpusEncoder(TARGET_RATE, CHANNELS, quality);
+            this.pcm = ByteBuffer.allocateDirect(FRAME_SAMPLES * CHANNELS * Short.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asShortBuffer();
+            this.output = ByteBuffer.allocateDirect(4096);
+        }
+
+        @Override
+        public void process(float[][] input, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                pcm.put((short) (input[0][i] * Short.MAX_VALUE));
+                pcm.put((short) (input[1][i] * Short.MAX_VALUE));
+                if (++buffered == FRAME_SAMPLES) {
+                    encodeFrame();
+                }
+            }
+        }
+
+        private ByteBuffer encodeSilence() {
+            while (buffered < FRAME_SAMPLES) {
+                pcm.put((short) 0);
+                pcm.put((short) 0);
+                buffered++;
+            }
+            encodeFrame();
+            ByteBuffer packet = ByteBuffer.allocateDirect(output.remaining());
+            packet.put(output.duplicate()).flip();
+            return packet;
+        }
+
+        private void encodeFrame() {
+            pcm.flip();
+            output.clear();
+            int length = encoder.encode(pcm, FRAME_SAMPLES, output);
+            output.limit(length);
+            encodedBytes += length;
+            pcm.clear();
+            buffered = 0;
+        }
+
+        @Override
+        public void seekPerformed(long requestedTime, long providedTime) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            encoder.close();
+        }
+    }
+}
@@ -6,7 +6,39 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class AppProperties {
 
     private long guildLockTtlMs = 15_000L;
+    private long guildLockWaitMs = 250L;
     private String nodeName = "discord-node";
+    private long playerStateFlushDelayMs = 100L;
+    private long playerStateCacheTtlMs = 30_000L;
+    private String queueEntryCodec = "base64";
+    private long queueViewCacheTtlMs = 5_000L;
+    private int playlistMaxTracks = 500;
+    private int playlistSyncImportThreshold = 50;
+    private int resolvedTrackBufferSize = 10;
+    private long resolvedTrackMaxAgeMs = 600_000L;
+    private int resolvedTrackNodeBudget = 1_000;
+    private long prefetchLeadMs = 10_000L;
+    private int trackResolutionLocalMaxEntries = 1_000;
+    private long trackResolutionLocalTtlMs = 600_000L;
+    private long trackResolutionTtlMs = 21_600_000L;
+    private long trackResolutionNegativeTtlMs = 300_000L;
+    private int trackResolutionMaxTracks = 50;
+    private int recoveryBatchSize = 200;
+    private int recoveryMaxConcurrentLoads = 8;
+    private long recoveryVoiceConnectIntervalMs = 100L;
+    private long recoveryReadinessTimeoutMs = 120_000L;
+    private long playbackCheckpointIntervalMs = 5_000L;
+    private boolean sendBufferEnabled;
+    private int sendBufferFrames = 8;
+    private long sendBufferFillIntervalMs = 10L;
+    private String audioQualityProfile = "max";
+    private int adaptiveQualityPlayerThreshold = 150;
+    private long adaptiveQualityProvideLatencyMicros = 1_000L;
+    private long adaptiveQualityCheckIntervalMs = 10_000L;
+    private int maxActivePlayers;
+    private int admissionMaxReroutes = 2;
+    private long playerIdleEvictionMs = 600_000L;
+    private long playerEvictionIntervalMs = 60_000L;
 
     public long getGuildLockTtlMs() {
         return guildLockTtlMs;
@@ -16,6 +48,14 @@ public class AppProperties {
         this.guildLockTtlMs = guildLockTtlMs;
     }
 
+    public long getGuildLockWaitMs() {
+        return guildLockWaitMs;
+    }
+
+    public void setGuildLockWaitMs(long guildLockWaitMs) {
+        this.guildLockWaitMs = guildLockWaitMs;
+    }
+
     public String getNodeName() {
         return nodeName;
     }
@@ -23,4 +63,252 @@ public class AppProperties {
     public void setNodeName(String nodeName) {
         this.nodeName = nodeName;
     }
+
+    public long getPlayerStateFlushDelayMs() {
+        return playerStateFlushDelayMs;
+    }
+
+    public void setPlayerStateFlushDelayMs(long playerStateFlushDelayMs) {
+        this.playerStateFlushDelayMs = playerStateFlushDelayMs;
+    }
+
+    public long getPlayerStateCacheTtlMs() {
+        return playerStateCacheTtlMs;
+    }
+
+    public void setPlayerStateCacheTtlMs(long playerStateCacheTtlMs) {
+        this.playerStateCacheTtlMs = playerStateCacheTtlMs;
+    }
+
+    public String getQueueEntryCodec() {
+        return queueEntryCodec;
+    }
+
+    public void setQueueEntryCodec(String queueEntryCodec) {
+        this.queueEntryCodec = queueEntryCodec;
+    }
+
+    public long getQueueViewCacheTtlMs() {
+        return queueViewCacheTtlMs;
+    }
+
+    public void setQueueViewCacheTtlMs(long queueViewCacheTtlMs) {
+        this.queueViewCacheTtlMs = queueViewCacheTtlMs;
+    }
+
+    public int getPlaylistMaxTracks() {
+        return playlistMaxTracks;
+    }
+
+    public void setPlaylistMaxTracks(int playlistMaxTracks) {
+        this.playlistMaxTracks = playlistMaxTracks;
+    }
+
+    public int getPlaylistSyncImportThreshold() {
+        return playlistSyncImportThreshold;
+    }
+
+    public void setPlaylistSyncImportThreshold(int playlistSyncImportThreshold) {
+        this.playlistSyncImportThreshold = playlistSyncImportThreshold;
+    }
+
+    public int getResolvedTrackBufferSize() {
+        return resolvedTrackBufferSize;
+    }
+
+    public void setResolvedTrackBufferSize(int resolvedTrackBufferSize) {
+        this.resolvedTrackBufferSize = resolvedTrackBufferSize;
+    }
+
+    public long getResolvedTrackMaxAgeMs() {
+        return resolvedTrackMaxAgeMs;
+    }
+
+    public void setResolvedTrackMaxAgeMs(long resolvedTrackMaxAgeMs) {
+        this.resolvedTrackMaxAgeMs = resolvedTrackMaxAgeMs;
+    }
+
+    public int getResolvedTrackNodeBudget() {
+        return resolvedTrackNodeBudget;
+    }
+
+    public void setResolvedTrackNodeBudget(int resolvedTrackNodeBudget) {
+        this.resolvedTrackNodeBudget = resolvedTrackNodeBudget;
+    }
+
+    public long getPrefetchLeadMs() {
+        return prefetchLeadMs;
+    }
+
+    public void setPrefetchLeadMs(long prefetchLeadMs) {
+        this.prefetchLeadMs = prefetchLeadMs;
+    }
+
+    public int getTrackResolutionLocalMaxEntries() {
+        return trackResolutionLocalMaxEntries;
+    }
+
+    public void setTrackResolutionLocalMaxEntries(int trackResolutionLocalMaxEntries) {
+        this.trackResolutionLocalMaxEntries = trackResolutionLocalMaxEntries;
+    }
+
+    public long getTrackResolutionLocalTtlMs() {
+        return trackResolutionLocalTtlMs;
+    }
+
+    public void setTrackResolutionLocalTtlMs(long trackResolutionLocalTtlMs) {
+        this.trackResolutionLocalTtlMs = trackResolutionLocalTtlMs;
+    }
+
+    public long getTrackResolutionTtlMs() {
+        return trackResolutionTtlMs;
+    }
+
+    public void setTrackResolutionTtlMs(long trackResolutionTtlMs) {
+        this.trackResolutionTtlMs = trackResolutionTtlMs;
+    }
+
+    public long getTrackResolutionNegativeTtlMs() {
+        return trackResolutionNegativeTtlMs;
+    }
+
+    public void setTrackResolutionNegativeTtlMs(long trackResolutionNegativeTtlMs) {
+        this.trackResolutionNegativeTtlMs = trackResolutionNegativeTtlMs;
+    }
+
+    public int getTrackResolutionMaxTracks() {
+        return trackResolutionMaxTracks;
+    }
+
+    public void setTrackResolutionMaxTracks(int trackResolutionMaxTracks) {
+        this.trackResolutionMaxTracks = trackResolutionMaxTracks;
+    }
+
+    public int getRecoveryBatchSize() {
+        return recoveryBatchSize;
+    }
+
+    public void setRecoveryBatchSize(int recoveryBatchSize) {
+        this.recoveryBatchSize = recoveryBatchSize;
+    }
+
+    public int getRecoveryMaxConcurrentLoads() {
+        return recoveryMaxConcurrentLoads;
+    }
+
+    public void setRecoveryMaxConcurrentLoads(int recoveryMaxConcurrentLoads) {
+        this.recoveryMaxConcurrentLoads = recoveryMaxConcurrentLoads;
+    }
+
+    public long getRecoveryVoiceConnectIntervalMs() {
+        return recoveryVoiceConnectIntervalMs;
+    }
+
+    public void setRecoveryVoiceConnectIntervalMs(long recoveryVoiceConnectIntervalMs) {
+        this.recoveryVoiceConnectIntervalMs = recoveryVoiceConnectIntervalMs;
+    }
+
+    public long getRecoveryReadinessTimeoutMs() {
+        return recoveryReadinessTimeoutMs;
+    }
+
+    public void setRecoveryReadinessTimeoutMs(long recoveryReadinessTimeoutMs) {
+        this.recoveryReadinessTimeoutMs = recoveryReadinessTimeoutMs;
+    }
+
+    public long getPlaybackCheckpointIntervalMs() {
+        return playbackCheckpointIntervalMs;
+    }
+
+    public void setPlaybackCheckpointIntervalMs(long playbackCheckpointIntervalMs) {
+        this.playbackCheckpointIntervalMs = playbackCheckpointIntervalMs;
+    }
+
+    public boolean isSendBufferEnabled() {
+        return sendBufferEnabled;
+    }
+
+    public void setSendBufferEnabled(boolean sendBufferEnabled) {
+        this.sendBufferEnabled = sendBufferEnabled;
+    }
+
+    public int getSendBufferFrames() {
+        return sendBufferFrames;
+    }
+
+    public void setSendBufferFrames(int sendBufferFrames) {
+        this.sendBufferFrames = sendBufferFrames;
+    }
+
+    public long getSendBufferFillIntervalMs() {
+        return sendBufferFillIntervalMs;
+    }
+
+    public void setSendBufferFillIntervalMs(long sendBufferFillIntervalMs) {
+        this.sendBufferFillIntervalMs = sendBufferFillIntervalMs;
+    }
+
+    public String getAudioQualityProfile() {
+        return audioQualityProfile;
+    }
+
+    public void setAudioQualityProfile(String audioQualityProfile) {
+        this.audioQualityProfile = audioQualityProfile;
+    }
+
+    public int getAdaptiveQualityPlayerThreshold() {
+        return adaptiveQualityPlayerThreshold;
+    }
+
+    public void setAdaptiveQualityPlayerThreshold(int adaptiveQualityPlayerThreshold) {
+        this.adaptiveQualityPlayerThreshold = adaptiveQualityPlayerThreshold;
+    }
+
+    public long getAdaptiveQualityProvideLatencyMicros() {
+        return adaptiveQualityProvideLatencyMicros;
+    }
+
+    public void setAdaptiveQualityProvideLatencyMicros(long adaptiveQualityProvideLatencyMicros) {
+        this.adaptiveQualityProvideLatencyMicros = adaptiveQualityProvideLatencyMicros;
+    }
+
+    public long getAdaptiveQualityCheckIntervalMs() {
+        return adaptiveQualityCheckIntervalMs;
+    }
+
+    public void setAdaptiveQualityCheckIntervalMs(long adaptiveQualityCheckIntervalMs) {
+        this.adaptiveQualityCheckIntervalMs = adaptiveQualityCheckIntervalMs;
+    }
+
+    public int getMaxActivePlayers() {
+        return maxActivePlayers;
+    }
+
+    public void setMaxActivePlayers(int maxActivePlayers) {
+        this.maxActivePlayers = maxActivePlayers;
+    }
+
+    public int getAdmissionMaxReroutes() {
+        return admissionMaxReroutes;
+    }
+
+    public void setAdmissionMaxReroutes(int admissionMaxReroutes) {
+        this.admissionMaxReroutes = admissionMaxReroutes;
+    }
+
+    public long getPlayerIdleEvictionMs() {
+        return playerIdleEvictionMs;
+    }
+
+    public void setPlayerIdleEvictionMs(long playerIdleEvictionMs) {
+        this.playerIdleEvictionMs = playerIdleEvictionMs;
+    }
+
+    public long getPlayerEvictionIntervalMs() {
+        return playerEvictionIntervalMs;
+    }
+
+    public void setPlayerEvictionIntervalMs(long playerEvictionIntervalMs) {
+        this.playerEvictionIntervalMs = playerEvictionIntervalMs;
+    }
 }
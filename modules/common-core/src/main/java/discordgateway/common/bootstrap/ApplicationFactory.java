@@ -7,25 +7,43 @@ import discordgateway.playback.application.VoiceSessionLifecycleService;
 import discordgateway.common.event.MusicEventFactory;
 import discordgateway.common.event.MusicEventPublisher;
 import discordgateway.common.event.SpringMusicEventPublisher;
+import discordgateway.playback.audio.AudioFramePump;
+import discordgateway.playback.audio.AudioQualityController;
+import discordgateway.playback.audio.PlaybackInstrumentation;
 import discordgateway.playback.audio.PlayerManager;
+import discordgateway.playback.audio.PlayerManagerMetrics;
+import discordgateway.playback.audio.ResolvedTrackBudget;
+import discordgateway.playback.audio.TrackResolutionCache;
+import discordgateway.playback.domain.AudioNodeRegistry;
 import discordgateway.playback.domain.GuildPlaybackLockManager;
 import discordgateway.playback.domain.GuildStateRepository;
 import discordgateway.playback.domain.PlayerStateRepository;
 import discordgateway.playback.domain.ProcessedCommandRepository;
 import discordgateway.playback.domain.QueueRepository;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
 import discordgateway.infra.audio.JdaVoiceGateway;
 import discordgateway.infra.audio.LavaPlayerPlaybackGateway;
 import discordgateway.infra.audio.PlaybackGateway;
 import discordgateway.infra.audio.VoiceGateway;
 import discordgateway.infra.discord.JdaDiscordReferenceResolver;
 import discordgateway.infra.discord.JdaRuntimeContext;
+import discordgateway.infra.messaging.rabbit.GuildCommandRouter;
 import discordgateway.infra.messaging.rabbit.RabbitMusicCommandResultPublisher;
+import discordgateway.infra.redis.BinaryQueueEntryCodec;
+import discordgateway.infra.redis.CachingProcessedCommandRepository;
+import discordgateway.infra.redis.CachingQueueRepository;
+import discordgateway.infra.redis.QueueEntryCodec;
+import discordgateway.infra.redis.RedisAudioNodeRegistry;
 import discordgateway.infra.redis.RedisGuildPlaybackLockManager;
 import discordgateway.infra.redis.RedisGuildStateRepository;
 import discordgateway.infra.redis.RedisPlayerStateRepository;
+import discordgateway.infra.redis.RedisPoolMetrics;
 import discordgateway.infra.redis.RedisProcessedCommandRepository;
 import discordgateway.infra.redis.RedisQueueRepository;
 import discordgateway.infra.redis.RedisSupport;
+import discordgateway.infra.redis.RedisTrackResolutionRepository;
+import discordgateway.infra.redis.WriteBehindPlayerStateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import moe.kyokobot.libdave.NativeDaveFactory;
 import moe.kyokobot.libdave.jda.LDJDADaveSessionFactory;
 import net.dv8tion.jda.api.JDA;
@@ -77,37 +95,85 @@ public class ApplicationFactory {
     }
 
     @Bean
-    public QueueRepository queueRepository(RedisSupport redisSupport) {
-        return new RedisQueueRepository(redisSupport.pool());
+    public QueueRepository queueRepository(AppProperties appProperties, RedisSupport redisSupport) {
+        return new CachingQueueRepository(
+                new RedisQueueRepository(redisSupport.pool(), queueEntryCodec(appProperties)),
+                appProperties.getQueueViewCacheTtlMs()
+        );
     }
 
-    @Bean
-    public PlayerStateRepository playerStateRepository(RedisSupport redisSupport) {
-        return new RedisPlayerStateRepository(redisSupport.pool());
+    @Bean(destroyMethod = "close")
+    public PlayerStateRepository playerStateRepository(
+            AppProperties appProperties,
+            RedisSupport redisSupport
+    ) {
+        return new WriteBehindPlayerStateRepository(
+                new RedisPlayerStateRepository(redisSupport.pool()),
+                appProperties.getPlayerStateFlushDelayMs(),
+                appProperties.getPlayerStateCacheTtlMs()
+        );
     }
 
     @Bean
-    public ProcessedCommandRepository processedCommandRepository(RedisSupport redisSupport) {
-        return new RedisProcessedCommandRepository(redisSupport.pool());
+    public AudioNodeRegistry audioNodeRegistry(RedisSupport redisSupport) {
+        return new RedisAudioNodeRegistry(redisSupport.pool());
     }
 
     @Bean
+    public GuildCommandRouter guildCommandRouter(
+            PlayerStateRepository playerStateRepository,
+            AudioNodeRegistry audioNodeRegistry,
+            MessagingProperties messagingProperties
+    ) {
+        return new GuildCommandRouter(playerStateRepository, audioNodeRegistry, messagingProperties);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ProcessedCommandRepository processedCommandRepository(
+            MessagingProperties messagingProperties,
+            RedisSupport redisSupport
+    ) {
+        return new CachingProcessedCommandRepository(
+                new RedisProcessedCommandRepository(
+                        redisSupport.pool(),
+                        messagingProperties.getCommandDedupCompleteFlushDelayMs()
+                ),
+                messagingProperties.getCommandDedupLocalMaxEntries()
+        );
+    }
+
+    @Bean(destroyMethod = "close")
     public GuildPlaybackLockManager guildPlaybackLockManager(
             AppProperties appProperties,
-            RedisSupport redisSupport
+            RedisSupport redisSupport,
+            PlaybackMetricsRecorder playbackMetricsRecorder
     ) {
         return new RedisGuildPlaybackLockManager(
                 redisSupport.pool(),
-                appProperties.getGuildLockTtlMs()
+                redisSupport::openDedicatedConnection,
+                appProperties.getNodeName(),
+                appProperties.getGuildLockTtlMs(),
+                appProperties.getGuildLockWaitMs(),
+                playbackMetricsRecorder
         );
     }
 
+    @Bean
+    public PlaybackMetricsRecorder playbackMetricsRecorder(MeterRegistry meterRegistry) {
+        return new PlaybackMetricsRecorder(meterRegistry);
+    }
+
     @Bean
     @Lazy
     public RedisSupport redisSupport(RedisConnectionProperties properties) {
         return new RedisSupport(properties);
     }
 
+    @Bean
+    public RedisPoolMetrics redisPoolMetrics(RedisSupport redisSupport) {
+        return new RedisPoolMetrics(redisSupport.pool());
+    }
+
     @Bean
     public MusicEventFactory musicEventFactory(AppProperties appProperties) {
         return new MusicEventFactory(appProperties);
@@ -119,6 +185,7 @@ public class ApplicationFactory {
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
     public PlayerManager playerManager(
             QueueRepository queueRepository,
             PlayerStateRepository playerStateRepository,
@@ -126,7 +193,12 @@ public class ApplicationFactory {
             AppProperties appProperties,
             YouTubeProperties youTubeProperties,
             MusicEventPublisher musicEventPublisher,
-            MusicEventFactory musicEventFactory
+            MusicEventFactory musicEventFactory,
+            ResolvedTrackBudget resolvedTrackBudget,
+            TrackResolutionCache trackResolutionCache,
+            AudioFramePump audioFramePump,
+            AudioQualityController audioQualityController,
+            PlaybackInstrumentation playbackInstrumentation
     ) {
         return new PlayerManager(
                 queueRepository,
@@ -135,11 +207,88 @@ public class ApplicationFactory {
                 appProperties,
                 youTubeProperties,
                 musicEventPublisher,
-                musicEventFactory
+                musicEventFactory,
+                resolvedTrackBudget,
+                trackResolutionCache,
+                audioFramePump,
+                audioQualityController,
+                playbackInstrumentation
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
+    public PlaybackInstrumentation playbackInstrumentation(PlaybackMetricsRecorder playbackMetricsRecorder) {
+        return new PlaybackInstrumentation(playbackMetricsRecorder);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
+    public PlayerManagerMetrics playerManagerMetrics(
+            PlayerManager playerManager,
+            PlaybackInstrumentation playbackInstrumentation
+    ) {
+        return new PlayerManagerMetrics(playerManager, playbackInstrumentation);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
+    public AudioQualityController audioQualityController(
+            AppProperties appProperties,
+            PlaybackMetricsRecorder playbackMetricsRecorder
+    ) {
+        return new AudioQualityController(
+                appProperties.getAudioQualityProfile(),
+                appProperties.getAdaptiveQualityPlayerThreshold(),
+                appProperties.getAdaptiveQualityProvideLatencyMicros(),
+                appProperties.getAdaptiveQualityCheckIntervalMs(),
+                playbackMetricsRecorder
+        );
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
+    public AudioFramePump audioFramePump(
+            AppProperties appProperties,
+            PlaybackMetricsRecorder playbackMetricsRecorder
+    ) {
+        return new AudioFramePump(
+                appProperties.isSendBufferEnabled(),
+                appProperties.getSendBufferFrames(),
+                appProperties.getSendBufferFillIntervalMs(),
+                playbackMetricsRecorder
         );
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
+    public TrackResolutionCache trackResolutionCache(
+            AppProperties appProperties,
+            RedisSupport redisSupport,
+            PlaybackMetricsRecorder playbackMetricsRecorder
+    ) {
+        return new TrackResolutionCache(
+                new RedisTrackResolutionRepository(redisSupport.pool()),
+                playbackMetricsRecorder,
+                appProperties.getTrackResolutionLocalMaxEntries(),
+                appProperties.getTrackResolutionLocalTtlMs(),
+                appProperties.getTrackResolutionTtlMs(),
+                appProperties.getTrackResolutionNegativeTtlMs(),
+                appProperties.getTrackResolutionMaxTracks()
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
+    public ResolvedTrackBudget resolvedTrackBudget(
+            AppProperties appProperties,
+            PlaybackMetricsRecorder playbackMetricsRecorder
+    ) {
+        return new ResolvedTrackBudget(appProperties.getResolvedTrackNodeBudget(), playbackMetricsRecorder);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
     public PlaybackGateway playbackGateway(PlayerManager playerManager, QueueRepository queueRepository) {
         return new LavaPlayerPlaybackGateway(playerManager, queueRepository);
     }
@@ -158,6 +307,7 @@ public class ApplicationFactory {
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
     public MusicWorkerService musicWorkerService(
             DiscordReferenceResolver discordReferenceResolver,
             PlaybackGateway playbackGateway,
@@ -181,6 +331,7 @@ public class ApplicationFactory {
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "app", name = "playback-enabled", havingValue = "true", matchIfMissing = true)
     public VoiceSessionLifecycleService voiceSessionLifecycleService(
             PlaybackGateway playbackGateway,
             QueueRepository queueRepository,
@@ -255,6 +406,14 @@ public class ApplicationFactory {
         return jda;
     }
 
+    private QueueEntryCodec queueEntryCodec(AppProperties appProperties) {
+        String configured = trimToNull(appProperties.getQueueEntryCodec());
+        if ("base64".equalsIgnoreCase(configured)) {
+            return BinaryQueueEntryCodec.writingLegacy();
+        }
+        return new BinaryQueueEntryCodec();
+    }
+
     private String resolveDiscordToken(DiscordProperties discordProperties, Environment environment) {
         String configured = trimToNull(discordProperties.getToken());
         if (configured != null) {
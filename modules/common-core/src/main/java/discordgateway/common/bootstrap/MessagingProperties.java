@@ -15,6 +15,17 @@ public class MessagingProperties {
     private String commandResultRoutingKeyPrefix = "music.command.result.";
     private String commandResultQueuePrefix = "music.command.result.";
     private long commandDedupTtlMs = 300_000L;
+    private int commandDedupLocalMaxEntries = 10_000;
+    private long commandDedupCompleteFlushDelayMs = 50L;
+    private boolean commandOwnerRoutingEnabled = true;
+    private String commandNodeRoutingKeyPrefix = "music.command.node.";
+    private String commandNodeQueuePrefix = "music.command.node.";
+    private long nodeHeartbeatIntervalMs = 5_000L;
+    private long nodeHeartbeatTtlMs = 15_000L;
+    private long commandNodeMessageTtlMs = 30_000L;
+    private String handoffRoutingKey = "music.handoff";
+    private String handoffQueue = "music.handoff.queue";
+    private long handoffReplyTimeoutMs = 10_000L;
 
     public String getCommandExchange() {
         return commandExchange;
@@ -96,6 +107,102 @@ public class MessagingProperties {
         this.commandDedupTtlMs = commandDedupTtlMs;
     }
 
+    public int getCommandDedupLocalMaxEntries() {
+        return commandDedupLocalMaxEntries;
+    }
+
+    public void setCommandDedupLocalMaxEntries(int commandDedupLocalMaxEntries) {
+        this.commandDedupLocalMaxEntries = commandDedupLocalMaxEntries;
+    }
+
+    public long getCommandDedupCompleteFlushDelayMs() {
+        return commandDedupCompleteFlushDelayMs;
+    }
+
+    public void setCommandDedupCompleteFlushDelayMs(long commandDedupCompleteFlushDelayMs) {
+        this.commandDedupCompleteFlushDelayMs = commandDedupCompleteFlushDelayMs;
+    }
+
+    public boolean isCommandOwnerRoutingEnabled() {
+        return commandOwnerRoutingEnabled;
+    }
+
+    public void setCommandOwnerRoutingEnabled(boolean commandOwnerRoutingEnabled) {
+        this.commandOwnerRoutingEnabled = commandOwnerRoutingEnabled;
+    }
+
+    public String getCommandNodeRoutingKeyPrefix() {
+        return commandNodeRoutingKeyPrefix;
+    }
+
+    public void setCommandNodeRoutingKeyPrefix(String commandNodeRoutingKeyPrefix) {
+        this.commandNodeRoutingKeyPrefix = commandNodeRoutingKeyPrefix;
+    }
+
+    public String getCommandNodeQueuePrefix() {
+        return commandNodeQueuePrefix;
+    }
+
+    public void setCommandNodeQueuePrefix(String commandNodeQueuePrefix) {
+        this.commandNodeQueuePrefix = commandNodeQueuePrefix;
+    }
+
+    public long getNodeHeartbeatIntervalMs() {
+        return nodeHeartbeatIntervalMs;
+    }
+
+    public void setNodeHeartbeatIntervalMs(long nodeHeartbeatIntervalMs) {
+        this.nodeHeartbeatIntervalMs = nodeHeartbeatIntervalMs;
+    }
+
+    public long getNodeHeartbeatTtlMs() {
+        return nodeHeartbeatTtlMs;
+    }
+
+    public void setNodeHeartbeatTtlMs(long nodeHeartbeatTtlMs) {
+        this.nodeHeartbeatTtlMs = nodeHeartbeatTtlMs;
+    }
+
+    public long getCommandNodeMessageTtlMs() {
+        return commandNodeMessageTtlMs;
+    }
+
+    public void setCommandNodeMessageTtlMs(long commandNodeMessageTtlMs) {
+        this.commandNodeMessageTtlMs = commandNodeMessageTtlMs;
+    }
+
+    public String getHandoffRoutingKey() {
+        return handoffRoutingKey;
+    }
+
+    public void setHandoffRoutingKey(String handoffRoutingKey) {
+        this.handoffRoutingKey = handoffRoutingKey;
+    }
+
+    public String getHandoffQueue() {
+        return handoffQueue;
+    }
+
+    public void setHandoffQueue(String handoffQueue) {
+        this.handoffQueue = handoffQueue;
+    }
+
+    public long getHandoffReplyTimeoutMs() {
+        return handoffReplyTimeoutMs;
+    }
+
+    public void setHandoffReplyTimeoutMs(long handoffReplyTimeoutMs) {
+        this.handoffReplyTimeoutMs = handoffReplyTimeoutMs;
+    }
+
+    public String commandNodeRoutingKey(String nodeName) {
+        return commandNodeRoutingKeyPrefix + nodeName;
+    }
+
+    public String commandNodeQueue(String nodeName) {
+        return commandNodeQueuePrefix + nodeName + ".queue";
+    }
+
     public String commandResultRoutingKey(String nodeName) {
         return commandResultRoutingKeyPrefix + nodeName;
     }
@@ -1,5 +1,7 @@
 package discordgateway.common.bootstrap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
@@ -9,23 +11,53 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Component
 public class ReadyFileLifecycle {
 
+    private static final Logger log = LoggerFactory.getLogger(ReadyFileLifecycle.class);
     private static final Path READY_FILE = Path.of("/tmp/ready");
 
+    private final List<CompletableFuture<?>> gates = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
     public ReadyFileLifecycle() throws IOException {
         Files.deleteIfExists(READY_FILE);
     }
 
+    public void holdUntil(String name, CompletableFuture<?> gate) {
+        gates.add(gate.whenComplete((ignored, err) -> log.atInfo()
+                .addKeyValue("gate", name)
+                .addKeyValue("failed", err != null)
+                .log("readiness gate opened")));
+    }
+
     @EventListener(ApplicationReadyEvent.class)
-    public void onReady() throws IOException {
-        Files.writeString(READY_FILE, "ready", StandardCharsets.UTF_8);
+    public void onReady() {
+        CompletableFuture.allOf(gates.toArray(CompletableFuture[]::new))
+                .handle((ignored, err) -> null)
+                .thenRun(this::writeReadyFile);
     }
 
     @EventListener(ContextClosedEvent.class)
     public void onClosed() throws IOException {
+        closed = true;
         Files.deleteIfExists(READY_FILE);
     }
+
+    private void writeReadyFile() {
+        if (closed) {
+            return;
+        }
+        try {
+            Files.writeString(READY_FILE, "ready", StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.atWarn()
+                    .setCause(e)
+                    .log("ready file write failed");
+        }
+    }
 }
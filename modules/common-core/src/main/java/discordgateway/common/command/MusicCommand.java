@@ -55,7 +55,10 @@ public sealed interface MusicCommand permits
     record Skip(long guildId) implements MusicCommand {
     }
 
-    record Queue(long guildId) implements MusicCommand {
+    record Queue(
+            long guildId,
+            int page
+    ) implements MusicCommand {
     }
 
     record Clear(long guildId) implements MusicCommand {
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
         @JsonSubTypes.Type(value = MusicEvent.VoiceConnectionChanged.class, name = "voiceConnectionChanged"),
         @JsonSubTypes.Type(value = MusicEvent.AutoPlaySettingChanged.class, name = "autoPlaySettingChanged"),
         @JsonSubTypes.Type(value = MusicEvent.TrackQueued.class, name = "trackQueued"),
+        @JsonSubTypes.Type(value = MusicEvent.TrackBatchQueued.class, name = "trackBatchQueued"),
         @JsonSubTypes.Type(value = MusicEvent.TrackPlaybackChanged.class, name = "trackPlaybackChanged"),
         @JsonSubTypes.Type(value = MusicEvent.QueueCleared.class, name = "queueCleared"),
         @JsonSubTypes.Type(value = MusicEvent.TrackLoadFailed.class, name = "trackLoadFailed")
@@ -16,6 +17,7 @@ public sealed interface MusicEvent permits
         MusicEvent.VoiceConnectionChanged,
         MusicEvent.AutoPlaySettingChanged,
         MusicEvent.TrackQueued,
+        MusicEvent.TrackBatchQueued,
         MusicEvent.TrackPlaybackChanged,
         MusicEvent.QueueCleared,
         MusicEvent.TrackLoadFailed {
@@ -85,6 +87,26 @@ public sealed interface MusicEvent permits
         }
     }
 
+    record TrackBatchQueued(
+            String eventId,
+            int schemaVersion,
+            long occurredAtEpochMs,
+            String producer,
+            long guildId,
+            String correlationId,
+            String playlistName,
+            int trackCount,
+            String firstIdentifier,
+            String firstTitle,
+            long totalDurationMillis,
+            TransitionSource source
+    ) implements MusicEvent {
+        @Override
+        public String eventType() {
+            return "track.batch.queued";
+        }
+    }
+
     record TrackPlaybackChanged(
             String eventId,
             int schemaVersion,
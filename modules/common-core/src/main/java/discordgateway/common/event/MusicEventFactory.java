@@ -97,6 +97,32 @@ public class MusicEventFactory {
         );
     }
 
+    public MusicEvent.TrackBatchQueued trackBatchQueued(
+            long guildId,
+            String playlistName,
+            int trackCount,
+            String firstIdentifier,
+            String firstTitle,
+            long totalDurationMillis,
+            MusicEvent.TransitionSource source
+    ) {
+        MusicCommandTrace trace = currentTrace();
+        return new MusicEvent.TrackBatchQueued(
+                newEventId(),
+                schemaVersion(trace),
+                now(),
+                producer,
+                guildId,
+                correlationId(trace),
+                playlistName,
+                trackCount,
+                firstIdentifier,
+                firstTitle,
+                totalDurationMillis,
+                source
+        );
+    }
+
     public MusicEvent.TrackPlaybackChanged trackPlaybackChanged(
             long guildId,
             MusicEvent.PlaybackState state,
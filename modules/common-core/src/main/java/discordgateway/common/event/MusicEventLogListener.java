@@ -37,6 +37,13 @@ public class MusicEventLogListener {
                     + ", title=" + queued.title()
                     + ", source=" + queued.source();
         }
+        if (event instanceof MusicEvent.TrackBatchQueued batch) {
+            return "playlist=" + batch.playlistName()
+                    + ", trackCount=" + batch.trackCount()
+                    + ", firstTitle=" + batch.firstTitle()
+                    + ", totalDurationMillis=" + batch.totalDurationMillis()
+                    + ", source=" + batch.source();
+        }
         if (event instanceof MusicEvent.TrackPlaybackChanged playback) {
             return "state=" + playback.state()
                     + ", identifier=" + playback.identifier()
@@ -2,12 +2,11 @@ package discordgateway.infra.audio;
 
 import discordgateway.common.command.CommandResult;
 import discordgateway.playback.audio.PlayerManager;
+import discordgateway.playback.domain.QueuePage;
 import discordgateway.playback.domain.QueueRepository;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
-import net.dv8tion.jda.api.interactions.commands.Command;
 
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public class LavaPlayerPlaybackGateway implements PlaybackGateway {
@@ -20,11 +19,6 @@ public class LavaPlayerPlaybackGateway implements PlaybackGateway {
         this.queueRepository = queueRepository;
     }
 
-    @Override
-    public CompletableFuture<List<Command.Choice>> searchChoices(String query, int limit) {
-        return playerManager.searchYouTubeChoices(query, limit);
-    }
-
     @Override
     public void setAutoPlay(Guild guild, boolean autoPlay) {
         playerManager.getMusicManager(guild).getScheduler().setAutoPlay(autoPlay);
@@ -56,11 +50,8 @@ public class LavaPlayerPlaybackGateway implements PlaybackGateway {
     }
 
     @Override
-    public List<String> queue(Guild guild) {
-        return queueRepository.list(guild.getIdLong(), 30)
-                .stream()
-                .map(entry -> "??" + entry.displayLine())
-                .toList();
+    public QueuePage queue(Guild guild, int offset, int size) {
+        return queueRepository.page(guild.getIdLong(), offset, size);
     }
 
     @Override
@@ -86,7 +77,7 @@ public class LavaPlayerPlaybackGateway implements PlaybackGateway {
     }
 
     @Override
-    public CompletableFuture<Boolean> recover(Guild guild, String identifier) {
-        return playerManager.getMusicManager(guild).getScheduler().recover(identifier);
+    public CompletableFuture<Boolean> recover(Guild guild, String identifier, long positionMillis, boolean paused) {
+        return playerManager.getMusicManager(guild).getScheduler().recover(identifier, positionMillis, paused);
     }
 }
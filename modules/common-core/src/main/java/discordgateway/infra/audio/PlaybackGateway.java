@@ -1,24 +1,22 @@
 package discordgateway.infra.audio;
 
 import discordgateway.common.command.CommandResult;
+import discordgateway.playback.domain.QueuePage;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
-import net.dv8tion.jda.api.interactions.commands.Command;
 
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface PlaybackGateway {
-    CompletableFuture<List<Command.Choice>> searchChoices(String query, int limit);
     void setAutoPlay(Guild guild, boolean autoPlay);
     CompletableFuture<CommandResult> loadAndPlay(TextChannel textChannel, String trackUrl);
     CompletableFuture<CommandResult> playLocalFile(TextChannel textChannel, String fileName);
     void stop(Guild guild);
     void skip(Guild guild);
     void clearQueue(Guild guild);
-    List<String> queue(Guild guild);
+    QueuePage queue(Guild guild, int offset, int size);
     PlaybackSnapshot snapshot(Guild guild);
     void pause(Guild guild);
     void resume(Guild guild);
-    CompletableFuture<Boolean> recover(Guild guild, String identifier);
+    CompletableFuture<Boolean> recover(Guild guild, String identifier, long positionMillis, boolean paused);
 }
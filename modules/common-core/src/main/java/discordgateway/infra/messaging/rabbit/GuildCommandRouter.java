@@ -0,0 +1,53 @@
+package discordgateway.infra.messaging.rabbit;
+
+import discordgateway.common.bootstrap.MessagingProperties;
+import discordgateway.playback.domain.AudioNodeRegistry;
+import discordgateway.playback.domain.PlayerStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class GuildCommandRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(GuildCommandRouter.class);
+
+    private final PlayerStateRepository playerStateRepository;
+    private final AudioNodeRegistry audioNodeRegistry;
+    private final MessagingProperties messagingProperties;
+
+    public GuildCommandRouter(
+            PlayerStateRepository playerStateRepository,
+            AudioNodeRegistry audioNodeRegistry,
+            MessagingProperties messagingProperties
+    ) {
+        this.playerStateRepository = playerStateRepository;
+        this.audioNodeRegistry = audioNodeRegistry;
+        this.messagingProperties = messagingProperties;
+    }
+
+    public String routingKey(long guildId) {
+        String owner = liveOwner(guildId);
+        return owner != null
+                ? messagingProperties.commandNodeRoutingKey(owner)
+                : messagingProperties.getCommandRoutingKey();
+    }
+
+    public String liveOwner(long guildId) {
+        if (!messagingProperties.isCommandOwnerRoutingEnabled()) {
+            return null;
+        }
+
+        try {
+            String owner = playerStateRepository.findOwnerNode(guildId);
+            if (owner == null || !audioNodeRegistry.isAlive(owner)) {
+                return null;
+            }
+            return owner;
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("guildId", guildId)
+                    .setCause(e)
+                    .log("music-command owner lookup failed using shared queue");
+            return null;
+        }
+    }
+}
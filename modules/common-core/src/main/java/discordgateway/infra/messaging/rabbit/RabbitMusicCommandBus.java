@@ -12,20 +12,23 @@ public class RabbitMusicCommandBus implements MusicCommandBus {
 
     private final RabbitTemplate rabbitTemplate;
     private final MessagingProperties messagingProperties;
+    private final GuildCommandRouter guildCommandRouter;
 
     public RabbitMusicCommandBus(
             RabbitTemplate rabbitTemplate,
-            MessagingProperties messagingProperties
+            MessagingProperties messagingProperties,
+            GuildCommandRouter guildCommandRouter
     ) {
         this.rabbitTemplate = rabbitTemplate;
         this.messagingProperties = messagingProperties;
+        this.guildCommandRouter = guildCommandRouter;
     }
 
     @Override
     public CompletableFuture<CommandDispatchAck> dispatch(MusicCommandEnvelope envelope) {
         rabbitTemplate.convertAndSend(
                 messagingProperties.getCommandExchange(),
-                messagingProperties.getCommandRoutingKey(),
+                guildCommandRouter.routingKey(envelope.message().command().guildId()),
                 envelope
         );
         return CompletableFuture.completedFuture(new CommandDispatchAck(envelope.message().commandId()));
@@ -1,5 +1,6 @@
 package discordgateway.infra.messaging.rabbit;
 
+import com.rabbitmq.client.Channel;
 import discordgateway.common.bootstrap.AppProperties;
 import discordgateway.common.bootstrap.MessagingProperties;
 import discordgateway.common.command.CommandResult;
@@ -7,44 +8,92 @@ import discordgateway.common.command.MusicCommandEnvelope;
 import discordgateway.common.command.MusicCommandMessage;
 import discordgateway.common.command.MusicCommandResponseMode;
 import discordgateway.common.command.MusicCommandResultEvent;
+import discordgateway.playback.application.AudioNodeAdmissionPolicy;
+import discordgateway.playback.application.GuildCommandExecutor;
 import discordgateway.playback.application.MusicWorkerService;
 import discordgateway.playback.domain.CommandProcessingStatus;
 import discordgateway.playback.domain.ProcessedCommand;
 import discordgateway.playback.domain.ProcessedCommandRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 
+import java.io.IOException;
 import java.util.concurrent.CompletionException;
 
 public class RabbitMusicCommandListener {
 
     private static final Logger log = LoggerFactory.getLogger(RabbitMusicCommandListener.class);
+    private static final String ADMISSION_REROUTES_HEADER = "x-admission-reroutes";
 
     private final MusicWorkerService musicWorkerService;
+    private final GuildCommandExecutor guildCommandExecutor;
+    private final GuildCommandRouter guildCommandRouter;
+    private final RabbitTemplate rabbitTemplate;
     private final ProcessedCommandRepository processedCommandRepository;
     private final MessagingProperties messagingProperties;
     private final RabbitMusicCommandResultPublisher resultPublisher;
+    private final AudioNodeAdmissionPolicy admissionPolicy;
     private final String producerNode;
 
     public RabbitMusicCommandListener(
             MusicWorkerService musicWorkerService,
+            GuildCommandExecutor guildCommandExecutor,
+            GuildCommandRouter guildCommandRouter,
+            RabbitTemplate rabbitTemplate,
             ProcessedCommandRepository processedCommandRepository,
             MessagingProperties messagingProperties,
             RabbitMusicCommandResultPublisher resultPublisher,
+            AudioNodeAdmissionPolicy admissionPolicy,
             AppProperties appProperties
     ) {
         this.musicWorkerService = musicWorkerService;
+        this.guildCommandExecutor = guildCommandExecutor;
+        this.guildCommandRouter = guildCommandRouter;
+        this.rabbitTemplate = rabbitTemplate;
         this.processedCommandRepository = processedCommandRepository;
         this.messagingProperties = messagingProperties;
         this.resultPublisher = resultPublisher;
+        this.admissionPolicy = admissionPolicy;
         this.producerNode = appProperties.getNodeName();
     }
 
-    @RabbitListener(queues = "${messaging.command-queue:music.command.queue}")
-    public void handle(MusicCommandEnvelope envelope) {
+    @RabbitListener(
+            id = "music-command-listener",
+            queues = {"${messaging.command-queue:music.command.queue}", "#{audioNodeCommandQueue}"},
+            ackMode = "MANUAL"
+    )
+    public void handle(
+            MusicCommandEnvelope envelope,
+            Channel channel,
+            @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag,
+            @Header(AmqpHeaders.CONSUMER_QUEUE) String consumerQueue,
+            @Header(name = ADMISSION_REROUTES_HEADER, required = false) Integer reroutes
+    ) {
         MusicCommandMessage message = envelope.message();
+        boolean sharedQueue = messagingProperties.getCommandQueue().equals(consumerQueue);
+
+        if (sharedQueue && forwardToOwner(envelope)) {
+            ack(channel, deliveryTag, message.commandId());
+            return;
+        }
+
+        int previousReroutes = reroutes != null ? reroutes : 0;
+        AudioNodeAdmissionPolicy.Decision admission = admissionPolicy.evaluate(
+                message.command(),
+                sharedQueue,
+                previousReroutes
+        );
+        if (admission != AudioNodeAdmissionPolicy.Decision.ADMIT) {
+            if (admission != AudioNodeAdmissionPolicy.Decision.REROUTE || !reroute(envelope, previousReroutes + 1)) {
+                reject(envelope);
+            }
+            ack(channel, deliveryTag, message.commandId());
+            return;
+        }
 
         log.atInfo()
                 .addKeyValue("commandId", message.commandId())
@@ -54,38 +103,207 @@ public class RabbitMusicCommandListener {
                 .addKeyValue("guildId", message.command().guildId())
                 .log("music-command consume");
 
-        ProcessedCommand existing = processedCommandRepository.find(message.commandId());
-        if (existing != null) {
-            publishResult(envelope, replayOrDuplicate(existing, message.commandId()), existingResultType(existing));
+        try {
+            ProcessedCommand existing = processedCommandRepository.claimOrReplay(
+                    message.commandId(),
+                    messagingProperties.getCommandDedupTtlMs()
+            );
+            if (existing != null) {
+                publishResult(envelope, replayOrDuplicate(existing, message.commandId()), existingResultType(existing));
+                ack(channel, deliveryTag, message.commandId());
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("commandId", message.commandId())
+                    .setCause(e)
+                    .log("music-command dedup check failed requeueing");
+            nack(channel, deliveryTag, message.commandId(), true);
             return;
         }
 
-        if (!processedCommandRepository.tryStart(message.commandId(), messagingProperties.getCommandDedupTtlMs())) {
-            ProcessedCommand concurrent = processedCommandRepository.find(message.commandId());
-            CommandResult result = concurrent != null
-                    ? replayOrDuplicate(concurrent, message.commandId())
-                    : duplicateInProgress(message.commandId());
-            publishResult(envelope, result, "IN_PROGRESS");
-            return;
+        guildCommandExecutor.submit(message.command().guildId(), () -> musicWorkerService.handle(message))
+                .whenComplete((result, err) -> {
+                    if (err == null) {
+                        completed(envelope, result, channel, deliveryTag, sharedQueue);
+                        return;
+                    }
+                    Throwable cause = err instanceof CompletionException && err.getCause() != null
+                            ? err.getCause()
+                            : err;
+                    failed(envelope, cause, channel, deliveryTag, sharedQueue);
+                });
+    }
+
+    private boolean forwardToOwner(MusicCommandEnvelope envelope) {
+        long guildId = envelope.message().command().guildId();
+        String owner = guildCommandRouter.liveOwner(guildId);
+        if (owner == null || owner.equals(producerNode)) {
+            return false;
         }
 
         try {
-            CommandResult result = musicWorkerService.handle(message).join();
-            processedCommandRepository.complete(
-                    message.commandId(),
-                    result,
-                    messagingProperties.getCommandDedupTtlMs()
+            rabbitTemplate.convertAndSend(
+                    messagingProperties.getCommandExchange(),
+                    messagingProperties.commandNodeRoutingKey(owner),
+                    envelope
+            );
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("commandId", envelope.message().commandId())
+                    .addKeyValue("ownerNode", owner)
+                    .setCause(e)
+                    .log("music-command forward failed handling locally");
+            return false;
+        }
+
+        // the owner drops its heartbeat before draining its queue, so a forward that lands after the drain is
+        // only possible if the owner is no longer live; handle it here and let dedup absorb the stranded copy
+        // once the node queue's message TTL sends it back to the shared queue
+        if (!owner.equals(guildCommandRouter.liveOwner(guildId))) {
+            log.atWarn()
+                    .addKeyValue("commandId", envelope.message().commandId())
+                    .addKeyValue("guildId", guildId)
+                    .addKeyValue("ownerNode", owner)
+                    .log("music-command owner left during forward handling locally");
+            return false;
+        }
+
+        log.atInfo()
+                .addKeyValue("commandId", envelope.message().commandId())
+                .addKeyValue("guildId", guildId)
+                .addKeyValue("ownerNode", owner)
+                .log("music-command forwarded to owner");
+        return true;
+    }
+
+    private boolean reroute(MusicCommandEnvelope envelope, int reroutes) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    messagingProperties.getCommandExchange(),
+                    messagingProperties.getCommandRoutingKey(),
+                    envelope,
+                    amqpMessage -> {
+                        amqpMessage.getMessageProperties().setHeader(ADMISSION_REROUTES_HEADER, reroutes);
+                        return amqpMessage;
+                    }
+            );
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("commandId", envelope.message().commandId())
+                    .setCause(e)
+                    .log("music-command reroute failed rejecting");
+            return false;
+        }
+
+        log.atInfo()
+                .addKeyValue("commandId", envelope.message().commandId())
+                .addKeyValue("guildId", envelope.message().command().guildId())
+                .addKeyValue("reroutes", reroutes)
+                .log("music-command rerouted over capacity");
+        return true;
+    }
+
+    private void reject(MusicCommandEnvelope envelope) {
+        log.atWarn()
+                .addKeyValue("commandId", envelope.message().commandId())
+                .addKeyValue("guildId", envelope.message().command().guildId())
+                .log("music-command rejected over capacity");
+        try {
+            publishResult(
+                    envelope,
+                    CommandResult.ephemeral("재생 중인 서버가 너무 많아 지금은 새 재생을 시작할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+                    "REJECTED"
             );
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("commandId", envelope.message().commandId())
+                    .setCause(e)
+                    .log("music-command rejection reply failed");
+        }
+    }
+
+    private void completed(
+            MusicCommandEnvelope envelope,
+            CommandResult result,
+            Channel channel,
+            long deliveryTag,
+            boolean sharedQueue
+    ) {
+        String commandId = envelope.message().commandId();
+        try {
             publishResult(envelope, result, "SUCCESS");
-        } catch (CompletionException e) {
-            processedCommandRepository.remove(message.commandId());
-            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            // queued and written with the next claim; after publishing so a failed publish has nothing to undo
+            processedCommandRepository.complete(commandId, result, messagingProperties.getCommandDedupTtlMs());
+        } catch (RuntimeException e) {
+            failed(envelope, e, channel, deliveryTag, sharedQueue);
+            return;
+        }
+        ack(channel, deliveryTag, commandId);
+    }
+
+    private void failed(
+            MusicCommandEnvelope envelope,
+            Throwable cause,
+            Channel channel,
+            long deliveryTag,
+            boolean sharedQueue
+    ) {
+        String commandId = envelope.message().commandId();
+        try {
+            processedCommandRepository.remove(commandId);
             publishResult(envelope, failureResult(cause), "FAILED");
-            throw reject(message.commandId(), cause);
         } catch (RuntimeException e) {
-            processedCommandRepository.remove(message.commandId());
-            publishResult(envelope, failureResult(e), "FAILED");
-            throw reject(message.commandId(), e);
+            cause.addSuppressed(e);
+        }
+        log.atWarn()
+                .addKeyValue("commandId", commandId)
+                .setCause(cause)
+                .log("music-command failed sending to DLQ");
+        // a node queue dead-letters back to the shared queue, so its failures are published to the DLQ here
+        if (!sharedQueue && publishToDeadLetter(envelope)) {
+            ack(channel, deliveryTag, commandId);
+            return;
+        }
+        nack(channel, deliveryTag, commandId, false);
+    }
+
+    private boolean publishToDeadLetter(MusicCommandEnvelope envelope) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    messagingProperties.getCommandDeadLetterExchange(),
+                    messagingProperties.getCommandDeadLetterRoutingKey(),
+                    envelope
+            );
+            return true;
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("commandId", envelope.message().commandId())
+                    .setCause(e)
+                    .log("music-command dead-letter publish failed");
+            return false;
+        }
+    }
+
+    private void ack(Channel channel, long deliveryTag, String commandId) {
+        try {
+            channel.basicAck(deliveryTag, false);
+        } catch (IOException | RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("commandId", commandId)
+                    .setCause(e)
+                    .log("music-command ack failed");
+        }
+    }
+
+    private void nack(Channel channel, long deliveryTag, String commandId, boolean requeue) {
+        try {
+            channel.basicNack(deliveryTag, false, requeue);
+        } catch (IOException | RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("commandId", commandId)
+                    .setCause(e)
+                    .log("music-command nack failed");
         }
     }
 
@@ -135,15 +353,4 @@ public class RabbitMusicCommandListener {
                 resultType
         ));
     }
-
-    private AmqpRejectAndDontRequeueException reject(String commandId, Throwable cause) {
-        log.atWarn()
-                .addKeyValue("commandId", commandId)
-                .setCause(cause)
-                .log("music-command failed sending to DLQ");
-        return new AmqpRejectAndDontRequeueException(
-                "Command processing failed. commandId=" + commandId,
-                cause
-        );
-    }
 }
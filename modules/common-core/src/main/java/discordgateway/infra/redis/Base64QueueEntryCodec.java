@@ -0,0 +1,50 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.QueueEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class Base64QueueEntryCodec implements QueueEntryCodec {
+
+    @Override
+    public byte[] encode(QueueEntry entry) {
+        String serialized = encodeField(entry.identifier()) + "|"
+                + encodeField(entry.title()) + "|"
+                + encodeField(entry.author()) + "|"
+                + entry.requestedAtMillis();
+        return serialized.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public QueueEntry decode(byte[] raw) {
+        String[] parts = new String(raw, StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4) {
+            return new QueueEntry("unknown", "unknown", "unknown", System.currentTimeMillis());
+        }
+
+        return new QueueEntry(
+                decodeField(parts[0]),
+                decodeField(parts[1]),
+                decodeField(parts[2]),
+                parseLong(parts[3], System.currentTimeMillis())
+        );
+    }
+
+    private String encodeField(String value) {
+        String safe = value == null ? "" : value;
+        return Base64.getUrlEncoder().encodeToString(safe.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeField(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    private long parseLong(String raw, long defaultValue) {
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
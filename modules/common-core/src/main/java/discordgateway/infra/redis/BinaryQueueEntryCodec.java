@@ -0,0 +1,144 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.QueueEntry;
+
+import java.nio.charset.StandardCharsets;
+
+public class BinaryQueueEntryCodec implements QueueEntryCodec {
+
+    // Legacy entries are Base64-URL text, so a leading control byte can never be ambiguous.
+    static final byte FORMAT_V1 = 0x01;
+    // V2 appends the track duration as the trailing 8 bytes so Redis scripts can read it without parsing fields.
+    static final byte FORMAT_V2 = 0x02;
+    private static final int TIMESTAMP_BYTES = Long.BYTES;
+
+    private final QueueEntryCodec legacyCodec;
+    private final boolean writeLegacy;
+
+    public BinaryQueueEntryCodec() {
+        this(new Base64QueueEntryCodec());
+    }
+
+    public BinaryQueueEntryCodec(QueueEntryCodec legacyCodec) {
+        this(legacyCodec, false);
+    }
+
+    private BinaryQueueEntryCodec(QueueEntryCodec legacyCodec, boolean writeLegacy) {
+        this.legacyCodec = legacyCodec;
+        this.writeLegacy = writeLegacy;
+    }
+
+    /**
+     * Writes the legacy Base64 format but still reads binary entries, so a node switched back to Base64
+     * during a rolling deploy can consume queues written by nodes already on the binary format.
+     */
+    public static BinaryQueueEntryCodec writingLegacy() {
+        return new BinaryQueueEntryCodec(new Base64QueueEntryCodec(), true);
+    }
+
+    @Override
+    public byte[] encode(QueueEntry entry) {
+        if (writeLegacy) {
+            return legacyCodec.encode(entry);
+        }
+        byte[] identifier = utf8(entry.identifier());
+        byte[] title = utf8(entry.title());
+        byte[] author = utf8(entry.author());
+
+        int size = 1
+                + varIntSize(identifier.length) + identifier.length
+                + varIntSize(title.length) + title.length
+                + varIntSize(author.length) + author.length
+                + TIMESTAMP_BYTES
+                + TIMESTAMP_BYTES;
+        byte[] out = new byte[size];
+
+        int offset = 0;
+        out[offset++] = FORMAT_V2;
+        offset = writeField(out, offset, identifier);
+        offset = writeField(out, offset, title);
+        offset = writeField(out, offset, author);
+        writeLong(out, offset, entry.requestedAtMillis());
+        writeLong(out, offset + TIMESTAMP_BYTES, Math.max(0L, entry.durationMillis()));
+        return out;
+    }
+
+    @Override
+    public QueueEntry decode(byte[] raw) {
+        if (raw == null || raw.length == 0 || (raw[0] != FORMAT_V1 && raw[0] != FORMAT_V2)) {
+            return legacyCodec.decode(raw == null ? new byte[0] : raw);
+        }
+
+        try {
+            int[] cursor = {1};
+            String identifier = readField(raw, cursor);
+            String title = readField(raw, cursor);
+            String author = readField(raw, cursor);
+            long requestedAt = readLong(raw, cursor[0]);
+            long duration = raw[0] == FORMAT_V2 ? readLong(raw, cursor[0] + TIMESTAMP_BYTES) : 0L;
+            return new QueueEntry(identifier, title, author, requestedAt, duration);
+        } catch (IndexOutOfBoundsException e) {
+            return new QueueEntry("unknown", "unknown", "unknown", System.currentTimeMillis());
+        }
+    }
+
+    private byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int writeField(byte[] out, int offset, byte[] value) {
+        int length = value.length;
+        while ((length & ~0x7F) != 0) {
+            out[offset++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out[offset++] = (byte) length;
+        System.arraycopy(value, 0, out, offset, value.length);
+        return offset + value.length;
+    }
+
+    private String readField(byte[] raw, int[] cursor) {
+        int offset = cursor[0];
+        int length = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = raw[offset++];
+            length |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0 && shift < 32);
+
+        if (length < 0 || offset + length > raw.length) {
+            throw new IndexOutOfBoundsException("Queue entry field exceeds payload");
+        }
+        cursor[0] = offset + length;
+        return new String(raw, offset, length, StandardCharsets.UTF_8);
+    }
+
+    private void writeLong(byte[] out, int offset, long value) {
+        for (int i = TIMESTAMP_BYTES - 1; i >= 0; i--) {
+            out[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private long readLong(byte[] raw, int offset) {
+        if (offset + TIMESTAMP_BYTES > raw.length) {
+            throw new IndexOutOfBoundsException("Queue entry timestamp exceeds payload");
+        }
+        long value = 0L;
+        for (int i = 0; i < TIMESTAMP_BYTES; i++) {
+            value = (value << 8) | (raw[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,90 @@
+package discordgateway.infra.redis;
+
+import discordgateway.common.command.CommandResult;
+import discordgateway.playback.domain.CommandProcessingStatus;
+import discordgateway.playback.domain.ProcessedCommand;
+import discordgateway.playback.domain.ProcessedCommandRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CachingProcessedCommandRepository implements ProcessedCommandRepository, AutoCloseable {
+
+    private final ProcessedCommandRepository delegate;
+    private final LinkedHashMap<String, RecentCommand> recentCommands;
+
+    public CachingProcessedCommandRepository(ProcessedCommandRepository delegate, int maxEntries) {
+        this.delegate = delegate;
+        int capacity = Math.max(0, maxEntries);
+        this.recentCommands = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RecentCommand> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public ProcessedCommand claimOrReplay(String commandId, long ttlMillis) {
+        ProcessedCommand recent = findRecent(commandId);
+        if (recent != null) {
+            return recent;
+        }
+
+        ProcessedCommand existing = delegate.claimOrReplay(commandId, ttlMillis);
+        remember(
+                existing != null
+                        ? existing
+                        : new ProcessedCommand(commandId, CommandProcessingStatus.PROCESSING, null, System.currentTimeMillis()),
+                ttlMillis
+        );
+        return existing;
+    }
+
+    @Override
+    public void complete(String commandId, CommandResult result, long ttlMillis) {
+        delegate.complete(commandId, result, ttlMillis);
+        remember(
+                new ProcessedCommand(commandId, CommandProcessingStatus.COMPLETED, result, System.currentTimeMillis()),
+                ttlMillis
+        );
+    }
+
+    @Override
+    public void remove(String commandId) {
+        synchronized (recentCommands) {
+            recentCommands.remove(commandId);
+        }
+        delegate.remove(commandId);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private ProcessedCommand findRecent(String commandId) {
+        synchronized (recentCommands) {
+            RecentCommand recent = recentCommands.get(commandId);
+            if (recent == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() >= recent.expiresAtMillis()) {
+                recentCommands.remove(commandId);
+                return null;
+            }
+            return recent.command();
+        }
+    }
+
+    private void remember(ProcessedCommand command, long ttlMillis) {
+        synchronized (recentCommands) {
+            recentCommands.put(command.commandId(), new RecentCommand(command, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    private record RecentCommand(ProcessedCommand command, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,231 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.QueueEntry;
+import discordgateway.playback.domain.QueuePage;
+import discordgateway.playback.domain.QueueRepository;
+import discordgateway.playback.domain.QueueSummary;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class CachingQueueRepository implements QueueRepository {
+
+    private static final long UNKNOWN_LENGTH = -1L;
+
+    private final QueueRepository delegate;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Long, QueueView> views;
+
+    public CachingQueueRepository(QueueRepository delegate, long ttlMillis) {
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, ttlMillis));
+        this.views = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public long push(long guildId, QueueEntry entry) {
+        long length = delegate.push(guildId, entry);
+        QueueView view = view(guildId);
+        synchronized (view) {
+            view.generation++;
+            view.refresh(length);
+            if (length == 1L) {
+                view.setHead(entry);
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public long pushAll(long guildId, List<QueueEntry> entries) {
+        long length = delegate.pushAll(guildId, entries);
+        QueueView view = view(guildId);
+        synchronized (view) {
+            view.generation++;
+            view.refresh(length);
+            if (!entries.isEmpty() && length == entries.size()) {
+                view.setHead(entries.get(0));
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public QueueEntry poll(long guildId) {
+        QueueEntry entry = delegate.poll(guildId);
+        QueueView view = view(guildId);
+        synchronized (view) {
+            view.generation++;
+            if (entry == null) {
+                view.refresh(0L);
+            } else {
+                view.headKnown = false;
+                if (view.valid(ttlNanos)) {
+                    view.length = Math.max(0L, view.length - 1L);
+                    if (view.length == 0L) {
+                        view.setHead(null);
+                    }
+                }
+            }
+        }
+        return entry;
+    }
+
+    @Override
+    public QueueEntry peek(long guildId) {
+        QueueView view = view(guildId);
+        long generation;
+        synchronized (view) {
+            if (view.valid(ttlNanos) && view.headKnown) {
+                return view.head;
+            }
+            generation = view.generation;
+        }
+
+        QueueEntry head = delegate.peek(guildId);
+        synchronized (view) {
+            if (view.generation != generation) {
+                return head;
+            }
+            if (head == null) {
+                view.refresh(0L);
+            }
+            view.setHead(head);
+        }
+        return head;
+    }
+
+    @Override
+    public boolean hasEntries(long guildId) {
+        return size(guildId) > 0L;
+    }
+
+    @Override
+    public long size(long guildId) {
+        QueueView view = view(guildId);
+        long generation;
+        synchronized (view) {
+            if (view.valid(ttlNanos)) {
+                return view.length;
+            }
+            generation = view.generation;
+        }
+
+        long length = delegate.size(guildId);
+        synchronized (view) {
+            if (view.generation != generation) {
+                return length;
+            }
+            view.refresh(length);
+        }
+        return length;
+    }
+
+    @Override
+    public List<QueueEntry> list(long guildId, int limit) {
+        QueueView view = view(guildId);
+        long generation = view.generation();
+        List<QueueEntry> entries = delegate.list(guildId, limit);
+        synchronized (view) {
+            if (view.generation != generation) {
+                return entries;
+            }
+            if (entries.size() < limit) {
+                view.refresh(entries.size());
+            }
+            view.setHead(entries.isEmpty() ? null : entries.get(0));
+        }
+        return entries;
+    }
+
+    @Override
+    public QueuePage page(long guildId, int offset, int size) {
+        QueueView view = view(guildId);
+        long generation = view.generation();
+        QueuePage page = delegate.page(guildId, offset, size);
+        synchronized (view) {
+            if (view.generation != generation) {
+                return page;
+            }
+            view.refresh(page.summary().length());
+            if (page.offset() == 0) {
+                view.setHead(page.entries().isEmpty() ? null : page.entries().get(0));
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public QueueSummary summary(long guildId) {
+        QueueView view = view(guildId);
+        long generation = view.generation();
+        QueueSummary summary = delegate.summary(guildId);
+        synchronized (view) {
+            if (view.generation != generation) {
+                return summary;
+            }
+            view.refresh(summary.length());
+        }
+        return summary;
+    }
+
+    @Override
+    public void clear(long guildId) {
+        delegate.clear(guildId);
+        QueueView view = view(guildId);
+        synchronized (view) {
+            view.generation++;
+            view.refresh(0L);
+        }
+    }
+
+    @Override
+    public void evict(long guildId) {
+        QueueView view = views.remove(guildId);
+        if (view != null) {
+            synchronized (view) {
+                view.generation++;
+            }
+        }
+        delegate.evict(guildId);
+    }
+
+    private QueueView view(long guildId) {
+        return views.computeIfAbsent(guildId, ignored -> new QueueView());
+    }
+
+    // Writes made by other nodes are only observed on the next Redis read, so the TTL bounds how stale a view can get.
+    // Local writes bump the generation; a read that raced one is returned to its caller but not cached.
+    private static final class QueueView {
+        private long generation;
+        private long length = UNKNOWN_LENGTH;
+        private QueueEntry head;
+        private boolean headKnown;
+        private long refreshedAtNanos;
+
+        private synchronized long generation() {
+            return generation;
+        }
+
+        private boolean valid(long ttlNanos) {
+            return length != UNKNOWN_LENGTH && System.nanoTime() - refreshedAtNanos < ttlNanos;
+        }
+
+        private void refresh(long length) {
+            if (this.length != length) {
+                headKnown = false;
+            }
+            this.length = length;
+            this.refreshedAtNanos = System.nanoTime();
+            if (length == 0L) {
+                setHead(null);
+            }
+        }
+
+        private void setHead(QueueEntry head) {
+            this.head = head;
+            this.headKnown = true;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.PlayerState;
+
+record PlayerStateChange(PlayerState persisted, PlayerState current) {
+}
@@ -0,0 +1,8 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.QueueEntry;
+
+public interface QueueEntryCodec {
+    byte[] encode(QueueEntry entry);
+    QueueEntry decode(byte[] raw);
+}
@@ -0,0 +1,43 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.AudioNodeRegistry;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.params.SetParams;
+
+public class RedisAudioNodeRegistry implements AudioNodeRegistry {
+
+    private static final String KEY_PREFIX = "bot:audio-node:";
+    private static final String KEY_SUFFIX = ":heartbeat";
+
+    private final JedisPool jedisPool;
+
+    public RedisAudioNodeRegistry(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    @Override
+    public void heartbeat(String nodeName, long ttlMillis) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.set(key(nodeName), Long.toString(System.currentTimeMillis()), SetParams.setParams().px(ttlMillis));
+        }
+    }
+
+    @Override
+    public boolean isAlive(String nodeName) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.exists(key(nodeName));
+        }
+    }
+
+    @Override
+    public void remove(String nodeName) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.del(key(nodeName));
+        }
+    }
+
+    private String key(String nodeName) {
+        return KEY_PREFIX + nodeName + KEY_SUFFIX;
+    }
+}
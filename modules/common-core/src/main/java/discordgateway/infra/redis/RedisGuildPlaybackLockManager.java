@@ -1,59 +1,337 @@
 package discordgateway.infra.redis;
 
 import discordgateway.playback.domain.GuildPlaybackLockManager;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.JedisPubSub;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
-public class RedisGuildPlaybackLockManager implements GuildPlaybackLockManager {
+public class RedisGuildPlaybackLockManager implements GuildPlaybackLockManager, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisGuildPlaybackLockManager.class);
 
     private static final String KEY_PREFIX = "bot:guild:";
     private static final String KEY_SUFFIX = ":lock";
-    private static final String RELEASE_SCRIPT =
-            "if redis.call('get', KEYS[1]) == ARGV[1] then "
-                    + "return redis.call('del', KEYS[1]) "
-                    + "else return 0 end";
+    private static final String RELEASE_CHANNEL = "bot:guild-lock:released";
+    private static final long SUBSCRIBER_RETRY_DELAY_MILLIS = 1_000L;
+    private static final String ACQUIRE_SCRIPT = """
+            local current = redis.call('get', KEYS[1])
+            if current == ARGV[1] then
+              redis.call('pexpire', KEYS[1], ARGV[2])
+              return 0
+            end
+            if not current then
+              redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2])
+              return 0
+            end
+            local ttl = redis.call('pttl', KEYS[1])
+            if ttl < 0 then
+              return tonumber(ARGV[2])
+            end
+            return math.max(ttl, 1)
+            """;
+    private static final String RELEASE_SCRIPT = """
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+              redis.call('del', KEYS[1])
+              redis.call('publish', ARGV[2], ARGV[3])
+              return 1
+            end
+            return 0
+            """;
 
     private final JedisPool jedisPool;
+    private final Supplier<Jedis> subscriberConnectionFactory;
     private final long ttlMillis;
+    private final long waitMillis;
+    private final String nodeToken;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final ConcurrentHashMap<Long, LocalGuildLock> localLocks;
+    private final AtomicBoolean running;
+    private final Thread subscriberThread;
+    private volatile ReleaseSubscriber activeSubscriber;
+    private volatile Jedis subscriberConnection;
 
-    public RedisGuildPlaybackLockManager(JedisPool jedisPool, long ttlMillis) {
+    public RedisGuildPlaybackLockManager(
+            JedisPool jedisPool,
+            Supplier<Jedis> subscriberConnectionFactory,
+            String nodeName,
+            long ttlMillis,
+            long waitMillis,
+            PlaybackMetricsRecorder metricsRecorder
+    ) {
         this.jedisPool = jedisPool;
+        this.subscriberConnectionFactory = subscriberConnectionFactory;
         this.ttlMillis = ttlMillis;
+        this.waitMillis = Math.max(0L, waitMillis);
+        this.nodeToken = nodeName + ":" + UUID.randomUUID();
+        this.metricsRecorder = metricsRecorder;
+        this.localLocks = new ConcurrentHashMap<>();
+        this.running = new AtomicBoolean(true);
+        this.subscriberThread = new Thread(this::runSubscriber, "guild-lock-release-listener");
+        this.subscriberThread.setDaemon(true);
+        this.subscriberThread.start();
     }
 
     @Override
     public GuildPlaybackLock tryAcquire(long guildId) {
-        String key = key(guildId);
-        String token = UUID.randomUUID().toString();
+        return acquire(guildId, 0L);
+    }
+
+    @Override
+    public GuildPlaybackLock acquire(long guildId) {
+        return acquire(guildId, waitMillis);
+    }
+
+    @Override
+    public void close() {
+        running.set(false);
+        ReleaseSubscriber subscriber = activeSubscriber;
+        if (subscriber != null && subscriber.isSubscribed()) {
+            try {
+                subscriber.unsubscribe();
+            } catch (RuntimeException ignored) {
+            }
+        }
+        Jedis connection = subscriberConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (RuntimeException ignored) {
+            }
+        }
+        subscriberThread.interrupt();
+    }
+
+    private GuildPlaybackLock acquire(long guildId, long timeoutMillis) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        LocalGuildLock local = pin(guildId);
+
+        if (!acquireLocal(local, deadline)) {
+            unpin(local);
+            recordAcquire("local", "timeout", startedAt);
+            return new FailedLock();
+        }
+
+        if (local.leaseValid(ttlMillis)) {
+            recordAcquire("local", "acquired", startedAt);
+            return new HeldLock(local);
+        }
+
+        try {
+            if (acquireRedis(local, deadline)) {
+                recordAcquire("redis", "acquired", startedAt);
+                return new HeldLock(local);
+            }
+        } catch (RuntimeException e) {
+            local.permit.release();
+            unpin(local);
+            recordAcquire("redis", "error", startedAt);
+            throw e;
+        }
+
+        local.permit.release();
+        unpin(local);
+        recordAcquire("redis", "timeout", startedAt);
+        return new FailedLock();
+    }
+
+    // Holders and waiters pin the entry so the map only keeps guilds whose lock is in use.
+    private LocalGuildLock pin(long guildId) {
+        return localLocks.compute(guildId, (id, existing) -> {
+            LocalGuildLock local = existing == null ? new LocalGuildLock(id) : existing;
+            local.users++;
+            return local;
+        });
+    }
+
+    private void unpin(LocalGuildLock local) {
+        localLocks.computeIfPresent(local.guildId, (id, existing) -> {
+            if (existing != local) {
+                return existing;
+            }
+            return --local.users == 0 ? null : local;
+        });
+    }
+
+    private boolean acquireLocal(LocalGuildLock local, long deadline) {
+        try {
+            long remaining = deadline - System.nanoTime();
+            if (local.permit.tryAcquire(Math.max(remaining, 0L), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            return local.permit.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean acquireRedis(LocalGuildLock local, long deadline) {
+        String key = key(local.guildId);
+        while (true) {
+            long observedGeneration = local.releaseGeneration;
+            long holderTtlMillis;
+            try (Jedis jedis = jedisPool.getResource()) {
+                Object result = jedis.eval(ACQUIRE_SCRIPT, List.of(key), List.of(nodeToken, Long.toString(ttlMillis)));
+                holderTtlMillis = result instanceof Long value ? value : 1L;
+            }
+
+            if (holderTtlMillis == 0L) {
+                local.leaseAcquiredAtNanos = System.nanoTime();
+                return true;
+            }
+
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0L) {
+                return false;
+            }
 
-        try (Jedis jedis = jedisPool.getResource()) {
-            String result = jedis.set(key, token, SetParams.setParams().nx().px(ttlMillis));
-            if (!"OK".equalsIgnoreCase(result)) {
-                return new FailedLock();
+            long waitNanos = Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(holderTtlMillis));
+            if (!local.awaitRelease(observedGeneration, waitNanos)) {
+                return false;
             }
         }
+    }
+
+    private void release(LocalGuildLock local) {
+        try {
+            if (!local.permit.hasQueuedThreads()) {
+                local.leaseAcquiredAtNanos = 0L;
+                try (Jedis jedis = jedisPool.getResource()) {
+                    jedis.eval(
+                            RELEASE_SCRIPT,
+                            List.of(key(local.guildId)),
+                            List.of(nodeToken, RELEASE_CHANNEL, Long.toString(local.guildId))
+                    );
+                }
+            }
+        } finally {
+            local.permit.release();
+            unpin(local);
+        }
+    }
+
+    private void runSubscriber() {
+        while (running.get()) {
+            ReleaseSubscriber subscriber = new ReleaseSubscriber();
+            activeSubscriber = subscriber;
+            try (Jedis jedis = subscriberConnectionFactory.get()) {
+                subscriberConnection = jedis;
+                jedis.subscribe(subscriber, RELEASE_CHANNEL);
+            } catch (RuntimeException e) {
+                if (!running.get()) {
+                    return;
+                }
+                log.atWarn()
+                        .addKeyValue("channel", RELEASE_CHANNEL)
+                        .setCause(e)
+                        .log("guild-lock release subscription lost");
+            } finally {
+                subscriberConnection = null;
+            }
+
+            // Waiters still wake on the holder TTL while the subscription is down.
+            signalAllWaiters();
+            try {
+                Thread.sleep(SUBSCRIBER_RETRY_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void signalAllWaiters() {
+        for (LocalGuildLock local : localLocks.values()) {
+            local.signalRelease();
+        }
+    }
 
-        return new HeldLock(jedisPool, key, token);
+    private void recordAcquire(String path, String result, long startedAt) {
+        metricsRecorder.recordGuildLockAcquire(path, result, System.nanoTime() - startedAt);
     }
 
     private String key(long guildId) {
         return KEY_PREFIX + guildId + KEY_SUFFIX;
     }
 
-    private static final class HeldLock implements GuildPlaybackLock {
-        private final JedisPool jedisPool;
-        private final String key;
-        private final String token;
-        private boolean released;
+    private final class ReleaseSubscriber extends JedisPubSub {
+        @Override
+        public void onMessage(String channel, String message) {
+            long guildId;
+            try {
+                guildId = Long.parseLong(message);
+            } catch (NumberFormatException e) {
+                return;
+            }
 
-        private HeldLock(JedisPool jedisPool, String key, String token) {
-            this.jedisPool = jedisPool;
-            this.key = key;
-            this.token = token;
+            LocalGuildLock local = localLocks.get(guildId);
+            if (local != null) {
+                local.signalRelease();
+            }
+        }
+    }
+
+    private static final class LocalGuildLock {
+        private final long guildId;
+        private final Semaphore permit = new Semaphore(1, true);
+        // only changed inside localLocks.compute for this guild
+        private int users;
+        private volatile long leaseAcquiredAtNanos;
+        private volatile long releaseGeneration;
+
+        private LocalGuildLock(long guildId) {
+            this.guildId = guildId;
+        }
+
+        private boolean leaseValid(long ttlMillis) {
+            long acquiredAt = leaseAcquiredAtNanos;
+            if (acquiredAt == 0L) {
+                return false;
+            }
+            return System.nanoTime() - acquiredAt < TimeUnit.MILLISECONDS.toNanos(ttlMillis) / 2;
+        }
+
+        private synchronized boolean awaitRelease(long observedGeneration, long waitNanos) {
+            long deadline = System.nanoTime() + waitNanos;
+            while (releaseGeneration == observedGeneration) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    return true;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private synchronized void signalRelease() {
+            releaseGeneration++;
+            notifyAll();
+        }
+    }
+
+    private final class HeldLock implements GuildPlaybackLock {
+        private final LocalGuildLock local;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private HeldLock(LocalGuildLock local) {
+            this.local = local;
         }
 
         @Override
@@ -63,14 +341,10 @@ public class RedisGuildPlaybackLockManager implements GuildPlaybackLockManager {
 
         @Override
         public void release() {
-            if (released) {
+            if (!released.compareAndSet(false, true)) {
                 return;
             }
-            released = true;
-
-            try (Jedis jedis = jedisPool.getResource()) {
-                jedis.eval(RELEASE_SCRIPT, Collections.singletonList(key), Collections.singletonList(token));
-            }
+            RedisGuildPlaybackLockManager.this.release(local);
         }
     }
 
@@ -0,0 +1,107 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.GuildRecoveryRepository;
+import discordgateway.playback.domain.GuildRecoveryState;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class RedisGuildRecoveryRepository implements GuildRecoveryRepository {
+
+    private static final String KEY_PREFIX = "bot:guild:";
+    private static final String PLAYER_KEY_SUFFIX = ":player";
+    private static final String QUEUE_KEY_SUFFIX = ":queue";
+
+    private static final String FIELD_CONNECTED_VOICE_CHANNEL_ID = "connectedVoiceChannelId";
+    private static final String FIELD_NOW_PLAYING = "nowPlaying";
+    private static final String FIELD_AUTOPLAY = "autoPlay";
+    private static final String FIELD_OWNER_NODE = "ownerNode";
+    private static final String FIELD_PAUSED = "paused";
+    private static final String FIELD_POSITION_TRACK = "positionTrack";
+    private static final String FIELD_POSITION_MS = "positionMs";
+
+    private final JedisPool jedisPool;
+
+    public RedisGuildRecoveryRepository(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    @Override
+    public List<GuildRecoveryState> loadAll(Collection<Long> guildIds, int batchSize) {
+        List<Long> ids = new ArrayList<>(guildIds);
+        List<GuildRecoveryState> states = new ArrayList<>(ids.size());
+        int chunk = Math.max(1, batchSize);
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            for (int start = 0; start < ids.size(); start += chunk) {
+                List<Long> batch = ids.subList(start, Math.min(ids.size(), start + chunk));
+                List<Response<List<String>>> fields = new ArrayList<>(batch.size());
+                List<Response<Long>> lengths = new ArrayList<>(batch.size());
+
+                Pipeline pipeline = jedis.pipelined();
+                for (Long guildId : batch) {
+                    fields.add(pipeline.hmget(
+                            KEY_PREFIX + guildId + PLAYER_KEY_SUFFIX,
+                            FIELD_CONNECTED_VOICE_CHANNEL_ID,
+                            FIELD_NOW_PLAYING,
+                            FIELD_AUTOPLAY,
+                            FIELD_OWNER_NODE,
+                            FIELD_PAUSED,
+                            FIELD_POSITION_TRACK,
+                            FIELD_POSITION_MS
+                    ));
+                    lengths.add(pipeline.llen(KEY_PREFIX + guildId + QUEUE_KEY_SUFFIX));
+                }
+                pipeline.sync();
+
+                for (int i = 0; i < batch.size(); i++) {
+                    List<String> values = fields.get(i).get();
+                    Long length = lengths.get(i).get();
+                    String nowPlaying = blankToNull(values.get(1));
+                    states.add(new GuildRecoveryState(
+                            batch.get(i),
+                            parseLong(values.get(0)),
+                            nowPlaying,
+                            Boolean.parseBoolean(values.get(2)),
+                            blankToNull(values.get(3)),
+                            length != null ? length : 0L,
+                            resumePosition(nowPlaying, values.get(5), values.get(6)),
+                            Boolean.parseBoolean(values.get(4))
+                    ));
+                }
+            }
+        }
+        return states;
+    }
+
+    private long resumePosition(String nowPlaying, String positionTrack, String positionMs) {
+        if (nowPlaying == null || !nowPlaying.equals(positionTrack)) {
+            return 0L;
+        }
+        Long position = parseLong(positionMs);
+        return position != null ? Math.max(0L, position) : 0L;
+    }
+
+    private Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    private String blankToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,48 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.PlaybackCheckpoint;
+import discordgateway.playback.domain.PlaybackCheckpointRepository;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+
+import java.util.Collection;
+import java.util.Map;
+
+public class RedisPlaybackCheckpointRepository implements PlaybackCheckpointRepository {
+
+    private static final String KEY_PREFIX = "bot:guild:";
+    private static final String KEY_SUFFIX = ":player";
+
+    private static final String FIELD_POSITION_TRACK = "positionTrack";
+    private static final String FIELD_POSITION_MS = "positionMs";
+    private static final String FIELD_PAUSED = "paused";
+    private static final String FIELD_POSITION_UPDATED_AT = "positionUpdatedAt";
+
+    private final JedisPool jedisPool;
+
+    public RedisPlaybackCheckpointRepository(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    @Override
+    public void saveAll(Collection<PlaybackCheckpoint> checkpoints) {
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+
+        String updatedAt = Long.toString(System.currentTimeMillis());
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (PlaybackCheckpoint checkpoint : checkpoints) {
+                pipeline.hset(KEY_PREFIX + checkpoint.guildId() + KEY_SUFFIX, Map.of(
+                        FIELD_POSITION_TRACK, checkpoint.identifier(),
+                        FIELD_POSITION_MS, Long.toString(checkpoint.positionMillis()),
+                        FIELD_PAUSED, Boolean.toString(checkpoint.paused()),
+                        FIELD_POSITION_UPDATED_AT, updatedAt
+                ));
+            }
+            pipeline.sync();
+        }
+    }
+}
@@ -4,9 +4,14 @@ import discordgateway.playback.domain.PlayerState;
 import discordgateway.playback.domain.PlayerStateRepository;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class RedisPlayerStateRepository implements PlayerStateRepository {
 
@@ -46,6 +51,10 @@ public class RedisPlayerStateRepository implements PlayerStateRepository {
         }
     }
 
+    @Override
+    public void evict(long guildId) {
+    }
+
     @Override
     public void save(PlayerState state) {
         try (Jedis jedis = jedisPool.getResource()) {
@@ -77,6 +86,20 @@ public class RedisPlayerStateRepository implements PlayerStateRepository {
         }
     }
 
+    void saveChanges(Collection<PlayerStateChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (PlayerStateChange change : changes) {
+                appendChange(pipeline, change);
+            }
+            pipeline.sync();
+        }
+    }
+
     @Override
     public void remove(long guildId) {
         try (Jedis jedis = jedisPool.getResource()) {
@@ -84,10 +107,82 @@ public class RedisPlayerStateRepository implements PlayerStateRepository {
         }
     }
 
+    @Override
+    public String findOwnerNode(long guildId) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return blankToNull(jedis.hget(key(guildId), FIELD_OWNER_NODE));
+        }
+    }
+
     private String key(long guildId) {
         return KEY_PREFIX + guildId + KEY_SUFFIX;
     }
 
+    private void appendChange(Pipeline pipeline, PlayerStateChange change) {
+        PlayerState previous = change.persisted();
+        PlayerState current = change.current();
+        String key = key(current.getGuildId());
+        Map<String, String> values = new HashMap<>();
+        List<String> deletedFields = new ArrayList<>();
+
+        if (previous == null || previous.isPaused() != current.isPaused()) {
+            values.put(FIELD_PAUSED, Boolean.toString(current.isPaused()));
+        }
+        if (previous == null || previous.isAutoPlay() != current.isAutoPlay()) {
+            values.put(FIELD_AUTOPLAY, Boolean.toString(current.isAutoPlay()));
+        }
+        if (previous == null || !Objects.equals(previous.getRepeatMode(), current.getRepeatMode())) {
+            values.put(FIELD_REPEAT_MODE, current.getRepeatMode());
+        }
+        if (previous == null || previous.isProcessingFlag() != current.isProcessingFlag()) {
+            values.put(FIELD_PROCESSING_FLAG, Boolean.toString(current.isProcessingFlag()));
+        }
+        collectOptionalField(
+                FIELD_NOW_PLAYING,
+                previous != null ? previous.getNowPlaying() : null,
+                current.getNowPlaying(),
+                previous == null,
+                values,
+                deletedFields
+        );
+        collectOptionalField(
+                FIELD_OWNER_NODE,
+                previous != null ? previous.getOwnerNode() : null,
+                current.getOwnerNode(),
+                previous == null,
+                values,
+                deletedFields
+        );
+
+        if (!values.isEmpty()) {
+            pipeline.hset(key, values);
+        }
+        if (!deletedFields.isEmpty()) {
+            pipeline.hdel(key, deletedFields.toArray(String[]::new));
+        }
+    }
+
+    private void collectOptionalField(
+            String field,
+            String previousValue,
+            String currentValue,
+            boolean fullWrite,
+            Map<String, String> values,
+            List<String> deletedFields
+    ) {
+        String previous = blankToNull(previousValue);
+        String current = blankToNull(currentValue);
+        if (!fullWrite && Objects.equals(previous, current)) {
+            return;
+        }
+
+        if (current != null) {
+            values.put(field, current);
+        } else {
+            deletedFields.add(field);
+        }
+    }
+
     private String blankToNull(String value) {
         if (value == null || value.isBlank()) {
             return null;
@@ -0,0 +1,37 @@
+package discordgateway.infra.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import redis.clients.jedis.JedisPool;
+
+public class RedisPoolMetrics implements MeterBinder {
+
+    private final JedisPool jedisPool;
+
+    public RedisPoolMetrics(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("redis.pool.connections", jedisPool, JedisPool::getNumActive)
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("redis.pool.connections", jedisPool, JedisPool::getNumIdle)
+                .tag("state", "idle")
+                .register(registry);
+        Gauge.builder("redis.pool.connections.max", jedisPool, JedisPool::getMaxTotal)
+                .register(registry);
+        Gauge.builder("redis.pool.waiters", jedisPool, JedisPool::getNumWaiters)
+                .register(registry);
+        Gauge.builder("redis.pool.borrow.wait", jedisPool, pool -> pool.getMeanBorrowWaitDuration().toMillis())
+                .tag("stat", "mean")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("redis.pool.borrow.wait", jedisPool, pool -> pool.getMaxBorrowWaitDuration().toMillis())
+                .tag("stat", "max")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+}
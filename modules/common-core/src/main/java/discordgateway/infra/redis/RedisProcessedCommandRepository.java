@@ -4,112 +4,253 @@ import discordgateway.common.command.CommandResult;
 import discordgateway.playback.domain.CommandProcessingStatus;
 import discordgateway.playback.domain.ProcessedCommand;
 import discordgateway.playback.domain.ProcessedCommandRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class RedisProcessedCommandRepository implements ProcessedCommandRepository {
+/**
+ * Command dedup state as a small hash per command. A new command costs one round trip: completions are queued
+ * and written in the same pipeline as the next claim, or by a flush after {@code completeFlushDelayMillis} when
+ * no claim comes first. Keys still holding the pre-hash string format are read as before and overwritten on
+ * completion.
+ */
+public class RedisProcessedCommandRepository implements ProcessedCommandRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisProcessedCommandRepository.class);
 
     private static final String KEY_PREFIX = "bot:command:";
     private static final String KEY_SUFFIX = ":state";
 
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_EPHEMERAL = "ephemeral";
+    private static final String FIELD_UPDATED_AT = "updatedAt";
+    private static final String LEGACY_MARKER = "legacy";
+
+    private static final String CLAIM_OR_REPLAY_SCRIPT = """
+            local kind = redis.call('TYPE', KEYS[1]).ok
+            if kind == 'hash' then
+                return redis.call('HGETALL', KEYS[1])
+            end
+            if kind == 'string' then
+                return {'legacy', redis.call('GET', KEYS[1])}
+            end
+            if kind ~= 'none' then
+                return {'status', 'PROCESSING'}
+            end
+            redis.call('HSET', KEYS[1], 'status', 'PROCESSING', 'updatedAt', ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return {}
+            """;
+
+    private static final String COMPLETE_SCRIPT = """
+            local kind = redis.call('TYPE', KEYS[1]).ok
+            if kind ~= 'hash' and kind ~= 'none' then
+                redis.call('DEL', KEYS[1])
+            end
+            redis.call('HSET', KEYS[1], 'status', 'COMPLETED', 'message', ARGV[1], 'ephemeral', ARGV[2], 'updatedAt', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """;
+
     private final JedisPool jedisPool;
+    private final long completeFlushDelayMillis;
+    private final ConcurrentHashMap<String, PendingCompletion> pendingCompletions;
+    private final AtomicBoolean flushScheduled;
+    private final ScheduledExecutorService flushScheduler;
 
-    public RedisProcessedCommandRepository(JedisPool jedisPool) {
+    public RedisProcessedCommandRepository(JedisPool jedisPool, long completeFlushDelayMillis) {
         this.jedisPool = jedisPool;
+        this.completeFlushDelayMillis = Math.max(0L, completeFlushDelayMillis);
+        this.pendingCompletions = new ConcurrentHashMap<>();
+        this.flushScheduled = new AtomicBoolean();
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "processed-command-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
-    public ProcessedCommand find(String commandId) {
+    public ProcessedCommand claimOrReplay(String commandId, long ttlMillis) {
+        List<PendingCompletion> completions = drainPendingCompletions();
+        Object raw;
         try (Jedis jedis = jedisPool.getResource()) {
-            String raw = jedis.get(key(commandId));
-            return raw == null ? null : deserialize(commandId, raw);
+            Pipeline pipeline = jedis.pipelined();
+            completions.forEach(completion -> writeCompletion(pipeline, completion));
+            Response<Object> claim = pipeline.eval(
+                    CLAIM_OR_REPLAY_SCRIPT,
+                    List.of(key(commandId)),
+                    List.of(Long.toString(System.currentTimeMillis()), Long.toString(ttlMillis))
+            );
+            pipeline.sync();
+            raw = claim.get();
+        } catch (RuntimeException e) {
+            requeue(completions);
+            throw e;
         }
-    }
 
-    @Override
-    public boolean tryStart(String commandId, long ttlMillis) {
-        long now = System.currentTimeMillis();
-        String payload = serialize(
-                new ProcessedCommand(
-                        commandId,
-                        CommandProcessingStatus.PROCESSING,
-                        null,
-                        now
-                )
-        );
+        if (!(raw instanceof List<?> fields) || fields.isEmpty()) {
+            return null;
+        }
+        if (fields.size() == 2 && LEGACY_MARKER.equals(String.valueOf(fields.get(0)))) {
+            return fromLegacy(commandId, String.valueOf(fields.get(1)));
+        }
 
-        try (Jedis jedis = jedisPool.getResource()) {
-            String response = jedis.set(
-                    key(commandId),
-                    payload,
-                    SetParams.setParams().nx().px(ttlMillis)
-            );
-            return "OK".equalsIgnoreCase(response);
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            values.put(String.valueOf(fields.get(i)), String.valueOf(fields.get(i + 1)));
         }
+        return toProcessedCommand(commandId, values);
     }
 
     @Override
     public void complete(String commandId, CommandResult result, long ttlMillis) {
-        long now = System.currentTimeMillis();
-        ProcessedCommand processedCommand = new ProcessedCommand(
-                commandId,
-                CommandProcessingStatus.COMPLETED,
-                result,
-                now
-        );
-
-        try (Jedis jedis = jedisPool.getResource()) {
-            jedis.psetex(key(commandId), ttlMillis, serialize(processedCommand));
+        pendingCompletions.put(commandId, new PendingCompletion(commandId, result, ttlMillis, System.currentTimeMillis()));
+        if (completeFlushDelayMillis == 0L) {
+            flush();
+            return;
         }
+        scheduleFlush();
     }
 
     @Override
     public void remove(String commandId) {
+        pendingCompletions.remove(commandId);
         try (Jedis jedis = jedisPool.getResource()) {
             jedis.del(key(commandId));
         }
     }
 
-    private String key(String commandId) {
-        return KEY_PREFIX + commandId + KEY_SUFFIX;
+    public void flush() {
+        List<PendingCompletion> completions = drainPendingCompletions();
+        if (completions.isEmpty()) {
+            return;
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            completions.forEach(completion -> writeCompletion(pipeline, completion));
+            pipeline.sync();
+        } catch (RuntimeException e) {
+            requeue(completions);
+            log.atWarn()
+                    .addKeyValue("commandCount", completions.size())
+                    .setCause(e)
+                    .log("processed-command flush failed");
+        }
     }
 
-    private String serialize(ProcessedCommand command) {
-        CommandResult result = command.result();
-        return command.status().name() + "|"
-                + encode(result != null ? result.message() : "") + "|"
-                + (result != null && result.ephemeral()) + "|"
-                + command.updatedAtEpochMs();
+    @Override
+    public void close() {
+        flushScheduler.shutdownNow();
+        flush();
     }
 
-    private ProcessedCommand deserialize(String commandId, String raw) {
-        String[] parts = raw.split("\\|", 4);
-        if (parts.length < 4) {
-            return new ProcessedCommand(
-                    commandId,
-                    CommandProcessingStatus.PROCESSING,
-                    null,
-                    System.currentTimeMillis()
-            );
+    private List<PendingCompletion> drainPendingCompletions() {
+        List<PendingCompletion> drained = new ArrayList<>();
+        for (String commandId : pendingCompletions.keySet()) {
+            PendingCompletion completion = pendingCompletions.remove(commandId);
+            if (completion != null) {
+                drained.add(completion);
+            }
+        }
+        return drained;
+    }
+
+    private void requeue(List<PendingCompletion> completions) {
+        completions.forEach(completion -> pendingCompletions.putIfAbsent(completion.commandId(), completion));
+        if (!completions.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private void writeCompletion(Pipeline pipeline, PendingCompletion completion) {
+        CommandResult result = completion.result();
+        pipeline.eval(
+                COMPLETE_SCRIPT,
+                List.of(key(completion.commandId())),
+                List.of(
+                        result.message() != null ? result.message() : "",
+                        Boolean.toString(result.ephemeral()),
+                        Long.toString(completion.completedAtMillis()),
+                        Long.toString(completion.ttlMillis())
+                )
+        );
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
         }
 
-        CommandProcessingStatus status = parseStatus(parts[0]);
-        String message = decode(parts[1]);
-        boolean ephemeral = Boolean.parseBoolean(parts[2]);
-        long updatedAt = parseLong(parts[3], System.currentTimeMillis());
+        try {
+            flushScheduler.schedule(this::runScheduledFlush, completeFlushDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            flushScheduled.set(false);
+        }
+    }
 
+    private void runScheduledFlush() {
+        flushScheduled.set(false);
+        flush();
+        if (!pendingCompletions.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private String key(String commandId) {
+        return KEY_PREFIX + commandId + KEY_SUFFIX;
+    }
+
+    private ProcessedCommand toProcessedCommand(String commandId, Map<String, String> values) {
+        CommandProcessingStatus status = parseStatus(values.get(FIELD_STATUS));
+        long updatedAt = parseLong(values.get(FIELD_UPDATED_AT), System.currentTimeMillis());
         CommandResult result = status == CommandProcessingStatus.COMPLETED
-                ? new CommandResult(message, ephemeral)
+                ? new CommandResult(
+                        values.getOrDefault(FIELD_MESSAGE, ""),
+                        Boolean.parseBoolean(values.get(FIELD_EPHEMERAL))
+                )
                 : null;
-
         return new ProcessedCommand(commandId, status, result, updatedAt);
     }
 
+    private ProcessedCommand fromLegacy(String commandId, String raw) {
+        String[] parts = raw.split("\\|", 4);
+        if (parts.length < 4) {
+            return new ProcessedCommand(commandId, CommandProcessingStatus.PROCESSING, null, System.currentTimeMillis());
+        }
+
+        Map<String, String> values = new HashMap<>();
+        values.put(FIELD_STATUS, parts[0]);
+        values.put(FIELD_EPHEMERAL, parts[2]);
+        values.put(FIELD_UPDATED_AT, parts[3]);
+        try {
+            values.put(FIELD_MESSAGE, new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            values.put(FIELD_MESSAGE, "");
+        }
+        return toProcessedCommand(commandId, values);
+    }
+
     private CommandProcessingStatus parseStatus(String raw) {
+        if (raw == null) {
+            return CommandProcessingStatus.PROCESSING;
+        }
         try {
             return CommandProcessingStatus.valueOf(raw);
         } catch (IllegalArgumentException e) {
@@ -117,20 +258,17 @@ public class RedisProcessedCommandRepository implements ProcessedCommandReposito
         }
     }
 
-    private String encode(String value) {
-        String safe = value == null ? "" : value;
-        return Base64.getUrlEncoder().encodeToString(safe.getBytes(StandardCharsets.UTF_8));
-    }
-
-    private String decode(String value) {
-        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
-    }
-
     private long parseLong(String raw, long defaultValue) {
+        if (raw == null) {
+            return defaultValue;
+        }
         try {
             return Long.parseLong(raw);
         } catch (NumberFormatException e) {
             return defaultValue;
         }
     }
+
+    private record PendingCompletion(String commandId, CommandResult result, long ttlMillis, long completedAtMillis) {
+    }
 }
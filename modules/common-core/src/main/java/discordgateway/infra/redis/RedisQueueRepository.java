@@ -1,107 +1,207 @@
 package discordgateway.infra.redis;
 
 import discordgateway.playback.domain.QueueEntry;
+import discordgateway.playback.domain.QueuePage;
 import discordgateway.playback.domain.QueueRepository;
+import discordgateway.playback.domain.QueueSummary;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 
 public class RedisQueueRepository implements QueueRepository {
 
     private static final String KEY_PREFIX = "bot:guild:";
     private static final String KEY_SUFFIX = ":queue";
+    private static final String DURATION_KEY_SUFFIX = ":queue:duration";
+    private static final int MAX_VALUES_PER_RPUSH = 500;
+    private static final byte[] POLL_SCRIPT = ("""
+            local raw = redis.call('lpop', KEYS[1])
+            if not raw then
+              redis.call('del', KEYS[2])
+              return false
+            end
+            if string.byte(raw, 1) == %d and string.len(raw) >= 8 then
+              local duration = 0
+              for i = string.len(raw) - 7, string.len(raw) do
+                duration = duration * 256 + string.byte(raw, i)
+              end
+              if duration > 0 then
+                redis.call('decrby', KEYS[2], duration)
+              end
+            end
+            if redis.call('llen', KEYS[1]) == 0 then
+              redis.call('del', KEYS[2])
+            end
+            return raw
+            """).formatted(BinaryQueueEntryCodec.FORMAT_V2).getBytes(StandardCharsets.UTF_8);
 
     private final JedisPool jedisPool;
+    private final QueueEntryCodec codec;
 
     public RedisQueueRepository(JedisPool jedisPool) {
+        this(jedisPool, new BinaryQueueEntryCodec());
+    }
+
+    public RedisQueueRepository(JedisPool jedisPool, QueueEntryCodec codec) {
         this.jedisPool = jedisPool;
+        this.codec = codec;
     }
 
     @Override
-    public void push(long guildId, QueueEntry entry) {
+    public long push(long guildId, QueueEntry entry) {
         try (Jedis jedis = jedisPool.getResource()) {
-            jedis.rpush(key(guildId), serialize(entry));
+            Pipeline pipeline = jedis.pipelined();
+            byte[] encoded = codec.encode(entry);
+            Response<Long> length = pipeline.rpush(key(guildId), encoded);
+            if (entry.durationMillis() > 0L && carriesDuration(encoded)) {
+                pipeline.incrBy(durationKey(guildId), entry.durationMillis());
+            }
+            pipeline.sync();
+            return length.get();
         }
     }
 
     @Override
-    public QueueEntry poll(long guildId) {
+    public long pushAll(long guildId, List<QueueEntry> entries) {
+        if (entries.isEmpty()) {
+            return size(guildId);
+        }
+
+        byte[] key = key(guildId);
+        long totalDuration = 0L;
         try (Jedis jedis = jedisPool.getResource()) {
-            String raw = jedis.lpop(key(guildId));
-            return raw == null ? null : deserialize(raw);
+            Pipeline pipeline = jedis.pipelined();
+            Response<Long> length = null;
+            for (int from = 0; from < entries.size(); from += MAX_VALUES_PER_RPUSH) {
+                List<QueueEntry> chunk = entries.subList(from, Math.min(entries.size(), from + MAX_VALUES_PER_RPUSH));
+                byte[][] values = new byte[chunk.size()][];
+                for (int i = 0; i < chunk.size(); i++) {
+                    values[i] = codec.encode(chunk.get(i));
+                    if (carriesDuration(values[i])) {
+                        totalDuration += Math.max(0L, chunk.get(i).durationMillis());
+                    }
+                }
+                length = pipeline.rpush(key, values);
+            }
+            if (totalDuration > 0L) {
+                pipeline.incrBy(durationKey(guildId), totalDuration);
+            }
+            pipeline.sync();
+            return length.get();
         }
     }
 
     @Override
-    public boolean hasEntries(long guildId) {
+    public QueueEntry poll(long guildId) {
         try (Jedis jedis = jedisPool.getResource()) {
-            return jedis.llen(key(guildId)) > 0;
+            Object raw = jedis.eval(POLL_SCRIPT, List.of(key(guildId), durationKey(guildId)), List.of());
+            return raw instanceof byte[] bytes ? codec.decode(bytes) : null;
         }
     }
 
     @Override
-    public List<QueueEntry> list(long guildId, int limit) {
+    public QueueEntry peek(long guildId) {
         try (Jedis jedis = jedisPool.getResource()) {
-            List<String> rawList = jedis.lrange(key(guildId), 0, Math.max(0, limit - 1));
-            List<QueueEntry> result = new ArrayList<>();
+            byte[] raw = jedis.lindex(key(guildId), 0);
+            return raw == null ? null : codec.decode(raw);
+        }
+    }
 
-            for (String raw : rawList) {
-                result.add(deserialize(raw));
-            }
-            return result;
+    @Override
+    public boolean hasEntries(long guildId) {
+        return size(guildId) > 0;
+    }
+
+    @Override
+    public long size(long guildId) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.llen(key(guildId));
         }
     }
 
     @Override
-    public void clear(long guildId) {
+    public List<QueueEntry> list(long guildId, int limit) {
         try (Jedis jedis = jedisPool.getResource()) {
-            jedis.del(key(guildId));
+            return decodeAll(jedis.lrange(key(guildId), 0, Math.max(0, limit - 1)));
         }
     }
 
-    private String key(long guildId) {
-        return KEY_PREFIX + guildId + KEY_SUFFIX;
+    @Override
+    public QueuePage page(long guildId, int offset, int size) {
+        int safeOffset = Math.max(0, offset);
+        int safeSize = Math.max(1, size);
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            Response<List<byte[]>> rawPage = pipeline.lrange(key(guildId), safeOffset, safeOffset + safeSize - 1L);
+            Response<Long> length = pipeline.llen(key(guildId));
+            Response<byte[]> duration = pipeline.get(durationKey(guildId));
+            pipeline.sync();
+
+            return new QueuePage(
+                    decodeAll(rawPage.get()),
+                    safeOffset,
+                    safeSize,
+                    new QueueSummary(length.get(), parseDuration(duration.get()))
+            );
+        }
     }
 
-    private String serialize(QueueEntry entry) {
-        return encode(entry.identifier()) + "|"
-                + encode(entry.title()) + "|"
-                + encode(entry.author()) + "|"
-                + entry.requestedAtMillis();
+    @Override
+    public QueueSummary summary(long guildId) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            Response<Long> length = pipeline.llen(key(guildId));
+            Response<byte[]> duration = pipeline.get(durationKey(guildId));
+            pipeline.sync();
+            return new QueueSummary(length.get(), parseDuration(duration.get()));
+        }
     }
 
-    private QueueEntry deserialize(String raw) {
-        String[] parts = raw.split("\\|", 4);
-        if (parts.length < 4) {
-            return new QueueEntry("unknown", "unknown", "unknown", System.currentTimeMillis());
+    @Override
+    public void clear(long guildId) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.del(key(guildId), durationKey(guildId));
         }
+    }
 
-        return new QueueEntry(
-                decode(parts[0]),
-                decode(parts[1]),
-                decode(parts[2]),
-                parseLong(parts[3], System.currentTimeMillis())
-        );
+    @Override
+    public void evict(long guildId) {
     }
 
-    private String encode(String value) {
-        String safe = value == null ? "" : value;
-        return Base64.getUrlEncoder().encodeToString(safe.getBytes(StandardCharsets.UTF_8));
+    private List<QueueEntry> decodeAll(List<byte[]> rawList) {
+        List<QueueEntry> result = new ArrayList<>(rawList.size());
+        for (byte[] raw : rawList) {
+            result.add(codec.decode(raw));
+        }
+        return result;
     }
 
-    private String decode(String value) {
-        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    // POLL_SCRIPT can only subtract durations it can read back, so legacy entries stay out of the running total
+    private boolean carriesDuration(byte[] encoded) {
+        return encoded.length > 0 && encoded[0] == BinaryQueueEntryCodec.FORMAT_V2;
     }
 
-    private long parseLong(String raw, long defaultValue) {
+    private long parseDuration(byte[] raw) {
+        if (raw == null) {
+            return 0L;
+        }
         try {
-            return Long.parseLong(raw);
+            return Math.max(0L, Long.parseLong(new String(raw, StandardCharsets.UTF_8)));
         } catch (NumberFormatException e) {
-            return defaultValue;
+            return 0L;
         }
     }
+
+    private byte[] key(long guildId) {
+        return (KEY_PREFIX + guildId + KEY_SUFFIX).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] durationKey(long guildId) {
+        return (KEY_PREFIX + guildId + DURATION_KEY_SUFFIX).getBytes(StandardCharsets.UTF_8);
+    }
 }
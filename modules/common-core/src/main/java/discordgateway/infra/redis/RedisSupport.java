@@ -5,9 +5,14 @@ import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.time.Duration;
 
 public class RedisSupport implements AutoCloseable {
 
+    private final HostAndPort hostAndPort;
+    private final DefaultJedisClientConfig clientConfig;
     private final JedisPool jedisPool;
 
     public RedisSupport(RedisConnectionProperties properties) {
@@ -20,11 +25,22 @@ public class RedisSupport implements AutoCloseable {
         DefaultJedisClientConfig config = DefaultJedisClientConfig.builder()
                 .password(password)
                 .database(database)
-                .timeoutMillis(timeoutMillis)
+                .connectionTimeoutMillis(properties.getConnectTimeoutMillis())
+                .socketTimeoutMillis(timeoutMillis)
                 .clientName("discord-gateway")
                 .build();
 
-        this.jedisPool = new JedisPool(new HostAndPort(host, port), config);
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(Math.max(1, properties.getPoolMaxTotal()));
+        poolConfig.setMaxIdle(Math.max(0, Math.min(properties.getPoolMaxIdle(), poolConfig.getMaxTotal())));
+        poolConfig.setMinIdle(Math.max(0, Math.min(properties.getPoolMinIdle(), poolConfig.getMaxIdle())));
+        poolConfig.setMaxWait(Duration.ofMillis(Math.max(0L, properties.getPoolMaxWaitMillis())));
+        poolConfig.setBlockWhenExhausted(true);
+        poolConfig.setJmxEnabled(false);
+
+        this.hostAndPort = new HostAndPort(host, port);
+        this.clientConfig = config;
+        this.jedisPool = new JedisPool(poolConfig, hostAndPort, config);
 
         try (Jedis jedis = jedisPool.getResource()) {
             String pong = jedis.ping();
@@ -38,6 +54,10 @@ public class RedisSupport implements AutoCloseable {
         return jedisPool;
     }
 
+    public Jedis openDedicatedConnection() {
+        return new Jedis(hostAndPort, clientConfig);
+    }
+
     @Override
     public void close() {
         if (jedisPool != null) {
@@ -0,0 +1,101 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.TrackResolution;
+import discordgateway.playback.domain.TrackResolutionRepository;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RedisTrackResolutionRepository implements TrackResolutionRepository {
+
+    private static final String KEY_PREFIX = "bot:track-resolution:";
+
+    private static final String FIELD_KIND = "kind";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_SELECTED_INDEX = "selectedIndex";
+    private static final String FIELD_TRACKS = "tracks";
+
+    private final JedisPool jedisPool;
+
+    public RedisTrackResolutionRepository(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    @Override
+    public TrackResolution find(String key) {
+        Map<String, String> values;
+        try (Jedis jedis = jedisPool.getResource()) {
+            values = jedis.hgetAll(redisKey(key));
+        }
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+
+        TrackResolution.Kind kind;
+        try {
+            kind = TrackResolution.Kind.valueOf(values.get(FIELD_KIND));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+        if (kind == TrackResolution.Kind.NO_MATCHES) {
+            return TrackResolution.noMatches();
+        }
+
+        String tracks = values.get(FIELD_TRACKS);
+        if (tracks == null || tracks.isBlank()) {
+            return null;
+        }
+        return new TrackResolution(
+                kind,
+                values.get(FIELD_NAME),
+                parseInt(values.get(FIELD_SELECTED_INDEX), -1),
+                List.copyOf(Arrays.asList(tracks.split("\n")))
+        );
+    }
+
+    @Override
+    public void save(String key, TrackResolution resolution, long ttlMillis) {
+        if (ttlMillis <= 0L) {
+            return;
+        }
+
+        Map<String, String> values = new HashMap<>();
+        values.put(FIELD_KIND, resolution.kind().name());
+        values.put(FIELD_SELECTED_INDEX, Integer.toString(resolution.selectedIndex()));
+        if (resolution.name() != null) {
+            values.put(FIELD_NAME, resolution.name());
+        }
+        if (!resolution.encodedTracks().isEmpty()) {
+            values.put(FIELD_TRACKS, String.join("\n", resolution.encodedTracks()));
+        }
+
+        String redisKey = redisKey(key);
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.del(redisKey);
+            pipeline.hset(redisKey, values);
+            pipeline.pexpire(redisKey, ttlMillis);
+            pipeline.sync();
+        }
+    }
+
+    private int parseInt(String raw, int defaultValue) {
+        if (raw == null || raw.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(raw);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private String redisKey(String key) {
+        return KEY_PREFIX + key;
+    }
+}
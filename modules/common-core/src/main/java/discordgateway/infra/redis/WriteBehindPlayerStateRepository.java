@@ -0,0 +1,232 @@
+package discordgateway.infra.redis;
+
+import discordgateway.playback.domain.PlayerState;
+import discordgateway.playback.domain.PlayerStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Buffers player-state writes and flushes only the changed fields. Deltas are computed against the last
+ * snapshot read from or written to Redis; a snapshot older than {@code cacheTtlMillis} is re-read before
+ * it is used again, so writes made by another node since then are not mistaken for unchanged fields.
+ */
+public class WriteBehindPlayerStateRepository implements PlayerStateRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindPlayerStateRepository.class);
+
+    private final RedisPlayerStateRepository delegate;
+    private final long flushDelayMillis;
+    private final long cacheTtlNanos;
+    private final ConcurrentHashMap<Long, CachedState> states;
+    private final ConcurrentHashMap.KeySetView<Long, Boolean> dirtyGuildIds;
+    private final AtomicBoolean flushScheduled;
+    private final ScheduledExecutorService flushScheduler;
+    private final Object flushLock = new Object();
+
+    public WriteBehindPlayerStateRepository(
+            RedisPlayerStateRepository delegate,
+            long flushDelayMillis,
+            long cacheTtlMillis
+    ) {
+        this.delegate = delegate;
+        this.flushDelayMillis = Math.max(0L, flushDelayMillis);
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, cacheTtlMillis));
+        this.states = new ConcurrentHashMap<>();
+        this.dirtyGuildIds = ConcurrentHashMap.newKeySet();
+        this.flushScheduled = new AtomicBoolean();
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "player-state-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepIntervalMillis = Math.max(1L, cacheTtlMillis);
+        this.flushScheduler.scheduleWithFixedDelay(
+                this::evictExpired,
+                sweepIntervalMillis,
+                sweepIntervalMillis,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public PlayerState getOrCreate(long guildId) {
+        CachedState cached = cachedState(guildId);
+        synchronized (cached) {
+            return cached.current.copy();
+        }
+    }
+
+    @Override
+    public void save(PlayerState state) {
+        long guildId = state.getGuildId();
+        CachedState cached = states.computeIfAbsent(guildId, ignored -> new CachedState(null));
+        synchronized (cached) {
+            cached.current = state.copy();
+        }
+        dirtyGuildIds.add(guildId);
+
+        if (flushDelayMillis == 0L) {
+            flush();
+            return;
+        }
+        scheduleFlush();
+    }
+
+    @Override
+    public void remove(long guildId) {
+        synchronized (flushLock) {
+            states.remove(guildId);
+            dirtyGuildIds.remove(guildId);
+            delegate.remove(guildId);
+        }
+    }
+
+    /**
+     * Writes out any pending change for the guild and drops its cached snapshot, so the next read goes
+     * back to Redis. Called when this node stops or starts owning the guild's player.
+     */
+    @Override
+    public void evict(long guildId) {
+        synchronized (flushLock) {
+            if (dirtyGuildIds.contains(guildId)) {
+                flush();
+            }
+            // a failed flush keeps the entry so the retry still has the change to write
+            if (!dirtyGuildIds.contains(guildId)) {
+                states.remove(guildId);
+            }
+        }
+    }
+
+    @Override
+    public String findOwnerNode(long guildId) {
+        CachedState cached = states.get(guildId);
+        if (cached != null && dirtyGuildIds.contains(guildId)) {
+            synchronized (cached) {
+                return cached.current.getOwnerNode();
+            }
+        }
+        return delegate.findOwnerNode(guildId);
+    }
+
+    public void flush() {
+        synchronized (flushLock) {
+            List<Long> guildIds = new ArrayList<>(dirtyGuildIds);
+            if (guildIds.isEmpty()) {
+                return;
+            }
+
+            List<PlayerStateChange> changes = new ArrayList<>(guildIds.size());
+            for (Long guildId : guildIds) {
+                dirtyGuildIds.remove(guildId);
+                CachedState cached = states.get(guildId);
+                if (cached == null) {
+                    continue;
+                }
+                synchronized (cached) {
+                    changes.add(new PlayerStateChange(cached.persisted, cached.current.copy()));
+                }
+            }
+
+            try {
+                delegate.saveChanges(changes);
+            } catch (RuntimeException e) {
+                dirtyGuildIds.addAll(guildIds);
+                log.atWarn()
+                        .addKeyValue("guildCount", guildIds.size())
+                        .setCause(e)
+                        .log("player-state flush failed");
+                return;
+            }
+
+            long now = System.nanoTime();
+            for (PlayerStateChange change : changes) {
+                CachedState cached = states.get(change.current().getGuildId());
+                if (cached == null) {
+                    continue;
+                }
+                synchronized (cached) {
+                    cached.persisted = change.current();
+                    cached.refreshedAtNanos = now;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        flushScheduler.shutdownNow();
+        flush();
+    }
+
+    private CachedState cachedState(long guildId) {
+        CachedState cached = states.get(guildId);
+        if (cached != null && !cached.isExpired(System.nanoTime(), cacheTtlNanos)) {
+            return cached;
+        }
+
+        synchronized (flushLock) {
+            cached = states.get(guildId);
+            if (cached != null
+                    && (dirtyGuildIds.contains(guildId) || !cached.isExpired(System.nanoTime(), cacheTtlNanos))) {
+                return cached;
+            }
+            CachedState loaded = new CachedState(delegate.getOrCreate(guildId));
+            states.put(guildId, loaded);
+            return loaded;
+        }
+    }
+
+    private void evictExpired() {
+        synchronized (flushLock) {
+            long now = System.nanoTime();
+            states.entrySet().removeIf(entry -> !dirtyGuildIds.contains(entry.getKey())
+                    && entry.getValue().isExpired(now, cacheTtlNanos));
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            flushScheduler.schedule(this::runScheduledFlush, flushDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            flushScheduled.set(false);
+            flush();
+        }
+    }
+
+    private void runScheduledFlush() {
+        flushScheduled.set(false);
+        flush();
+        if (!dirtyGuildIds.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private static final class CachedState {
+        private PlayerState persisted;
+        private PlayerState current;
+        private long refreshedAtNanos;
+
+        private CachedState(PlayerState persisted) {
+            this.persisted = persisted;
+            this.current = persisted != null ? persisted.copy() : null;
+            this.refreshedAtNanos = System.nanoTime();
+        }
+
+        private synchronized boolean isExpired(long nowNanos, long ttlNanos) {
+            return nowNanos - refreshedAtNanos >= ttlNanos;
+        }
+    }
+}
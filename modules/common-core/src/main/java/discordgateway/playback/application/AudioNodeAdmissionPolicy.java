@@ -0,0 +1,58 @@
+package discordgateway.playback.application;
+
+import discordgateway.common.command.MusicCommand;
+import discordgateway.playback.audio.PlayerManager;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+
+/**
+ * Decides whether this node may start a new playback session. Commands for guilds that are
+ * already streaming here are always admitted; only a {@code /play} that would add another
+ * active player is turned away once the node reaches {@code app.max-active-players}.
+ */
+public class AudioNodeAdmissionPolicy {
+
+    public enum Decision {
+        ADMIT,
+        REROUTE,
+        REJECT
+    }
+
+    private final PlayerManager playerManager;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final int maxActivePlayers;
+    private final int maxReroutes;
+
+    public AudioNodeAdmissionPolicy(
+            PlayerManager playerManager,
+            PlaybackMetricsRecorder metricsRecorder,
+            int maxActivePlayers,
+            int maxReroutes
+    ) {
+        this.playerManager = playerManager;
+        this.metricsRecorder = metricsRecorder;
+        this.maxActivePlayers = Math.max(0, maxActivePlayers);
+        this.maxReroutes = Math.max(0, maxReroutes);
+    }
+
+    /**
+     * @param reroutable whether another node could still pick the command up from the shared queue
+     * @param reroutes   how many times the command has already been turned away by other nodes
+     */
+    public Decision evaluate(MusicCommand command, boolean reroutable, int reroutes) {
+        if (maxActivePlayers == 0 || !startsSession(command) || playerManager.isActive(command.guildId())) {
+            return Decision.ADMIT;
+        }
+        if (playerManager.activePlayerCount() < maxActivePlayers) {
+            metricsRecorder.recordAdmission("admitted");
+            return Decision.ADMIT;
+        }
+
+        Decision decision = reroutable && reroutes < maxReroutes ? Decision.REROUTE : Decision.REJECT;
+        metricsRecorder.recordAdmission(decision == Decision.REROUTE ? "rerouted" : "rejected");
+        return decision;
+    }
+
+    private boolean startsSession(MusicCommand command) {
+        return command instanceof MusicCommand.Play || command instanceof MusicCommand.PlaySfx;
+    }
+}
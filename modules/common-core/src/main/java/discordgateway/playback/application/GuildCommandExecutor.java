@@ -0,0 +1,85 @@
+package discordgateway.playback.application;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class GuildCommandExecutor implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public GuildCommandExecutor() {
+        this(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("music-command-", 0).factory()));
+    }
+
+    public GuildCommandExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> submit(long guildId, Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        pending.incrementAndGet();
+        CompletableFuture<Void> previous = tails.put(guildId, done);
+
+        Runnable run = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = task.get();
+            } catch (RuntimeException e) {
+                finish(guildId, done);
+                result.completeExceptionally(e);
+                return;
+            }
+            future.whenComplete((value, err) -> {
+                finish(guildId, done);
+                if (err != null) {
+                    result.completeExceptionally(err);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        if (previous == null) {
+            dispatch(guildId, done, result, run);
+        } else {
+            previous.whenComplete((ignored, err) -> dispatch(guildId, done, result, run));
+        }
+        return result;
+    }
+
+    public int pendingCommands() {
+        return pending.get();
+    }
+
+    public int activeGuilds() {
+        return tails.size();
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private void dispatch(long guildId, CompletableFuture<Void> done, CompletableFuture<?> result, Runnable run) {
+        try {
+            executor.execute(run);
+        } catch (RejectedExecutionException e) {
+            finish(guildId, done);
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void finish(long guildId, CompletableFuture<Void> done) {
+        pending.decrementAndGet();
+        tails.remove(guildId, done);
+        done.complete(null);
+    }
+}
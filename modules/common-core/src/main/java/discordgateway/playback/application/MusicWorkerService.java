@@ -14,6 +14,8 @@ import discordgateway.infra.audio.VoiceGateway;
 import discordgateway.playback.domain.GuildPlayerState;
 import discordgateway.playback.domain.GuildStateRepository;
 import discordgateway.playback.domain.PlayerStateRepository;
+import discordgateway.playback.domain.QueueEntry;
+import discordgateway.playback.domain.QueuePage;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.entities.channel.middleman.AudioChannel;
@@ -30,6 +32,7 @@ import java.util.function.Function;
 public class MusicWorkerService {
 
     private static final Logger log = LoggerFactory.getLogger(MusicWorkerService.class);
+    private static final int QUEUE_PAGE_SIZE = 10;
 
     private final DiscordReferenceResolver discordReferenceResolver;
     private final PlaybackGateway playbackGateway;
@@ -242,13 +245,39 @@ public class MusicWorkerService {
 
     private CommandResult queue(MusicCommand.Queue command) {
         Guild guild = requireGuild(command.guildId());
-        List<String> queue = playbackGateway.queue(guild);
-        if (queue.isEmpty()) {
+        int requestedPage = Math.max(1, command.page());
+        QueuePage page = playbackGateway.queue(guild, (requestedPage - 1) * QUEUE_PAGE_SIZE, QUEUE_PAGE_SIZE);
+        if (page.summary().length() == 0L) {
             return CommandResult.ephemeral("현재 대기열이 비어 있습니다.");
         }
+        if (page.entries().isEmpty()) {
+            page = playbackGateway.queue(guild, (page.pageCount() - 1) * QUEUE_PAGE_SIZE, QUEUE_PAGE_SIZE);
+        }
 
-        String content = String.join("\n", queue.stream().limit(30).toList());
-        return CommandResult.ephemeral("현재 대기열:\n" + content);
+        StringBuilder content = new StringBuilder()
+                .append("현재 대기열 (")
+                .append(page.pageNumber()).append('/').append(page.pageCount()).append(" 페이지, 총 ")
+                .append(page.summary().length()).append("곡, ")
+                .append(formatDuration(page.summary().totalDurationMillis()))
+                .append("):");
+        List<QueueEntry> entries = page.entries();
+        for (int i = 0; i < entries.size(); i++) {
+            content.append('\n')
+                    .append(page.offset() + i + 1).append(". ")
+                    .append(entries.get(i).displayLine());
+        }
+        return CommandResult.ephemeral(content.toString());
+    }
+
+    private String formatDuration(long durationMillis) {
+        long totalSeconds = durationMillis / 1000L;
+        long hours = totalSeconds / 3600L;
+        long minutes = (totalSeconds % 3600L) / 60L;
+        long seconds = totalSeconds % 60L;
+        if (hours > 0L) {
+            return "%d:%02d:%02d".formatted(hours, minutes, seconds);
+        }
+        return "%d:%02d".formatted(minutes, seconds);
     }
 
     private CommandResult clear(MusicCommand.Clear command) {
@@ -0,0 +1,88 @@
+package discordgateway.playback.audio;
+
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the frame rings of buffered send handlers topped up from one node-wide thread,
+ * so a slow {@code AudioPlayer.provide} no longer stalls JDA's audio send loop.
+ */
+public class AudioFramePump implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AudioFramePump.class);
+
+    private final int depth;
+    private final long fillIntervalMillis;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final Set<AudioPlayerSendHandler> handlers = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService scheduler;
+
+    public AudioFramePump(boolean enabled, int depth, long fillIntervalMillis, PlaybackMetricsRecorder metricsRecorder) {
+        this.depth = enabled ? Math.max(0, depth) : 0;
+        this.fillIntervalMillis = Math.max(1L, fillIntervalMillis);
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    public boolean isEnabled() {
+        return depth > 0;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    void register(AudioPlayerSendHandler handler) {
+        handlers.add(handler);
+        ensureStarted();
+    }
+
+    void unregister(AudioPlayerSendHandler handler) {
+        handlers.remove(handler);
+    }
+
+    void recordUnderrun(String mode) {
+        metricsRecorder.recordFrameUnderrun(mode);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        handlers.clear();
+    }
+
+    private synchronized void ensureStarted() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audio-frame-pump");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::pump, 0L, fillIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void pump() {
+        long bufferedFrames = 0L;
+        for (AudioPlayerSendHandler handler : handlers) {
+            try {
+                bufferedFrames += handler.fill();
+            } catch (RuntimeException e) {
+                log.atWarn()
+                        .setCause(e)
+                        .log("audio frame pump fill failed");
+            }
+        }
+        metricsRecorder.recordSendBufferOccupancy(bufferedFrames, handlers.size());
+    }
+}
@@ -0,0 +1,82 @@
+package discordgateway.playback.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-producer, single-consumer ring of Opus frames in direct buffers. The pump thread fills it
+ * from the player and JDA's send thread drains it. A slot handed to JDA stays reserved until the
+ * next {@link #poll(long)}, because JDA reads it after {@code provide20MsAudio} returns.
+ */
+final class AudioFrameRing {
+
+    private static final int FRAME_BUFFER_SIZE = 1024;
+
+    private final ByteBuffer[] slots;
+    private final long[] generations;
+    private final MutableAudioFrame frame = new MutableAudioFrame();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private boolean handedOut;
+
+    AudioFrameRing(int capacity) {
+        this.slots = new ByteBuffer[capacity];
+        this.generations = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = ByteBuffer.allocateDirect(FRAME_BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * Producer side. Pulls frames from the player until the ring is full or the player has nothing ready.
+     */
+    int fill(AudioPlayer audioPlayer, long generation) {
+        int filled = 0;
+        long next = tail.get();
+        while (next - head.getAcquire() < slots.length) {
+            int index = (int) (next % slots.length);
+            ByteBuffer slot = slots[index];
+            slot.clear();
+            frame.setBuffer(slot);
+            if (!audioPlayer.provide(frame)) {
+                break;
+            }
+            slot.flip();
+            generations[index] = generation;
+            tail.setRelease(++next);
+            filled++;
+        }
+        return filled;
+    }
+
+    /**
+     * Consumer side. Frees the slot returned by the previous call and returns the next frame of the
+     * given generation, dropping frames buffered before a track change or pause.
+     */
+    ByteBuffer poll(long generation) {
+        while (true) {
+            long current = head.get();
+            if (handedOut) {
+                handedOut = false;
+                head.setRelease(++current);
+            }
+            if (current == tail.getAcquire()) {
+                return null;
+            }
+
+            int index = (int) (current % slots.length);
+            if (generations[index] == generation) {
+                handedOut = true;
+                return slots[index];
+            }
+            head.setRelease(current + 1);
+        }
+    }
+
+    int size() {
+        return (int) Math.max(0L, tail.getAcquire() - head.getAcquire());
+    }
+}
@@ -1,32 +1,72 @@
 package discordgateway.playback.audio;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.player.event.AudioEvent;
+import com.sedmelluq.discord.lavaplayer.player.event.AudioEventListener;
+import com.sedmelluq.discord.lavaplayer.player.event.PlayerPauseEvent;
+import com.sedmelluq.discord.lavaplayer.player.event.TrackEndEvent;
+import com.sedmelluq.discord.lavaplayer.player.event.TrackStartEvent;
 import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
 import net.dv8tion.jda.api.audio.AudioSendHandler;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class AudioPlayerSendHandler implements AudioSendHandler {
+public class AudioPlayerSendHandler implements AudioSendHandler, AudioEventListener, AutoCloseable {
 
     private final AudioPlayer audioPlayer;
     private final ByteBuffer buffer;
     private final MutableAudioFrame frame;
+    private final AudioFramePump pump;
+    private final AudioQualityController qualityController;
+    private final AudioFrameRing ring;
+    private final AtomicLong generation = new AtomicLong();
+    private ByteBuffer pending;
 
-    public AudioPlayerSendHandler(AudioPlayer audioPlayer) {
+    public AudioPlayerSendHandler(
+            AudioPlayer audioPlayer,
+            AudioFramePump pump,
+            AudioQualityController qualityController
+    ) {
         this.audioPlayer = audioPlayer;
         this.buffer = ByteBuffer.allocate(1024);
         this.frame = new MutableAudioFrame();
         this.frame.setBuffer(buffer);
+        this.pump = pump;
+        this.qualityController = qualityController;
+        this.ring = pump != null && pump.isEnabled() ? new AudioFrameRing(pump.depth()) : null;
+        if (ring != null) {
+            audioPlayer.addListener(this);
+            pump.register(this);
+        }
     }
 
     @Override
     public boolean canProvide() {
-        return this.audioPlayer.provide(this.frame);
+        if (ring == null) {
+            long startedAt = System.nanoTime();
+            boolean provided = this.audioPlayer.provide(this.frame);
+            if (provided) {
+                qualityController.recordProvide(System.nanoTime() - startedAt, 1);
+            } else if (pump != null && isStreaming()) {
+                pump.recordUnderrun("direct");
+            }
+            return provided;
+        }
+
+        pending = ring.poll(generation.get());
+        if (pending == null && isStreaming()) {
+            pump.recordUnderrun("buffered");
+        }
+        return pending != null;
     }
 
     @Override
     public ByteBuffer provide20MsAudio() {
+        if (ring != null) {
+            return pending;
+        }
         final Buffer buffer = ((Buffer) this.buffer).flip();
         return (ByteBuffer) buffer;
     }
@@ -35,4 +75,33 @@ public class AudioPlayerSendHandler implements AudioSendHandler {
     public boolean isOpus() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public void onEvent(AudioEvent event) {
+        // frames buffered before a track change or pause must not be played afterwards
+        if (event instanceof TrackStartEvent || event instanceof TrackEndEvent || event instanceof PlayerPauseEvent) {
+            generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ring != null) {
+            pump.unregister(this);
+            audioPlayer.removeListener(this);
+        }
+    }
+
+    private boolean isStreaming() {
+        return audioPlayer.getPlayingTrack() != null && !audioPlayer.isPaused();
+    }
+
+    int fill() {
+        long startedAt = System.nanoTime();
+        int filled = ring.fill(audioPlayer, generation.get());
+        if (filled > 0) {
+            qualityController.recordProvide(System.nanoTime() - startedAt, filled);
+        }
+        return ring.size();
+    }
+}
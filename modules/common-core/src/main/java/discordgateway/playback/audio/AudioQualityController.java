@@ -0,0 +1,135 @@
+package discordgateway.playback.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Applies the configured {@link AudioQualityProfile} to lavaplayer. In adaptive mode it steps down
+ * from {@link AudioQualityProfile#PASSTHROUGH} towards {@link AudioQualityProfile#LOW} while the node
+ * has too many active players or frames take too long to provide, and back up once both recover.
+ * Lavaplayer reads the configuration when a track starts, so a change reaches tracks started afterwards.
+ */
+public class AudioQualityController implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AudioQualityController.class);
+    private static final String ADAPTIVE = "adaptive";
+    private static final double RECOVERY_RATIO = 0.7;
+
+    private final boolean adaptive;
+    private final int playerThreshold;
+    private final long provideLatencyThresholdNanos;
+    private final long checkIntervalMillis;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final LongAdder provideNanos = new LongAdder();
+    private final LongAdder provideCount = new LongAdder();
+    private volatile AudioQualityProfile current;
+    private AudioConfiguration configuration;
+    private ScheduledExecutorService scheduler;
+
+    public AudioQualityController(
+            String profile,
+            int playerThreshold,
+            long provideLatencyThresholdMicros,
+            long checkIntervalMillis,
+            PlaybackMetricsRecorder metricsRecorder
+    ) {
+        String normalized = profile == null ? "" : profile.trim().toLowerCase(Locale.ROOT);
+        this.adaptive = ADAPTIVE.equals(normalized);
+        this.current = adaptive ? AudioQualityProfile.PASSTHROUGH : parse(normalized);
+        this.playerThreshold = Math.max(1, playerThreshold);
+        this.provideLatencyThresholdNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(1L, provideLatencyThresholdMicros));
+        this.checkIntervalMillis = Math.max(1_000L, checkIntervalMillis);
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    public AudioQualityProfile current() {
+        return current;
+    }
+
+    public synchronized void attach(AudioConfiguration configuration, IntSupplier activePlayers) {
+        this.configuration = configuration;
+        current.applyTo(configuration);
+        metricsRecorder.recordAudioQualityLevel(current.ordinal());
+        log.atInfo()
+                .addKeyValue("profile", current)
+                .addKeyValue("adaptive", adaptive)
+                .log("audio quality profile applied");
+
+        if (adaptive && scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audio-quality-controller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(
+                    () -> adjust(activePlayers.getAsInt()),
+                    checkIntervalMillis,
+                    checkIntervalMillis,
+                    TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    void recordProvide(long nanos, int frames) {
+        provideNanos.add(nanos);
+        provideCount.add(frames);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void adjust(int activePlayers) {
+        long count = provideCount.sumThenReset();
+        long total = provideNanos.sumThenReset();
+        long averageNanos = count > 0L ? total / count : 0L;
+        metricsRecorder.recordFrameProvideLatency(TimeUnit.NANOSECONDS.toMicros(averageNanos));
+
+        AudioQualityProfile[] levels = AudioQualityProfile.values();
+        int level = current.ordinal();
+        int next = level;
+        if (activePlayers >= playerThreshold || averageNanos >= provideLatencyThresholdNanos) {
+            next = Math.min(levels.length - 1, level + 1);
+        } else if (activePlayers < playerThreshold * RECOVERY_RATIO
+                && averageNanos < provideLatencyThresholdNanos * RECOVERY_RATIO) {
+            next = Math.max(AudioQualityProfile.PASSTHROUGH.ordinal(), level - 1);
+        }
+        if (next == level) {
+            return;
+        }
+
+        AudioQualityProfile profile = levels[next];
+        synchronized (this) {
+            profile.applyTo(configuration);
+            current = profile;
+        }
+        metricsRecorder.recordAudioQualityLevel(next);
+        log.atInfo()
+                .addKeyValue("from", levels[level])
+                .addKeyValue("to", profile)
+                .addKeyValue("activePlayers", activePlayers)
+                .addKeyValue("provideMicros", TimeUnit.NANOSECONDS.toMicros(averageNanos))
+                .log("audio quality profile changed");
+    }
+
+    private AudioQualityProfile parse(String profile) {
+        for (AudioQualityProfile candidate : AudioQualityProfile.values()) {
+            if (candidate.name().equalsIgnoreCase(profile)) {
+                return candidate;
+            }
+        }
+        return AudioQualityProfile.MAX;
+    }
+}
@@ -0,0 +1,46 @@
+package discordgateway.playback.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+
+/**
+ * Encoder settings ordered from most to least CPU per player. Every profile except {@link #MAX}
+ * disables filter hot-swap, which lets lavaplayer forward Opus sources without transcoding.
+ */
+public enum AudioQualityProfile {
+    MAX(AudioConfiguration.OPUS_QUALITY_MAX, AudioConfiguration.ResamplingQuality.HIGH, true),
+    PASSTHROUGH(AudioConfiguration.OPUS_QUALITY_MAX, AudioConfiguration.ResamplingQuality.HIGH, false),
+    BALANCED(7, AudioConfiguration.ResamplingQuality.MEDIUM, false),
+    LOW(4, AudioConfiguration.ResamplingQuality.LOW, false);
+
+    private final int opusQuality;
+    private final AudioConfiguration.ResamplingQuality resamplingQuality;
+    private final boolean filterHotSwap;
+
+    AudioQualityProfile(
+            int opusQuality,
+            AudioConfiguration.ResamplingQuality resamplingQuality,
+            boolean filterHotSwap
+    ) {
+        this.opusQuality = opusQuality;
+        this.resamplingQuality = resamplingQuality;
+        this.filterHotSwap = filterHotSwap;
+    }
+
+    public int opusQuality() {
+        return opusQuality;
+    }
+
+    public AudioConfiguration.ResamplingQuality resamplingQuality() {
+        return resamplingQuality;
+    }
+
+    public boolean filterHotSwap() {
+        return filterHotSwap;
+    }
+
+    public void applyTo(AudioConfiguration configuration) {
+        configuration.setOpusEncodingQuality(opusQuality);
+        configuration.setResamplingQuality(resamplingQuality);
+        configuration.setFilterHotSwapEnabled(filterHotSwap);
+    }
+}
@@ -0,0 +1,80 @@
+package discordgateway.playback.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import com.sedmelluq.discord.lavaplayer.track.AudioReference;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
+import discordgateway.playback.domain.TrackResolution;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.util.List;
+
+public class CachedResolutionSourceManager implements AudioSourceManager {
+
+    private final TrackResolutionCache cache;
+
+    public CachedResolutionSourceManager(TrackResolutionCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String getSourceName() {
+        return "resolution-cache";
+    }
+
+    @Override
+    public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
+        TrackResolution resolution = cache.find(reference.identifier);
+        if (resolution == null) {
+            return null;
+        }
+        if (resolution.kind() == TrackResolution.Kind.NO_MATCHES) {
+            return AudioReference.NO_TRACK;
+        }
+
+        List<AudioTrack> tracks = cache.decode(manager, resolution);
+        if (tracks == null || tracks.isEmpty()) {
+            return null;
+        }
+
+        return switch (resolution.kind()) {
+            case TRACK -> tracks.get(0);
+            case SEARCH -> new BasicAudioPlaylist(resolution.name(), tracks, null, true);
+            default -> new BasicAudioPlaylist(
+                    resolution.name(),
+                    tracks,
+                    resolution.selectedIndex() >= 0 && resolution.selectedIndex() < tracks.size()
+                            ? tracks.get(resolution.selectedIndex())
+                            : null,
+                    false
+            );
+        };
+    }
+
+    /**
+     * Tracks served from the cache are decoded by, and report, their original source manager, so lavaplayer
+     * never asks this manager to encode them.
+     */
+    @Override
+    public boolean isTrackEncodable(AudioTrack track) {
+        return false;
+    }
+
+    @Override
+    public void encodeTrack(AudioTrack track, DataOutput output) {
+        throw new UnsupportedOperationException("Cached resolutions are decoded by their original source.");
+    }
+
+    @Override
+    public AudioTrack decodeTrack(AudioTrackInfo trackInfo, DataInput input) {
+        return null;
+    }
+
+    @Override
+    public void shutdown() {
+    }
+}
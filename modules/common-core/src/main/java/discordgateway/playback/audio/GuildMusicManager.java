@@ -8,11 +8,16 @@ import discordgateway.playback.domain.GuildPlaybackLockManager;
 import discordgateway.playback.domain.PlayerStateRepository;
 import discordgateway.playback.domain.QueueRepository;
 
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 public class GuildMusicManager {
 
     public final AudioPlayer audioPlayer;
     public final TrackScheduler scheduler;
     private final AudioPlayerSendHandler sendHandler;
+    private final ResolvedTrackCache resolvedTrackCache;
+    private volatile long lastUsedNanos = System.nanoTime();
 
     public GuildMusicManager(
             long guildId,
@@ -22,7 +27,14 @@ public class GuildMusicManager {
             GuildPlaybackLockManager playbackLockManager,
             MusicEventPublisher musicEventPublisher,
             MusicEventFactory musicEventFactory,
-            String nodeName
+            String nodeName,
+            ResolvedTrackCache resolvedTrackCache,
+            TrackResolutionCache trackResolutionCache,
+            ScheduledExecutorService prefetchScheduler,
+            long prefetchLeadMillis,
+            AudioFramePump framePump,
+            AudioQualityController qualityController,
+            PlaybackInstrumentation instrumentation
     ) {
         this.audioPlayer = manager.createPlayer();
         this.scheduler = new TrackScheduler(
@@ -34,10 +46,38 @@ public class GuildMusicManager {
                 playbackLockManager,
                 musicEventPublisher,
                 musicEventFactory,
-                nodeName
+                nodeName,
+                resolvedTrackCache,
+                trackResolutionCache,
+                prefetchScheduler,
+                prefetchLeadMillis,
+                instrumentation
         );
         this.audioPlayer.addListener(this.scheduler);
-        this.sendHandler = new AudioPlayerSendHandler(this.audioPlayer);
+        this.sendHandler = new AudioPlayerSendHandler(this.audioPlayer, framePump, qualityController);
+        this.resolvedTrackCache = resolvedTrackCache;
+    }
+
+    /**
+     * Releases everything this manager holds on the node: the player, its buffered tracks and their share of the
+     * node's track-buffer budget, and the send handler.
+     */
+    public void destroy() {
+        scheduler.detach();
+        resolvedTrackCache.close();
+        sendHandler.close();
+    }
+
+    public void touch() {
+        lastUsedNanos = System.nanoTime();
+    }
+
+    /**
+     * @return true if nothing is playing and the manager has not been used for at least {@code idleMillis}
+     */
+    public boolean isIdleFor(long idleMillis) {
+        return audioPlayer.getPlayingTrack() == null
+                && System.nanoTime() - lastUsedNanos >= TimeUnit.MILLISECONDS.toNanos(idleMillis);
     }
 
     public AudioPlayerSendHandler getSendHandler() {
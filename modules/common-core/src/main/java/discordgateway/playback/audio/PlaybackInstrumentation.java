@@ -0,0 +1,76 @@
+package discordgateway.playback.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import discordgateway.common.event.MusicEvent;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Node-wide timing for the load and transition paths of every {@link TrackScheduler}.
+ * Loads are counted from submission to callback, so {@link #pendingLoads()} includes
+ * requests still waiting for a lavaplayer loader thread.
+ */
+public class PlaybackInstrumentation {
+
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final AtomicInteger pendingLoads = new AtomicInteger();
+
+    public PlaybackInstrumentation(PlaybackMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    public int pendingLoads() {
+        return pendingLoads.get();
+    }
+
+    public AudioLoadResultHandler timed(String trigger, AudioLoadResultHandler handler) {
+        long submittedAt = System.nanoTime();
+        pendingLoads.incrementAndGet();
+        return new AudioLoadResultHandler() {
+            @Override
+            public void trackLoaded(AudioTrack track) {
+                finished("track", sourceName(track));
+                handler.trackLoaded(track);
+            }
+
+            @Override
+            public void playlistLoaded(AudioPlaylist playlist) {
+                AudioTrack first = playlist.getTracks().isEmpty() ? null : playlist.getTracks().get(0);
+                finished(playlist.isSearchResult() ? "search" : "playlist", sourceName(first));
+                handler.playlistLoaded(playlist);
+            }
+
+            @Override
+            public void noMatches() {
+                finished("no-matches", "none");
+                handler.noMatches();
+            }
+
+            @Override
+            public void loadFailed(FriendlyException e) {
+                finished("failed", "none");
+                handler.loadFailed(e);
+            }
+
+            private void finished(String outcome, String source) {
+                pendingLoads.decrementAndGet();
+                metricsRecorder.recordTrackLoad(trigger, source, outcome, System.nanoTime() - submittedAt);
+            }
+        };
+    }
+
+    public void recordTransitionGap(MusicEvent.TransitionSource source, long durationNanos) {
+        metricsRecorder.recordTransitionGap(source.name(), durationNanos);
+    }
+
+    private String sourceName(AudioTrack track) {
+        if (track == null || track.getSourceManager() == null) {
+            return "unknown";
+        }
+        return track.getSourceManager().getSourceName();
+    }
+}
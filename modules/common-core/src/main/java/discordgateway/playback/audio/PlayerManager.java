@@ -1,11 +1,12 @@
 package discordgateway.playback.audio;
 
-import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManagers;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
 import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import dev.lavalink.youtube.YoutubeAudioSourceManager;
@@ -27,19 +28,25 @@ import discordgateway.common.event.MusicEventPublisher;
 import discordgateway.common.bootstrap.AppProperties;
 import discordgateway.common.bootstrap.YouTubeProperties;
 import discordgateway.playback.domain.GuildPlaybackLockManager;
+import discordgateway.playback.domain.PlaybackCheckpoint;
 import discordgateway.playback.domain.PlayerStateRepository;
 import discordgateway.playback.domain.QueueRepository;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
-import net.dv8tion.jda.api.interactions.commands.Command;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class PlayerManager {
 
@@ -53,6 +60,17 @@ public class PlayerManager {
     private final MusicEventPublisher musicEventPublisher;
     private final MusicEventFactory musicEventFactory;
     private final String nodeName;
+    private final int playlistMaxTracks;
+    private final int playlistSyncImportThreshold;
+    private final int resolvedTrackBufferSize;
+    private final long resolvedTrackMaxAgeMs;
+    private final ResolvedTrackBudget resolvedTrackBudget;
+    private final long prefetchLeadMs;
+    private final ScheduledExecutorService prefetchScheduler;
+    private final TrackResolutionCache trackResolutionCache;
+    private final AudioFramePump framePump;
+    private final AudioQualityController qualityController;
+    private final PlaybackInstrumentation instrumentation;
 
     public PlayerManager(
             QueueRepository queueRepository,
@@ -61,7 +79,12 @@ public class PlayerManager {
             AppProperties appProperties,
             YouTubeProperties youTubeProperties,
             MusicEventPublisher musicEventPublisher,
-            MusicEventFactory musicEventFactory
+            MusicEventFactory musicEventFactory,
+            ResolvedTrackBudget resolvedTrackBudget,
+            TrackResolutionCache trackResolutionCache,
+            AudioFramePump framePump,
+            AudioQualityController qualityController,
+            PlaybackInstrumentation instrumentation
     ) {
         this.queueRepository = queueRepository;
         this.playerStateRepository = playerStateRepository;
@@ -69,82 +92,180 @@ public class PlayerManager {
         this.musicEventPublisher = musicEventPublisher;
         this.musicEventFactory = musicEventFactory;
         this.nodeName = resolveNodeName(appProperties.getNodeName());
+        this.playlistMaxTracks = Math.max(1, appProperties.getPlaylistMaxTracks());
+        this.playlistSyncImportThreshold = Math.max(0, appProperties.getPlaylistSyncImportThreshold());
+        this.resolvedTrackBufferSize = Math.max(0, appProperties.getResolvedTrackBufferSize());
+        this.resolvedTrackMaxAgeMs = Math.max(0L, appProperties.getResolvedTrackMaxAgeMs());
+        this.resolvedTrackBudget = resolvedTrackBudget;
+        this.prefetchLeadMs = Math.max(0L, appProperties.getPrefetchLeadMs());
+        this.prefetchScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "track-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.trackResolutionCache = trackResolutionCache;
+        this.framePump = framePump;
+        this.qualityController = qualityController;
+        this.instrumentation = instrumentation;
         this.audioPlayerManager = createAudioPlayerManager(youTubeProperties);
     }
 
-    public CompletableFuture<List<Command.Choice>> searchYouTubeChoices(String query, int limit) {
-        CompletableFuture<List<Command.Choice>> future = new CompletableFuture<>();
+    public GuildMusicManager getMusicManager(Guild guild) {
+        GuildMusicManager musicManager = this.musicManagers.computeIfAbsent(guild.getIdLong(), guildId -> {
+            GuildMusicManager guildMusicManager = new GuildMusicManager(
+                    guildId,
+                    this.audioPlayerManager,
+                    queueRepository,
+                    playerStateRepository,
+                    playbackLockManager,
+                    musicEventPublisher,
+                    musicEventFactory,
+                    nodeName,
+                    new ResolvedTrackCache(resolvedTrackBudget, resolvedTrackBufferSize, resolvedTrackMaxAgeMs),
+                    trackResolutionCache,
+                    prefetchScheduler,
+                    prefetchLeadMs,
+                    framePump,
+                    qualityController,
+                    instrumentation
+            );
+            guild.getAudioManager().setSendingHandler(guildMusicManager.getSendHandler());
+            return guildMusicManager;
+        });
+        musicManager.touch();
+        return musicManager;
+    }
 
-        if (query == null || query.isBlank()) {
-            future.complete(List.of());
-            return future;
+    public List<PlaybackCheckpoint> checkpoints() {
+        List<PlaybackCheckpoint> checkpoints = new ArrayList<>();
+        for (GuildMusicManager musicManager : musicManagers.values()) {
+            PlaybackCheckpoint checkpoint = musicManager.scheduler.checkpoint();
+            if (checkpoint != null) {
+                checkpoints.add(checkpoint);
+            }
         }
+        return checkpoints;
+    }
 
-        String identifier = "ytsearch:" + query;
-        int cap = Math.max(1, Math.min(limit, 25));
-
-        this.audioPlayerManager.loadItem(identifier, new AudioLoadResultHandler() {
-            @Override
-            public void trackLoaded(AudioTrack track) {
-                try {
-                    var info = track.getInfo();
-                    String name = trimToMax(info.title + " - " + info.author, 100);
-                    String value = "https://www.youtube.com/watch?v=" + track.getIdentifier();
-                    future.complete(List.of(new Command.Choice(name, value)));
-                } catch (Exception e) {
-                    future.complete(List.of());
-                }
+    public void markCheckpointed(List<PlaybackCheckpoint> checkpoints) {
+        for (PlaybackCheckpoint checkpoint : checkpoints) {
+            GuildMusicManager musicManager = musicManagers.get(checkpoint.guildId());
+            if (musicManager != null) {
+                musicManager.scheduler.markCheckpointed(checkpoint);
             }
+        }
+    }
 
-            @Override
-            public void playlistLoaded(AudioPlaylist playlist) {
-                try {
-                    List<Command.Choice> out = new ArrayList<>();
-                    for (AudioTrack track : playlist.getTracks()) {
-                        if (out.size() >= cap) {
-                            break;
-                        }
-
-                        var info = track.getInfo();
-                        String name = trimToMax(info.title + " - " + info.author, 100);
-                        String value = "https://www.youtube.com/watch?v=" + track.getIdentifier();
-                        out.add(new Command.Choice(name, value));
-                    }
-                    future.complete(out);
-                } catch (Exception e) {
-                    future.complete(List.of());
-                }
-            }
+    public int residentPlayerCount() {
+        return musicManagers.size();
+    }
 
-            @Override
-            public void noMatches() {
-                future.complete(List.of());
+    public boolean isActive(long guildId) {
+        GuildMusicManager musicManager = musicManagers.get(guildId);
+        return musicManager != null && musicManager.audioPlayer.getPlayingTrack() != null;
+    }
+
+    public int activePlayerCount() {
+        int count = 0;
+        for (GuildMusicManager musicManager : musicManagers.values()) {
+            if (musicManager.audioPlayer.getPlayingTrack() != null) {
+                count++;
             }
+        }
+        return count;
+    }
 
-            @Override
-            public void loadFailed(FriendlyException e) {
-                future.complete(List.of());
+    public List<Long> activeGuildIds() {
+        List<Long> guildIds = new ArrayList<>();
+        musicManagers.forEach((guildId, musicManager) -> {
+            if (musicManager.audioPlayer.getPlayingTrack() != null) {
+                guildIds.add(guildId);
             }
         });
+        return guildIds;
+    }
 
-        return future;
+    /**
+     * Stops local playback for a guild whose player has been taken over by another node.
+     * Leaves the shared player state and queue untouched and does not leave the voice channel.
+     */
+    public void release(Guild guild) {
+        GuildMusicManager musicManager = musicManagers.remove(guild.getIdLong());
+        if (musicManager == null) {
+            return;
+        }
+        destroy(guild.getIdLong(), guild, musicManager);
     }
 
-    public GuildMusicManager getMusicManager(Guild guild) {
-        return this.musicManagers.computeIfAbsent(guild.getIdLong(), guildId -> {
-            GuildMusicManager guildMusicManager = new GuildMusicManager(
-                    guildId,
-                    this.audioPlayerManager,
-                    queueRepository,
-                    playerStateRepository,
-                    playbackLockManager,
-                    musicEventPublisher,
-                    musicEventFactory,
-                    nodeName
-            );
-            guild.getAudioManager().setSendingHandler(guildMusicManager.getSendHandler());
-            return guildMusicManager;
+    /**
+     * Managers that are not playing and have not been used for {@code idleMillis}. Playing managers are
+     * marked as used so their idle time starts when playback stops.
+     */
+    public List<Long> idleGuildIds(long idleMillis) {
+        List<Long> guildIds = new ArrayList<>();
+        musicManagers.forEach((guildId, musicManager) -> {
+            if (musicManager.audioPlayer.getPlayingTrack() != null) {
+                musicManager.touch();
+            } else if (musicManager.isIdleFor(idleMillis)) {
+                guildIds.add(guildId);
+            }
         });
+        return guildIds;
+    }
+
+    /**
+     * Destroys the manager of a guild that is still idle and not connected to voice. The next command
+     * for the guild creates a fresh one. {@code guild} may be null when the bot is no longer in it.
+     *
+     * @return true if the manager was evicted
+     */
+    public boolean evictIfIdle(long guildId, Guild guild, long idleMillis) {
+        GuildMusicManager musicManager = musicManagers.get(guildId);
+        if (musicManager == null || !musicManager.isIdleFor(idleMillis)) {
+            return false;
+        }
+        if (guild != null && guild.getAudioManager().isConnected()) {
+            return false;
+        }
+        if (!musicManagers.remove(guildId, musicManager)) {
+            return false;
+        }
+        destroy(guildId, guild, musicManager);
+        return true;
+    }
+
+    private void destroy(long guildId, Guild guild, GuildMusicManager musicManager) {
+        musicManager.destroy();
+        if (guild != null && guild.getAudioManager().getSendingHandler() == musicManager.getSendHandler()) {
+            guild.getAudioManager().setSendingHandler(null);
+        }
+        playerStateRepository.evict(guildId);
+        queueRepository.evict(guildId);
+    }
+
+    public String encodeTrack(AudioTrack track) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            MessageOutput output = new MessageOutput(out);
+            audioPlayerManager.encodeTrack(output, track);
+            output.finish();
+            return Base64.getEncoder().encodeToString(out.toByteArray());
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public AudioTrack decodeTrack(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] raw = Base64.getDecoder().decode(encoded);
+            var holder = audioPlayerManager.decodeTrack(new MessageInput(new ByteArrayInputStream(raw)));
+            return holder != null ? holder.decodedTrack : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public CompletableFuture<CommandResult> loadAndPlay(TextChannel textChannel, String trackUrl) {
@@ -153,7 +274,7 @@ public class PlayerManager {
         final MusicCommandTrace trace = MusicCommandTraceContext.current();
         final CompletableFuture<CommandResult> resultFuture = new CompletableFuture<>();
 
-        this.audioPlayerManager.loadItemOrdered(musicManager, trackUrl, new AudioLoadResultHandler() {
+        AudioLoadResultHandler handler = new AudioLoadResultHandler() {
             @Override
             public void trackLoaded(AudioTrack audioTrack) {
                 MusicCommandTraceContext.runWith(trace, () -> {
@@ -181,14 +302,36 @@ public class PlayerManager {
                         return;
                     }
 
-                    AudioTrack firstTrack = audioPlaylist.getSelectedTrack() != null
-                            ? audioPlaylist.getSelectedTrack()
-                            : audioPlaylist.getTracks().get(0);
+                    if (audioPlaylist.isSearchResult()) {
+                        AudioTrack firstTrack = audioPlaylist.getTracks().get(0);
+                        boolean queued = musicManager.scheduler.queue(firstTrack, textChannel);
+                        complete(resultFuture, queued
+                                ? CommandResult.ephemeral("대기열에 추가했습니다: " + firstTrack.getInfo().title)
+                                : CommandResult.ephemeral("재생을 시작했습니다: " + firstTrack.getInfo().title));
+                        return;
+                    }
 
-                    boolean queued = musicManager.scheduler.queue(firstTrack, textChannel);
-                    complete(resultFuture, queued
-                            ? CommandResult.ephemeral("대기열에 추가했습니다: " + firstTrack.getInfo().title)
-                            : CommandResult.ephemeral("재생을 시작했습니다: " + firstTrack.getInfo().title));
+                    List<AudioTrack> tracks = playlistTracks(audioPlaylist);
+                    AudioTrack firstTrack = tracks.get(0);
+                    boolean started = musicManager.scheduler.startIfIdle(firstTrack, textChannel);
+                    List<AudioTrack> pending = started ? tracks.subList(1, tracks.size()) : tracks;
+                    CommandResult result = playlistResult(started ? firstTrack : null, pending.size());
+                    if (pending.size() <= playlistSyncImportThreshold) {
+                        musicManager.scheduler.queuePlaylist(audioPlaylist.getName(), pending);
+                        complete(resultFuture, result);
+                        return;
+                    }
+
+                    complete(resultFuture, result);
+                    try {
+                        musicManager.scheduler.queuePlaylist(audioPlaylist.getName(), pending);
+                    } catch (RuntimeException e) {
+                        log.atWarn()
+                                .addKeyValue("guildId", guildId)
+                                .addKeyValue("trackCount", pending.size())
+                                .setCause(e)
+                                .log("playlist import failed after early reply");
+                    }
                 });
             }
 
@@ -223,11 +366,37 @@ public class PlayerManager {
                     complete(resultFuture, CommandResult.ephemeral("재생할 수 없습니다. " + safeFailureMessage(e)));
                 });
             }
-        });
+        };
 
+        this.audioPlayerManager.loadItemOrdered(
+                musicManager,
+                trackUrl,
+                instrumentation.timed("command", trackResolutionCache.capturing(trackUrl, audioPlayerManager, handler))
+        );
         return resultFuture;
     }
 
+    private CommandResult playlistResult(AudioTrack startedTrack, int queuedCount) {
+        if (startedTrack == null) {
+            return CommandResult.ephemeral("플레이리스트에서 " + queuedCount + "곡을 대기열에 추가했습니다.");
+        }
+        if (queuedCount == 0) {
+            return CommandResult.ephemeral("재생을 시작했습니다: " + startedTrack.getInfo().title);
+        }
+        return CommandResult.ephemeral(
+                "재생을 시작했습니다: " + startedTrack.getInfo().title
+                        + "\n플레이리스트에서 " + queuedCount + "곡을 대기열에 추가했습니다."
+        );
+    }
+
+    private List<AudioTrack> playlistTracks(AudioPlaylist playlist) {
+        List<AudioTrack> tracks = playlist.getTracks();
+        int from = playlist.getSelectedTrack() != null
+                ? Math.max(0, tracks.indexOf(playlist.getSelectedTrack()))
+                : 0;
+        return List.copyOf(tracks.subList(from, Math.min(tracks.size(), from + playlistMaxTracks)));
+    }
+
     private void complete(CompletableFuture<CommandResult> future, CommandResult result) {
         if (!future.isDone()) {
             future.complete(result);
@@ -237,11 +406,10 @@ public class PlayerManager {
     private AudioPlayerManager createAudioPlayerManager(YouTubeProperties youTubeProperties) {
         AudioPlayerManager manager = new DefaultAudioPlayerManager();
 
-        manager.getConfiguration().setOpusEncodingQuality(AudioConfiguration.OPUS_QUALITY_MAX);
-        manager.getConfiguration().setResamplingQuality(AudioConfiguration.ResamplingQuality.HIGH);
-        manager.getConfiguration().setFilterHotSwapEnabled(true);
+        qualityController.attach(manager.getConfiguration(), this::activePlayerCount);
 
         configurePoToken(youTubeProperties);
+        manager.registerSourceManager(new CachedResolutionSourceManager(trackResolutionCache));
 
         YoutubeSourceOptions sourceOptions = new YoutubeSourceOptions()
                 .setAllowSearch(true)
@@ -320,13 +488,6 @@ public class PlayerManager {
         log.info("YouTube remote cipher enabled. url={}", remoteCipherUrl);
     }
 
-    private String trimToMax(String value, int max) {
-        if (value == null) {
-            return "";
-        }
-        return value.length() <= max ? value : value.substring(0, max - 3) + "...";
-    }
-
     private String trimToNull(String value) {
         if (value == null) {
             return null;
@@ -0,0 +1,28 @@
+package discordgateway.playback.audio;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class PlayerManagerMetrics implements MeterBinder {
+
+    private final PlayerManager playerManager;
+    private final PlaybackInstrumentation instrumentation;
+
+    public PlayerManagerMetrics(PlayerManager playerManager, PlaybackInstrumentation instrumentation) {
+        this.playerManager = playerManager;
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("music.players", playerManager, PlayerManager::residentPlayerCount)
+                .tag("state", "resident")
+                .register(registry);
+        Gauge.builder("music.players", playerManager, PlayerManager::activePlayerCount)
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("music.track.load.pending", instrumentation, PlaybackInstrumentation::pendingLoads)
+                .register(registry);
+    }
+}
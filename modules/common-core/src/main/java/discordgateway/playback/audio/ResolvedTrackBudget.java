@@ -0,0 +1,64 @@
+package discordgateway.playback.audio;
+
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResolvedTrackBudget {
+
+    private final int maxResidentTracks;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final AtomicInteger residentTracks;
+    private final Set<ResolvedTrackCache> caches;
+
+    public ResolvedTrackBudget(int maxResidentTracks, PlaybackMetricsRecorder metricsRecorder) {
+        this.maxResidentTracks = Math.max(0, maxResidentTracks);
+        this.metricsRecorder = metricsRecorder;
+        this.residentTracks = new AtomicInteger();
+        this.caches = ConcurrentHashMap.newKeySet();
+    }
+
+    public int residentTracks() {
+        return residentTracks.get();
+    }
+
+    boolean tryReserve() {
+        while (true) {
+            int current = residentTracks.get();
+            if (current >= maxResidentTracks) {
+                return false;
+            }
+            if (residentTracks.compareAndSet(current, current + 1)) {
+                metricsRecorder.recordResolvedTrackResident(current + 1L);
+                return true;
+            }
+        }
+    }
+
+    void release(int count) {
+        if (count <= 0) {
+            return;
+        }
+        metricsRecorder.recordResolvedTrackResident(residentTracks.addAndGet(-count));
+    }
+
+    void reclaimExpired() {
+        for (ResolvedTrackCache cache : caches) {
+            cache.evictExpired();
+        }
+    }
+
+    void register(ResolvedTrackCache cache) {
+        caches.add(cache);
+    }
+
+    void unregister(ResolvedTrackCache cache) {
+        caches.remove(cache);
+    }
+
+    PlaybackMetricsRecorder metricsRecorder() {
+        return metricsRecorder;
+    }
+}
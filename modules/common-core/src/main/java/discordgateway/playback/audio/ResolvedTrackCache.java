@@ -0,0 +1,148 @@
+package discordgateway.playback.audio;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+public class ResolvedTrackCache implements AutoCloseable {
+
+    private final ResolvedTrackBudget budget;
+    private final int maxTracks;
+    private final long maxAgeNanos;
+    private final ArrayDeque<CachedTrack> tracks;
+    private boolean closed;
+
+    public ResolvedTrackCache(ResolvedTrackBudget budget, int maxTracks, long maxAgeMillis) {
+        this.budget = budget;
+        this.maxTracks = Math.max(0, maxTracks);
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxAgeMillis));
+        this.tracks = new ArrayDeque<>();
+        budget.register(this);
+    }
+
+    public boolean put(String identifier, AudioTrack track) {
+        if (maxTracks == 0) {
+            return false;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            evictExpiredLocked();
+            evictOldestLocked(tracks.size() - maxTracks + 1, "size");
+        }
+
+        if (!budget.tryReserve()) {
+            // Reclaim outside our own lock so two guilds sweeping each other cannot deadlock.
+            budget.reclaimExpired();
+            if (!budget.tryReserve()) {
+                synchronized (this) {
+                    if (tracks.isEmpty()) {
+                        return false;
+                    }
+                    evictOldestLocked(1, "budget");
+                }
+                if (!budget.tryReserve()) {
+                    return false;
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (closed) {
+                budget.release(1);
+                return false;
+            }
+            evictOldestLocked(tracks.size() - maxTracks + 1, "size");
+            tracks.addLast(new CachedTrack(identifier, track, System.nanoTime()));
+        }
+        return true;
+    }
+
+    public AudioTrack take(String identifier) {
+        AudioTrack found = null;
+        synchronized (this) {
+            evictExpiredLocked();
+            Iterator<CachedTrack> iterator = tracks.iterator();
+            while (iterator.hasNext()) {
+                CachedTrack cached = iterator.next();
+                if (cached.identifier().equals(identifier)) {
+                    iterator.remove();
+                    found = cached.track();
+                    break;
+                }
+            }
+        }
+
+        if (found != null) {
+            budget.release(1);
+        }
+        budget.metricsRecorder().recordResolvedTrackLookup(found != null);
+        return found;
+    }
+
+    public synchronized boolean contains(String identifier) {
+        for (CachedTrack cached : tracks) {
+            if (cached.identifier().equals(identifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int size() {
+        return tracks.size();
+    }
+
+    public void clear() {
+        synchronized (this) {
+            evictOldestLocked(tracks.size(), "cleared");
+        }
+    }
+
+    synchronized void evictExpired() {
+        evictExpiredLocked();
+    }
+
+    @Override
+    public void close() {
+        budget.unregister(this);
+        synchronized (this) {
+            closed = true;
+            evictOldestLocked(tracks.size(), "cleared");
+        }
+    }
+
+    private void evictExpiredLocked() {
+        long now = System.nanoTime();
+        int expired = 0;
+        while (!tracks.isEmpty() && now - tracks.peekFirst().cachedAtNanos() >= maxAgeNanos) {
+            tracks.pollFirst();
+            expired++;
+        }
+        release(expired, "age");
+    }
+
+    private void evictOldestLocked(int count, String reason) {
+        int evicted = 0;
+        while (evicted < count && !tracks.isEmpty()) {
+            tracks.pollFirst();
+            evicted++;
+        }
+        release(evicted, reason);
+    }
+
+    private void release(int count, String reason) {
+        if (count <= 0) {
+            return;
+        }
+        budget.release(count);
+        budget.metricsRecorder().recordResolvedTrackEvictions(reason, count);
+    }
+
+    private record CachedTrack(String identifier, AudioTrack track, long cachedAtNanos) {
+    }
+}
@@ -0,0 +1,251 @@
+package discordgateway.playback.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import discordgateway.playback.domain.TrackResolution;
+import discordgateway.playback.domain.TrackResolutionRepository;
+import discordgateway.playback.observability.PlaybackMetricsRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class TrackResolutionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TrackResolutionCache.class);
+    private static final String SEARCH_PREFIX = "ytsearch:";
+
+    private final TrackResolutionRepository repository;
+    private final PlaybackMetricsRecorder metricsRecorder;
+    private final int maxTracks;
+    private final long localTtlMillis;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final LinkedHashMap<String, LocalEntry> localEntries;
+
+    public TrackResolutionCache(
+            TrackResolutionRepository repository,
+            PlaybackMetricsRecorder metricsRecorder,
+            int localMaxEntries,
+            long localTtlMillis,
+            long ttlMillis,
+            long negativeTtlMillis,
+            int maxTracks
+    ) {
+        this.repository = repository;
+        this.metricsRecorder = metricsRecorder;
+        this.maxTracks = Math.max(1, maxTracks);
+        this.localTtlMillis = Math.max(0L, localTtlMillis);
+        this.ttlMillis = Math.max(0L, ttlMillis);
+        this.negativeTtlMillis = Math.max(0L, negativeTtlMillis);
+        int capacity = Math.max(0, localMaxEntries);
+        this.localEntries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public TrackResolution find(String identifier) {
+        String key = cacheKey(identifier);
+        if (key == null) {
+            return null;
+        }
+
+        TrackResolution local = findLocal(key);
+        if (local != null) {
+            metricsRecorder.recordTrackResolutionLookup("local", local.kind() == TrackResolution.Kind.NO_MATCHES);
+            return local;
+        }
+
+        TrackResolution shared;
+        try {
+            shared = repository.find(key);
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("key", key)
+                    .setCause(e)
+                    .log("track-resolution cache read failed");
+            shared = null;
+        }
+
+        if (shared == null) {
+            metricsRecorder.recordTrackResolutionLookup("miss", false);
+            return null;
+        }
+        putLocal(key, shared);
+        metricsRecorder.recordTrackResolutionLookup("redis", shared.kind() == TrackResolution.Kind.NO_MATCHES);
+        return shared;
+    }
+
+    public AudioLoadResultHandler capturing(
+            String identifier,
+            AudioPlayerManager manager,
+            AudioLoadResultHandler delegate
+    ) {
+        String key = cacheKey(identifier);
+        if (key == null) {
+            return delegate;
+        }
+
+        return new AudioLoadResultHandler() {
+            @Override
+            public void trackLoaded(AudioTrack track) {
+                delegate.trackLoaded(track);
+                store(key, manager, TrackResolution.Kind.TRACK, null, -1, List.of(track));
+            }
+
+            @Override
+            public void playlistLoaded(AudioPlaylist playlist) {
+                delegate.playlistLoaded(playlist);
+                List<AudioTrack> tracks = playlist.getTracks();
+                if (tracks.isEmpty() || (!playlist.isSearchResult() && tracks.size() > maxTracks)) {
+                    return;
+                }
+                store(
+                        key,
+                        manager,
+                        playlist.isSearchResult() ? TrackResolution.Kind.SEARCH : TrackResolution.Kind.PLAYLIST,
+                        playlist.getName(),
+                        playlist.getSelectedTrack() != null ? tracks.indexOf(playlist.getSelectedTrack()) : -1,
+                        tracks.subList(0, Math.min(tracks.size(), maxTracks))
+                );
+            }
+
+            @Override
+            public void noMatches() {
+                delegate.noMatches();
+                store(key, TrackResolution.noMatches());
+            }
+
+            @Override
+            public void loadFailed(FriendlyException exception) {
+                delegate.loadFailed(exception);
+            }
+        };
+    }
+
+    List<AudioTrack> decode(AudioPlayerManager manager, TrackResolution resolution) {
+        List<AudioTrack> tracks = new ArrayList<>(resolution.encodedTracks().size());
+        try {
+            for (String encoded : resolution.encodedTracks()) {
+                byte[] raw = Base64.getDecoder().decode(encoded);
+                var holder = manager.decodeTrack(new MessageInput(new ByteArrayInputStream(raw)));
+                if (holder == null || holder.decodedTrack == null) {
+                    return null;
+                }
+                tracks.add(holder.decodedTrack);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        return tracks;
+    }
+
+    static String cacheKey(String identifier) {
+        if (identifier == null || identifier.isBlank()) {
+            return null;
+        }
+
+        String trimmed = identifier.trim();
+        if (trimmed.startsWith(SEARCH_PREFIX)) {
+            String query = trimmed.substring(SEARCH_PREFIX.length()).trim().replaceAll("\\s+", " ");
+            return query.isEmpty() ? null : SEARCH_PREFIX + query.toLowerCase(Locale.ROOT);
+        }
+        if (trimmed.startsWith("http://") || trimmed.startsWith("https://")) {
+            return trimmed;
+        }
+        return null;
+    }
+
+    private void store(
+            String key,
+            AudioPlayerManager manager,
+            TrackResolution.Kind kind,
+            String name,
+            int selectedIndex,
+            List<AudioTrack> tracks
+    ) {
+        if (findLocal(key) != null) {
+            return;
+        }
+
+        List<String> encodedTracks = new ArrayList<>(tracks.size());
+        try {
+            for (AudioTrack track : tracks) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                MessageOutput output = new MessageOutput(out);
+                manager.encodeTrack(output, track);
+                output.finish();
+                encodedTracks.add(Base64.getEncoder().encodeToString(out.toByteArray()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.atDebug()
+                    .addKeyValue("key", key)
+                    .setCause(e)
+                    .log("track-resolution encode skipped");
+            return;
+        }
+        store(key, new TrackResolution(kind, name, selectedIndex, List.copyOf(encodedTracks)));
+    }
+
+    private void store(String key, TrackResolution resolution) {
+        if (findLocal(key) != null) {
+            return;
+        }
+
+        putLocal(key, resolution);
+        long ttl = resolution.kind() == TrackResolution.Kind.NO_MATCHES ? negativeTtlMillis : ttlMillis;
+        try {
+            repository.save(key, resolution, ttl);
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .addKeyValue("key", key)
+                    .setCause(e)
+                    .log("track-resolution cache write failed");
+        }
+    }
+
+    private TrackResolution findLocal(String key) {
+        synchronized (localEntries) {
+            LocalEntry entry = localEntries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() >= entry.expiresAtMillis()) {
+                localEntries.remove(key);
+                return null;
+            }
+            return entry.resolution();
+        }
+    }
+
+    private void putLocal(String key, TrackResolution resolution) {
+        long ttl = resolution.kind() == TrackResolution.Kind.NO_MATCHES
+                ? Math.min(localTtlMillis, negativeTtlMillis)
+                : localTtlMillis;
+        if (ttl <= 0L) {
+            return;
+        }
+        synchronized (localEntries) {
+            localEntries.put(key, new LocalEntry(resolution, System.currentTimeMillis() + ttl));
+        }
+    }
+
+    private record LocalEntry(TrackResolution resolution, long expiresAtMillis) {
+    }
+}
@@ -14,25 +14,25 @@ import discordgateway.common.event.MusicEvent;
 import discordgateway.common.event.MusicEventFactory;
 import discordgateway.common.event.MusicEventPublisher;
 import discordgateway.playback.domain.GuildPlaybackLockManager;
+import discordgateway.playback.domain.PlaybackCheckpoint;
 import discordgateway.playback.domain.PlayerState;
 import discordgateway.playback.domain.PlayerStateRepository;
 import discordgateway.playback.domain.QueueEntry;
 import discordgateway.playback.domain.QueueRepository;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 public class TrackScheduler extends AudioEventAdapter {
-    private static final int LOCK_RETRY_ATTEMPTS = 10;
-    private static final long LOCK_RETRY_DELAY_NANOS = 25_000_000L;
-
     private final long guildId;
     private final AudioPlayer audioPlayer;
     private final AudioPlayerManager playerManager;
@@ -42,13 +42,22 @@ public class TrackScheduler extends AudioEventAdapter {
     private final MusicEventPublisher musicEventPublisher;
     private final MusicEventFactory musicEventFactory;
     private final String ownerNode;
-    private final ConcurrentHashMap<String, ConcurrentLinkedDeque<AudioTrack>> bufferedTracks;
+    private final ResolvedTrackCache resolvedTracks;
+    private final TrackResolutionCache resolutionCache;
+    private final ScheduledExecutorService prefetchScheduler;
+    private final long prefetchLeadMillis;
     private final AtomicLong transitionVersion;
+    private final PlaybackInstrumentation instrumentation;
 
     private boolean autoPlay = false;
     private AudioTrack lastTrack;
     private TextChannel lastChannel;
     private PendingLoadSource pendingLoadSource = PendingLoadSource.NONE;
+    private volatile Prefetch prefetch;
+    private String checkpointedIdentifier;
+    private long checkpointedPosition;
+    private boolean checkpointedPaused;
+    private volatile long transitionStartedAt;
 
     public TrackScheduler(
             long guildId,
@@ -59,7 +68,12 @@ public class TrackScheduler extends AudioEventAdapter {
             GuildPlaybackLockManager playbackLockManager,
             MusicEventPublisher musicEventPublisher,
             MusicEventFactory musicEventFactory,
-            String ownerNode
+            String ownerNode,
+            ResolvedTrackCache resolvedTracks,
+            TrackResolutionCache resolutionCache,
+            ScheduledExecutorService prefetchScheduler,
+            long prefetchLeadMillis,
+            PlaybackInstrumentation instrumentation
     ) {
         this.guildId = guildId;
         this.audioPlayer = audioPlayer;
@@ -70,8 +84,12 @@ public class TrackScheduler extends AudioEventAdapter {
         this.musicEventPublisher = musicEventPublisher;
         this.musicEventFactory = musicEventFactory;
         this.ownerNode = ownerNode;
-        this.bufferedTracks = new ConcurrentHashMap<>();
+        this.resolvedTracks = resolvedTracks;
+        this.resolutionCache = resolutionCache;
+        this.prefetchScheduler = prefetchScheduler;
+        this.prefetchLeadMillis = prefetchLeadMillis;
         this.transitionVersion = new AtomicLong();
+        this.instrumentation = instrumentation;
     }
 
     public void setAutoPlay(boolean autoPlay) {
@@ -91,6 +109,19 @@ public class TrackScheduler extends AudioEventAdapter {
      * @return true if added to waiting queue, false if started immediately
      */
     public boolean queue(AudioTrack track, TextChannel channel) {
+        if (startIfIdle(track, channel)) {
+            return false;
+        }
+
+        enqueueTrack(track, MusicEvent.TransitionSource.COMMAND);
+        return true;
+    }
+
+    public boolean queue(AudioTrack track) {
+        return queue(track, null);
+    }
+
+    public boolean startIfIdle(AudioTrack track, TextChannel channel) {
         if (channel != null) {
             this.lastChannel = channel;
         }
@@ -100,15 +131,43 @@ public class TrackScheduler extends AudioEventAdapter {
         if (shouldAttemptImmediateStart() && this.audioPlayer.startTrack(track, true)) {
             this.lastTrack = track;
             markTrackStarted(track, MusicEvent.TransitionSource.COMMAND, null);
-            return false;
+            return true;
         }
-
-        enqueueTrack(track, MusicEvent.TransitionSource.COMMAND);
-        return true;
+        return false;
     }
 
-    public boolean queue(AudioTrack track) {
-        return queue(track, null);
+    public void queuePlaylist(String playlistName, List<AudioTrack> tracks) {
+        if (tracks.isEmpty()) {
+            return;
+        }
+
+        List<QueueEntry> entries = new ArrayList<>(tracks.size());
+        long totalDuration = 0L;
+        for (AudioTrack track : tracks) {
+            QueueEntry entry = toQueueEntry(track);
+            entries.add(entry);
+            totalDuration += entry.durationMillis();
+        }
+        queueRepository.pushAll(guildId, entries);
+
+        for (AudioTrack track : tracks) {
+            if (!bufferTrack(track)) {
+                break;
+            }
+        }
+
+        AudioTrack first = tracks.get(0);
+        musicEventPublisher.publish(
+                musicEventFactory.trackBatchQueued(
+                        guildId,
+                        playlistName,
+                        tracks.size(),
+                        toQueueIdentifier(first),
+                        first.getInfo().title,
+                        totalDuration,
+                        MusicEvent.TransitionSource.COMMAND
+                )
+        );
     }
 
     @Override
@@ -116,6 +175,7 @@ public class TrackScheduler extends AudioEventAdapter {
         if (!endReason.mayStartNext) {
             return;
         }
+        transitionStartedAt = System.nanoTime();
 
         publishTrackPlaybackChanged(
                 track,
@@ -135,6 +195,7 @@ public class TrackScheduler extends AudioEventAdapter {
     }
 
     public void nextTrack() {
+        transitionStartedAt = System.nanoTime();
         advancePlayback(true, true);
     }
 
@@ -143,7 +204,8 @@ public class TrackScheduler extends AudioEventAdapter {
         boolean hadEntries = queueRepository.hasEntries(guildId);
         boolean currentTrackPreserved = audioPlayer.getPlayingTrack() != null;
         queueRepository.clear(guildId);
-        bufferedTracks.clear();
+        cancelPrefetch();
+        clearBufferedTracks();
         clearProcessingOnly();
         musicEventPublisher.publish(musicEventFactory.queueCleared(guildId, hadEntries, currentTrackPreserved));
     }
@@ -153,7 +215,8 @@ public class TrackScheduler extends AudioEventAdapter {
         boolean hadEntries = queueRepository.hasEntries(guildId);
         AudioTrack currentTrack = audioPlayer.getPlayingTrack();
         queueRepository.clear(guildId);
-        bufferedTracks.clear();
+        cancelPrefetch();
+        clearBufferedTracks();
         audioPlayer.stopTrack();
         clearNowPlaying();
         musicEventPublisher.publish(musicEventFactory.queueCleared(guildId, hadEntries, false));
@@ -187,7 +250,36 @@ public class TrackScheduler extends AudioEventAdapter {
         );
     }
 
-    public CompletableFuture<Boolean> recover(String identifier) {
+    /**
+     * @return the current position of a seekable track, or null if nothing changed since the last stored checkpoint
+     */
+    public PlaybackCheckpoint checkpoint() {
+        AudioTrack track = audioPlayer.getPlayingTrack();
+        if (track == null || !track.isSeekable()) {
+            return null;
+        }
+
+        String identifier = toQueueIdentifier(track);
+        long position = track.getPosition();
+        boolean paused = audioPlayer.isPaused();
+        if (identifier.equals(checkpointedIdentifier)
+                && position == checkpointedPosition
+                && paused == checkpointedPaused) {
+            return null;
+        }
+        return new PlaybackCheckpoint(guildId, identifier, position, paused);
+    }
+
+    /**
+     * Records a checkpoint as stored; called only after the write succeeded, so a failed write is retried.
+     */
+    public void markCheckpointed(PlaybackCheckpoint checkpoint) {
+        checkpointedIdentifier = checkpoint.identifier();
+        checkpointedPosition = checkpoint.positionMillis();
+        checkpointedPaused = checkpoint.paused();
+    }
+
+    public CompletableFuture<Boolean> recover(String identifier, long positionMillis, boolean paused) {
         CompletableFuture<Boolean> future = new CompletableFuture<>();
         MusicCommandTrace trace = MusicCommandTraceContext.current();
         if (identifier == null || identifier.isBlank()) {
@@ -206,7 +298,7 @@ public class TrackScheduler extends AudioEventAdapter {
         markProcessing(PendingLoadSource.RECOVERY);
         String loadIdentifier = toLoadIdentifier(identifier);
 
-        playerManager.loadItemOrdered(this, loadIdentifier, new AudioLoadResultHandler() {
+        loadOrdered("recovery", loadIdentifier, new AudioLoadResultHandler() {
             @Override
             public void trackLoaded(AudioTrack audioTrack) {
                 MusicCommandTraceContext.runWith(trace, () -> {
@@ -215,7 +307,7 @@ public class TrackScheduler extends AudioEventAdapter {
                         future.complete(false);
                         return;
                     }
-                    startResolvedTrack(lock, version, audioTrack, MusicEvent.TransitionSource.RECOVERY);
+                    startRecoveredTrack(lock, version, audioTrack, positionMillis, paused);
                     future.complete(true);
                 });
             }
@@ -242,7 +334,7 @@ public class TrackScheduler extends AudioEventAdapter {
                         return;
                     }
 
-                    startResolvedTrack(lock, version, first, MusicEvent.TransitionSource.RECOVERY);
+                    startRecoveredTrack(lock, version, first, positionMillis, paused);
                     future.complete(true);
                 });
             }
@@ -291,6 +383,37 @@ public class TrackScheduler extends AudioEventAdapter {
         return future;
     }
 
+    /**
+     * Starts a track handed over by another node at the given position.
+     *
+     * @return true if the track was started
+     */
+    public boolean adopt(AudioTrack track, long positionMillis, boolean paused) {
+        // the previous owner wrote the state this node now builds on
+        playerStateRepository.evict(guildId);
+        long version = transitionVersion.incrementAndGet();
+        GuildPlaybackLockManager.GuildPlaybackLock lock = acquirePlaybackLock();
+        if (!lock.acquired()) {
+            return false;
+        }
+
+        audioPlayer.stopTrack();
+        startRecoveredTrack(lock, version, track, positionMillis, paused);
+        return audioPlayer.getPlayingTrack() == track;
+    }
+
+    /**
+     * Stops local playback without touching the shared queue or player state.
+     */
+    public void detach() {
+        transitionVersion.incrementAndGet();
+        cancelPrefetch();
+        // also unregisters from the node budget, which would otherwise keep sweeping this guild's buffer
+        resolvedTracks.close();
+        audioPlayer.removeListener(this);
+        audioPlayer.destroy();
+    }
+
     private void advancePlayback(boolean interruptCurrentTrack, boolean allowAutoplay) {
         long version = interruptCurrentTrack
                 ? transitionVersion.incrementAndGet()
@@ -355,8 +478,35 @@ public class TrackScheduler extends AudioEventAdapter {
         }
 
         markProcessing(PendingLoadSource.QUEUE);
+        Prefetch inFlight = prefetch;
+        if (inFlight != null && entry.identifier().equals(inFlight.identifier) && !inFlight.result.isDone()) {
+            // a skip moves the transition version, so completePrefetch will not buffer the track; take it from the result
+            inFlight.result.whenComplete((resolved, error) -> MusicCommandTraceContext.runWith(trace, () -> {
+                AudioTrack prefetched = takeBufferedTrack(entry.identifier());
+                if (prefetched == null) {
+                    prefetched = resolved;
+                }
+                if (prefetched != null) {
+                    startResolvedTrack(lock, version, prefetched, MusicEvent.TransitionSource.QUEUE);
+                    return;
+                }
+                loadQueuedEntry(lock, version, entry, allowAutoplay, trace);
+            }));
+            return;
+        }
+
+        loadQueuedEntry(lock, version, entry, allowAutoplay, trace);
+    }
+
+    private void loadQueuedEntry(
+            GuildPlaybackLockManager.GuildPlaybackLock lock,
+            long version,
+            QueueEntry entry,
+            boolean allowAutoplay,
+            MusicCommandTrace trace
+    ) {
         String loadIdentifier = toLoadIdentifier(entry.identifier());
-        playerManager.loadItemOrdered(this, loadIdentifier, new AudioLoadResultHandler() {
+        loadOrdered("queue", loadIdentifier, new AudioLoadResultHandler() {
             @Override
             public void trackLoaded(AudioTrack audioTrack) {
                 MusicCommandTraceContext.runWith(trace, () ->
@@ -424,7 +574,7 @@ public class TrackScheduler extends AudioEventAdapter {
         markProcessing(PendingLoadSource.AUTOPLAY);
         String query = "ytsearch:" + lastTrack.getInfo().title + " " + lastTrack.getInfo().author;
 
-        playerManager.loadItemOrdered(this, query, new AudioLoadResultHandler() {
+        loadOrdered("autoplay", query, new AudioLoadResultHandler() {
             @Override
             public void trackLoaded(AudioTrack audioTrack) {
                 MusicCommandTraceContext.runWith(trace, () -> {
@@ -514,16 +664,26 @@ public class TrackScheduler extends AudioEventAdapter {
         lock.release();
     }
 
+    private void startRecoveredTrack(
+            GuildPlaybackLockManager.GuildPlaybackLock lock,
+            long version,
+            AudioTrack track,
+            long positionMillis,
+            boolean paused
+    ) {
+        if (positionMillis > 0L && track.isSeekable() && positionMillis < track.getDuration()) {
+            track.setPosition(positionMillis);
+        }
+
+        startResolvedTrack(lock, version, track, MusicEvent.TransitionSource.RECOVERY);
+        if (paused && audioPlayer.getPlayingTrack() == track) {
+            audioPlayer.setPaused(true);
+            updatePlayerState(state -> state.setPaused(true));
+        }
+    }
+
     private void enqueueTrack(AudioTrack track, MusicEvent.TransitionSource source) {
-        queueRepository.push(
-                guildId,
-                new QueueEntry(
-                        toQueueIdentifier(track),
-                        track.getInfo().title,
-                        track.getInfo().author,
-                        System.currentTimeMillis()
-                )
-        );
+        queueRepository.push(guildId, toQueueEntry(track));
         bufferTrack(track);
         musicEventPublisher.publish(
                 musicEventFactory.trackQueued(
@@ -536,24 +696,104 @@ public class TrackScheduler extends AudioEventAdapter {
         );
     }
 
-    private void bufferTrack(AudioTrack track) {
-        bufferedTracks.computeIfAbsent(
+    private QueueEntry toQueueEntry(AudioTrack track) {
+        return new QueueEntry(
                 toQueueIdentifier(track),
-                ignored -> new ConcurrentLinkedDeque<>()
-        ).addLast(track);
+                track.getInfo().title,
+                track.getInfo().author,
+                System.currentTimeMillis(),
+                track.getInfo().isStream ? 0L : track.getDuration()
+        );
     }
 
-    private AudioTrack takeBufferedTrack(String identifier) {
-        ConcurrentLinkedDeque<AudioTrack> deque = bufferedTracks.get(identifier);
-        if (deque == null) {
-            return null;
+    private void schedulePrefetch(AudioTrack track) {
+        cancelPrefetch();
+        if (prefetchLeadMillis <= 0L || track.getInfo().isStream || track.getDuration() == Long.MAX_VALUE) {
+            return;
         }
 
-        AudioTrack track = deque.pollFirst();
-        if (deque.isEmpty()) {
-            bufferedTracks.remove(identifier, deque);
+        Prefetch next = new Prefetch(track, transitionVersion.get());
+        long delay = Math.max(0L, track.getDuration() - track.getPosition() - prefetchLeadMillis);
+        // published before scheduling so a zero-delay run does not see a stale prefetch and drop itself
+        prefetch = next;
+        try {
+            next.scheduled = prefetchScheduler.schedule(() -> runPrefetch(next), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (prefetch == next) {
+                prefetch = null;
+            }
+        }
+    }
+
+    private void cancelPrefetch() {
+        Prefetch current = prefetch;
+        prefetch = null;
+        if (current != null && current.scheduled != null) {
+            current.scheduled.cancel(false);
+        }
+    }
+
+    private void runPrefetch(Prefetch request) {
+        if (prefetch != request
+                || isTransitionCancelled(request.version)
+                || audioPlayer.getPlayingTrack() != request.track) {
+            return;
+        }
+
+        QueueEntry head = queueRepository.peek(guildId);
+        if (head == null || resolvedTracks.contains(head.identifier())) {
+            return;
+        }
+
+        request.identifier = head.identifier();
+        loadOrdered("prefetch", toLoadIdentifier(head.identifier()), new AudioLoadResultHandler() {
+            @Override
+            public void trackLoaded(AudioTrack audioTrack) {
+                completePrefetch(request, audioTrack);
+            }
+
+            @Override
+            public void playlistLoaded(AudioPlaylist playlist) {
+                completePrefetch(request, firstTrack(playlist));
+            }
+
+            @Override
+            public void noMatches() {
+                completePrefetch(request, null);
+            }
+
+            @Override
+            public void loadFailed(FriendlyException e) {
+                completePrefetch(request, null);
+            }
+        });
+    }
+
+    private void loadOrdered(String trigger, String identifier, AudioLoadResultHandler handler) {
+        playerManager.loadItemOrdered(
+                this,
+                identifier,
+                instrumentation.timed(trigger, resolutionCache.capturing(identifier, playerManager, handler))
+        );
+    }
+
+    private void completePrefetch(Prefetch request, AudioTrack track) {
+        if (track != null && !isTransitionCancelled(request.version)) {
+            resolvedTracks.put(request.identifier, track);
         }
-        return track;
+        request.result.complete(track);
+    }
+
+    private boolean bufferTrack(AudioTrack track) {
+        return resolvedTracks.put(toQueueIdentifier(track), track);
+    }
+
+    private void clearBufferedTracks() {
+        resolvedTracks.clear();
+    }
+
+    private AudioTrack takeBufferedTrack(String identifier) {
+        return resolvedTracks.take(identifier);
     }
 
     private boolean shouldAttemptImmediateStart() {
@@ -575,18 +815,7 @@ public class TrackScheduler extends AudioEventAdapter {
     }
 
     private GuildPlaybackLockManager.GuildPlaybackLock acquirePlaybackLock() {
-        for (int attempt = 0; attempt < LOCK_RETRY_ATTEMPTS; attempt++) {
-            GuildPlaybackLockManager.GuildPlaybackLock lock = playbackLockManager.tryAcquire(guildId);
-            if (lock.acquired()) {
-                return lock;
-            }
-
-            if (attempt + 1 < LOCK_RETRY_ATTEMPTS) {
-                LockSupport.parkNanos(LOCK_RETRY_DELAY_NANOS);
-            }
-        }
-
-        return playbackLockManager.tryAcquire(guildId);
+        return playbackLockManager.acquire(guildId);
     }
 
     private void markTrackStarted(
@@ -594,6 +823,12 @@ public class TrackScheduler extends AudioEventAdapter {
             MusicEvent.TransitionSource source,
             String detail
     ) {
+        long gapStartedAt = transitionStartedAt;
+        if (gapStartedAt != 0L) {
+            transitionStartedAt = 0L;
+            instrumentation.recordTransitionGap(source, System.nanoTime() - gapStartedAt);
+        }
+        schedulePrefetch(track);
         pendingLoadSource = PendingLoadSource.NONE;
         updatePlayerState(state -> {
             state.setNowPlaying(toQueueIdentifier(track));
@@ -605,6 +840,7 @@ public class TrackScheduler extends AudioEventAdapter {
     }
 
     private void clearNowPlaying() {
+        transitionStartedAt = 0L;
         pendingLoadSource = PendingLoadSource.NONE;
         updatePlayerState(state -> {
             state.setNowPlaying(null);
@@ -706,6 +942,19 @@ public class TrackScheduler extends AudioEventAdapter {
         return e.getMessage();
     }
 
+    private static final class Prefetch {
+        private final AudioTrack track;
+        private final long version;
+        private final CompletableFuture<AudioTrack> result = new CompletableFuture<>();
+        private volatile String identifier;
+        private volatile ScheduledFuture<?> scheduled;
+
+        private Prefetch(AudioTrack track, long version) {
+            this.track = track;
+            this.version = version;
+        }
+    }
+
     private enum PendingLoadSource {
         NONE,
         QUEUE,
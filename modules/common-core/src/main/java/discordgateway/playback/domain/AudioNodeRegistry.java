@@ -0,0 +1,7 @@
+package discordgateway.playback.domain;
+
+public interface AudioNodeRegistry {
+    void heartbeat(String nodeName, long ttlMillis);
+    boolean isAlive(String nodeName);
+    void remove(String nodeName);
+}
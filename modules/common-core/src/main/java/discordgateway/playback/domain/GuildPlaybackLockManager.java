@@ -4,6 +4,8 @@ public interface GuildPlaybackLockManager {
 
     GuildPlaybackLock tryAcquire(long guildId);
 
+    GuildPlaybackLock acquire(long guildId);
+
     interface GuildPlaybackLock extends AutoCloseable {
         boolean acquired();
 
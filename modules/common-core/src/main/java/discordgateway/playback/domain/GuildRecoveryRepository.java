@@ -0,0 +1,8 @@
+package discordgateway.playback.domain;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GuildRecoveryRepository {
+    List<GuildRecoveryState> loadAll(Collection<Long> guildIds, int batchSize);
+}
@@ -0,0 +1,17 @@
+package discordgateway.playback.domain;
+
+public record GuildRecoveryState(
+        long guildId,
+        Long connectedVoiceChannelId,
+        String nowPlaying,
+        boolean autoPlay,
+        String ownerNode,
+        long queueLength,
+        long positionMillis,
+        boolean paused
+) {
+
+    public boolean hasPlayback() {
+        return connectedVoiceChannelId != null && (nowPlaying != null || queueLength > 0);
+    }
+}
@@ -0,0 +1,9 @@
+package discordgateway.playback.domain;
+
+public record PlaybackCheckpoint(
+        long guildId,
+        String identifier,
+        long positionMillis,
+        boolean paused
+) {
+}
@@ -0,0 +1,7 @@
+package discordgateway.playback.domain;
+
+import java.util.Collection;
+
+public interface PlaybackCheckpointRepository {
+    void saveAll(Collection<PlaybackCheckpoint> checkpoints);
+}
@@ -71,4 +71,15 @@ public class PlayerState {
     public void setProcessingFlag(boolean processingFlag) {
         this.processingFlag = processingFlag;
     }
+
+    public PlayerState copy() {
+        PlayerState copy = new PlayerState(guildId);
+        copy.nowPlaying = nowPlaying;
+        copy.paused = paused;
+        copy.autoPlay = autoPlay;
+        copy.repeatMode = repeatMode;
+        copy.ownerNode = ownerNode;
+        copy.processingFlag = processingFlag;
+        return copy;
+    }
 }
@@ -4,4 +4,6 @@ public interface PlayerStateRepository {
     PlayerState getOrCreate(long guildId);
     void save(PlayerState state);
     void remove(long guildId);
+    String findOwnerNode(long guildId);
+    void evict(long guildId);
 }
@@ -4,9 +4,14 @@ public record QueueEntry(
         String identifier,
         String title,
         String author,
-        long requestedAtMillis
+        long requestedAtMillis,
+        long durationMillis
 ) {
+    public QueueEntry(String identifier, String title, String author, long requestedAtMillis) {
+        this(identifier, title, author, requestedAtMillis, 0L);
+    }
+
     public String displayLine() {
         return title + " - " + author;
     }
-}
\ No newline at end of file
+}
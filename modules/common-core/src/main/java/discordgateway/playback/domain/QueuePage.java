@@ -0,0 +1,21 @@
+package discordgateway.playback.domain;
+
+import java.util.List;
+
+public record QueuePage(
+        List<QueueEntry> entries,
+        int offset,
+        int pageSize,
+        QueueSummary summary
+) {
+    public int pageNumber() {
+        return pageSize <= 0 ? 1 : offset / pageSize + 1;
+    }
+
+    public int pageCount() {
+        if (pageSize <= 0 || summary.length() == 0L) {
+            return 1;
+        }
+        return (int) ((summary.length() + pageSize - 1) / pageSize);
+    }
+}
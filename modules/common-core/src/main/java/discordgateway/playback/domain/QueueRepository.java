@@ -3,9 +3,15 @@ package discordgateway.playback.domain;
 import java.util.List;
 
 public interface QueueRepository {
-    void push(long guildId, QueueEntry entry);
+    long push(long guildId, QueueEntry entry);
+    long pushAll(long guildId, List<QueueEntry> entries);
     QueueEntry poll(long guildId);
+    QueueEntry peek(long guildId);
     boolean hasEntries(long guildId);
+    long size(long guildId);
     List<QueueEntry> list(long guildId, int limit);
+    QueuePage page(long guildId, int offset, int size);
+    QueueSummary summary(long guildId);
     void clear(long guildId);
+    void evict(long guildId);
 }
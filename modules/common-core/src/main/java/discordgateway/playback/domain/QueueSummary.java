@@ -0,0 +1,10 @@
+package discordgateway.playback.domain;
+
+public record QueueSummary(
+        long length,
+        long totalDurationMillis
+) {
+    public static QueueSummary empty() {
+        return new QueueSummary(0L, 0L);
+    }
+}
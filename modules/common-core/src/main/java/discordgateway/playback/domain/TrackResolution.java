@@ -0,0 +1,21 @@
+package discordgateway.playback.domain;
+
+import java.util.List;
+
+public record TrackResolution(
+        Kind kind,
+        String name,
+        int selectedIndex,
+        List<String> encodedTracks
+) {
+    public static TrackResolution noMatches() {
+        return new TrackResolution(Kind.NO_MATCHES, null, -1, List.of());
+    }
+
+    public enum Kind {
+        TRACK,
+        PLAYLIST,
+        SEARCH,
+        NO_MATCHES
+    }
+}
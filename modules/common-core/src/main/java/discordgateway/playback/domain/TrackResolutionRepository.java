@@ -0,0 +1,6 @@
+package discordgateway.playback.domain;
+
+public interface TrackResolutionRepository {
+    TrackResolution find(String key);
+    void save(String key, TrackResolution resolution, long ttlMillis);
+}
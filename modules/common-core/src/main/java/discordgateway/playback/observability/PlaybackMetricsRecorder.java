@@ -0,0 +1,167 @@
+package discordgateway.playback.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PlaybackMetricsRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+
+    public PlaybackMetricsRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordGuildLockAcquire(String path, String result, long durationNanos) {
+        Timer.builder("music.guild.lock.acquire")
+                .tag("path", normalizeTag(path))
+                .tag("result", normalizeTag(result))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Math.max(durationNanos, 0L), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResolvedTrackLookup(boolean hit) {
+        Counter.builder("music.resolved.track.cache.lookups")
+                .tag("result", hit ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordResolvedTrackEvictions(String reason, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter.builder("music.resolved.track.cache.evictions")
+                .tag("reason", normalizeTag(reason))
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    public void recordResolvedTrackResident(long count) {
+        updateGauge("music.resolved.track.cache.resident", Math.max(count, 0L));
+    }
+
+    public void recordTrackResolutionLookup(String tier, boolean negative) {
+        Counter.builder("music.track.resolution.cache.lookups")
+                .tag("tier", normalizeTag(tier))
+                .tag("negative", Boolean.toString(negative))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRecoveryGuild(String outcome) {
+        Counter.builder("music.recovery.guilds")
+                .tag("outcome", normalizeTag(outcome))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRecoveryPending(long count) {
+        updateGauge("music.recovery.pending", Math.max(count, 0L));
+    }
+
+    public void recordCheckpointFlush(int guilds, long durationNanos) {
+        Counter.builder("music.checkpoint.guilds")
+                .register(meterRegistry)
+                .increment(Math.max(guilds, 0));
+        Timer.builder("music.checkpoint.flush")
+                .register(meterRegistry)
+                .record(Math.max(durationNanos, 0L), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHandoff(String outcome, long durationNanos) {
+        Timer.builder("music.handoff.duration")
+                .tag("outcome", normalizeTag(outcome))
+                .register(meterRegistry)
+                .record(Math.max(durationNanos, 0L), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHandoffGap(long durationNanos) {
+        Timer.builder("music.handoff.gap")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Math.max(durationNanos, 0L), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFrameUnderrun(String mode) {
+        Counter.builder("music.audio.frame.underruns")
+                .tag("mode", normalizeTag(mode))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordSendBufferOccupancy(long bufferedFrames, int players) {
+        updateGauge("music.send.buffer.frames", Math.max(bufferedFrames, 0L));
+        updateGauge("music.send.buffer.players", Math.max(players, 0));
+    }
+
+    public void recordAudioQualityLevel(int level) {
+        updateGauge("music.audio.quality.level", Math.max(level, 0));
+    }
+
+    public void recordFrameProvideLatency(long averageMicros) {
+        updateGauge("music.audio.provide.latency.micros", Math.max(averageMicros, 0L));
+    }
+
+    public void recordTrackLoad(String trigger, String source, String outcome, long durationNanos) {
+        Timer.builder("music.track.load")
+                .tag("trigger", normalizeTag(trigger))
+                .tag("source", normalizeTag(source))
+                .tag("outcome", normalizeTag(outcome))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Math.max(durationNanos, 0L), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTransitionGap(String source, long durationNanos) {
+        Timer.builder("music.track.transition.gap")
+                .tag("source", normalizeTag(source))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Math.max(durationNanos, 0L), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPlayerEviction() {
+        Counter.builder("music.players.evicted")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordAdmission(String outcome) {
+        Counter.builder("music.admission.decisions")
+                .tag("outcome", normalizeTag(outcome))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRecoveryDuration(long durationNanos) {
+        Timer.builder("music.recovery.duration")
+                .register(meterRegistry)
+                .record(Math.max(durationNanos, 0L), TimeUnit.NANOSECONDS);
+    }
+
+    private void updateGauge(String metricName, long value) {
+        AtomicLong gaugeValue = gauges.computeIfAbsent(metricName, ignored -> {
+            AtomicLong holder = new AtomicLong();
+            Gauge.builder(metricName, holder, AtomicLong::get)
+                    .register(meterRegistry);
+            return holder;
+        });
+        gaugeValue.set(value);
+    }
+
+    private String normalizeTag(String value) {
+        if (value == null || value.isBlank()) {
+            return "unknown";
+        }
+        return value.trim().toLowerCase();
+    }
+}